@@ -6,6 +6,7 @@ import com.janus.account.domain.model.DocumentType;
 import com.janus.account.domain.repository.AccountRepository;
 import com.janus.audit.domain.model.AuditAction;
 import com.janus.audit.domain.model.AuditEvent;
+import com.janus.operation.application.OperationSearchIndexService;
 import com.janus.shared.api.dto.CsvImportResponse;
 import com.janus.shared.infrastructure.util.CsvUtil;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -28,6 +29,9 @@ public class AccountCsvService {
     @Inject
     AccountRepository accountRepository;
 
+    @Inject
+    OperationSearchIndexService operationSearchIndexService;
+
     @Inject
     Event<AuditEvent> auditEvent;
 
@@ -133,7 +137,11 @@ public class AccountCsvService {
             if (existingOpt.isPresent()) {
                 var existing = existingOpt.get();
                 boolean changed = false;
-                if (!stringEquals(existing.name, name)) { existing.name = name; changed = true; }
+                // name and taxId feed the operation search index
+                boolean searchFieldsChanged = false;
+                if (!stringEquals(existing.name, name)) { existing.name = name; changed = true; searchFieldsChanged = true; }
+                // Matched case-insensitively, so the stored spelling may still differ
+                if (!taxId.equals(existing.taxId)) { existing.taxId = taxId; changed = true; searchFieldsChanged = true; }
                 if (!stringEquals(existing.email, email)) { existing.email = email; changed = true; }
                 if (!stringEquals(existing.phone, phone)) { existing.phone = phone; changed = true; }
                 if (!stringEquals(existing.address, address)) { existing.address = address; changed = true; }
@@ -147,6 +155,9 @@ public class AccountCsvService {
                 Set<AccountType> existingTypes = existing.accountTypes == null ? new HashSet<>() : new HashSet<>(existing.accountTypes);
                 if (!existingTypes.equals(accountTypes)) { existing.accountTypes = accountTypes; changed = true; }
 
+                if (searchFieldsChanged) {
+                    operationSearchIndexService.reindexAccount(existing.id);
+                }
                 if (changed) {
                     auditEvent.fire(new AuditEvent(username, AuditAction.UPDATE, "Account", existing.id, null, null, null,
                             "Account updated via CSV: " + existing.name));
@@ -7,6 +7,7 @@ import com.janus.account.domain.model.AccountType;
 import com.janus.account.domain.repository.AccountRepository;
 import com.janus.audit.domain.model.AuditAction;
 import com.janus.audit.domain.model.AuditEvent;
+import com.janus.operation.application.OperationSearchIndexService;
 import com.janus.shared.api.dto.PageResponse;
 import com.janus.shared.infrastructure.exception.BusinessException;
 import com.janus.shared.infrastructure.exception.NotFoundException;
@@ -16,6 +17,7 @@ import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 
 @ApplicationScoped
 public class AccountService {
@@ -26,6 +28,9 @@ public class AccountService {
     @Inject
     AccountCodeConfigService accountCodeConfigService;
 
+    @Inject
+    OperationSearchIndexService operationSearchIndexService;
+
     @Inject
     Event<AuditEvent> auditEvent;
 
@@ -117,6 +122,8 @@ public class AccountService {
         checkNoDuplicates(request.name(), request.taxId(), request.accountCode(), id);
 
         var account = findById(id);
+        boolean searchFieldsChanged = !Objects.equals(normalize(request.name()), account.name)
+                || !Objects.equals(normalize(request.taxId()), account.taxId);
         account.name = normalize(request.name());
         account.taxId = normalize(request.taxId());
         account.email = request.email();
@@ -131,6 +138,9 @@ public class AccountService {
         account.country = request.country();
         account.accountCode = normalize(request.accountCode());
         account.notes = request.notes();
+        if (searchFieldsChanged) {
+            operationSearchIndexService.reindexAccount(account.id);
+        }
         auditEvent.fire(new AuditEvent(username, AuditAction.UPDATE, "Account", account.id, null, null, null, "Account updated: " + account.name));
         return account;
     }
@@ -1,28 +1,50 @@
 package com.janus.alert.application;
 
+import com.janus.alert.domain.model.AlertCandidate;
 import com.janus.alert.domain.model.AlertType;
+import com.janus.alert.domain.repository.AlertRepository;
+import com.janus.cluster.application.ClusterCoordinator;
+import com.janus.cluster.application.LeaseLostException;
+import com.janus.cluster.domain.model.ShardAssignment;
 import com.janus.document.domain.service.DocumentCompletenessService;
 import com.janus.notification.application.NotificationService;
-import com.janus.operation.domain.model.OperationStatus;
-import com.janus.operation.domain.repository.OperationRepository;
+import com.janus.notification.domain.model.NotificationCategory;
+import com.janus.operation.domain.model.TransportMode;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.scheduler.Scheduled;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
 
+/**
+ * Alert checks. Each check selects candidate operations with one query that already
+ * excludes operations holding an unresolved alert of the same type, and processes them
+ * in id-ordered batches, each in its own short transaction. Checks normally run scoped to
+ * the operations AlertTriggerService reports; the periodic full scan is a safety net.
+ * Across replicas the full scan runs on the holder of the alert-checker lease, each batch
+ * fenced by its token, or on every node over its shard of operation ids when sharding is
+ * enabled.
+ */
 @ApplicationScoped
 public class AlertCheckerScheduler {
 
     private static final Logger LOG = Logger.getLogger(AlertCheckerScheduler.class);
+    public static final String LEASE_NAME = "alert-checker";
+    private static final Runnable NO_FENCE = () -> {};
 
     @Inject
-    OperationRepository operationRepository;
+    AlertRepository alertRepository;
 
     @Inject
     AlertService alertService;
@@ -33,121 +55,201 @@ public class AlertCheckerScheduler {
     @Inject
     DocumentCompletenessService completenessService;
 
+    @Inject
+    ClusterCoordinator cluster;
+
     @ConfigProperty(name = "janus.alerts.inactivity-hours", defaultValue = "48")
     int inactivityHours;
 
     @ConfigProperty(name = "janus.alerts.arrival-date-approaching-hours", defaultValue = "24")
     int arrivalDateApproachingHours;
 
-    @Scheduled(every = "1h", identity = "alert-checker")
-    @Transactional
+    @ConfigProperty(name = "janus.alerts.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @Scheduled(every = "${janus.alerts.full-scan-every:6h}", identity = "alert-checker")
     void checkAlerts() {
-        runChecks();
+        if (cluster.shardingEnabled()) {
+            var shard = cluster.shard();
+            LOG.infof("Running alert checks for shard %d of %d...", shard.index(), shard.count());
+            runChecks(new CheckScope(null, shard, NO_FENCE), EnumSet.allOf(AlertType.class));
+            return;
+        }
+        var token = cluster.acquire(LEASE_NAME);
+        if (token.isEmpty()) {
+            LOG.debug("Skipping alert checks, another node holds the alert-checker lease");
+            return;
+        }
+        LOG.info("Running alert checks...");
+        long fencingToken = token.getAsLong();
+        runChecks(new CheckScope(null, ShardAssignment.ALL, () -> cluster.checkFencing(LEASE_NAME, fencingToken)),
+                EnumSet.allOf(AlertType.class));
     }
 
     public void runChecks() {
         LOG.info("Running alert checks...");
-        checkInactivity();
-        checkArrivalDateApproaching();
-        checkMissingCriticalDocuments();
-        checkBLUnavailable();
-        checkDeclarationDeadline();
+        runChecks(null, EnumSet.allOf(AlertType.class));
+    }
+
+    /**
+     * Runs the checks for {@code alertTypes}, restricted to {@code operationIds} unless it
+     * is null.
+     */
+    public void runChecks(Collection<Long> operationIds, Set<AlertType> alertTypes) {
+        runChecks(operationIds, alertTypes, NO_FENCE);
+    }
+
+    /**
+     * As {@link #runChecks(Collection, Set)}, calling {@code fence} inside every batch
+     * transaction before it writes.
+     */
+    public void runChecks(Collection<Long> operationIds, Set<AlertType> alertTypes, Runnable fence) {
+        runChecks(new CheckScope(operationIds, ShardAssignment.ALL, fence), alertTypes);
     }
 
-    void checkInactivity() {
+    private void runChecks(CheckScope scope, Set<AlertType> alertTypes) {
+        if (alertTypes.contains(AlertType.INACTIVITY_48H)) checkInactivity(scope);
+        if (alertTypes.contains(AlertType.DEADLINE_APPROACHING)) checkArrivalDateApproaching(scope);
+        if (alertTypes.contains(AlertType.MISSING_CRITICAL_DOCUMENT)) checkMissingCriticalDocuments(scope);
+        if (alertTypes.contains(AlertType.BL_UNAVAILABLE)) checkBLUnavailable(scope);
+        if (alertTypes.contains(AlertType.DECLARATION_DEADLINE)) checkDeclarationDeadline(scope);
+    }
+
+    void checkInactivity(CheckScope scope) {
         var threshold = LocalDateTime.now().minusHours(inactivityHours);
-        var operations = operationRepository.findInactiveSince(threshold);
-
-        for (var op : operations) {
-            var alert = alertService.createAlert(op, AlertType.INACTIVITY_48H,
-                    "Operation " + op.referenceNumber + " has been inactive for more than "
-                            + inactivityHours + " hours");
-            if (alert != null) {
-                notificationService.send(
-                        op.id, op.account.email,
-                        "Inactivity Alert - " + op.referenceNumber,
-                        "Operation " + op.referenceNumber + " has been inactive for over "
-                                + inactivityHours + " hours."
-                );
-            }
-        }
+
+        processInBatches(scope, AlertType.INACTIVITY_48H,
+                afterId -> alertRepository.findInactivityCandidates(
+                        threshold, scope.operationIds(), scope.shard(), afterId, batchSize),
+                batch -> batch.forEach(candidate -> {
+                    alertService.createAlert(candidate, AlertType.INACTIVITY_48H,
+                            "Operation " + candidate.referenceNumber() + " has been inactive for more than "
+                                    + inactivityHours + " hours", null);
+                    notificationService.sendCoalesced(NotificationCategory.ALERT,
+                            candidate.operationId(), candidate.accountEmail(),
+                            "Inactivity Alert - " + candidate.referenceNumber(),
+                            "Operation " + candidate.referenceNumber() + " has been inactive for over "
+                                    + inactivityHours + " hours."
+                    );
+                }));
     }
 
-    void checkArrivalDateApproaching() {
+    void checkArrivalDateApproaching(CheckScope scope) {
         var now = LocalDateTime.now();
         var threshold = now.plusHours(arrivalDateApproachingHours);
-        var operations = operationRepository.findWithArrivalDateBetween(now, threshold);
-
-        for (var op : operations) {
-            var alert = alertService.createAlert(op, AlertType.DEADLINE_APPROACHING,
-                    "Operation " + op.referenceNumber + " arrival date is approaching (within "
-                            + arrivalDateApproachingHours + " hours)");
-            if (alert != null) {
-                notificationService.send(
-                        op.id, op.account.email,
-                        "Arrival Date Approaching - " + op.referenceNumber,
-                        "Operation " + op.referenceNumber + " arrival date is approaching."
-                );
-            }
-        }
-    }
 
-    void checkMissingCriticalDocuments() {
-        var operations = operationRepository.findByStatus(OperationStatus.IN_REVIEW);
+        processInBatches(scope, AlertType.DEADLINE_APPROACHING,
+                afterId -> alertRepository.findArrivalApproachingCandidates(
+                        now, threshold, scope.operationIds(), scope.shard(), afterId, batchSize),
+                batch -> batch.forEach(candidate -> {
+                    alertService.createAlert(candidate, AlertType.DEADLINE_APPROACHING,
+                            "Operation " + candidate.referenceNumber() + " arrival date is approaching (within "
+                                    + arrivalDateApproachingHours + " hours)", null);
+                    notificationService.sendCoalesced(NotificationCategory.ALERT,
+                            candidate.operationId(), candidate.accountEmail(),
+                            "Arrival Date Approaching - " + candidate.referenceNumber(),
+                            "Operation " + candidate.referenceNumber() + " arrival date is approaching."
+                    );
+                }));
+    }
 
-        for (var op : operations) {
-            var completeness = completenessService.calculate(op.id);
-            if ("RED".equals(completeness.color()) || "YELLOW".equals(completeness.color())) {
-                alertService.createAlert(op, AlertType.MISSING_CRITICAL_DOCUMENT,
-                        "Operation " + op.referenceNumber + " is in review but has incomplete documentation ("
-                                + completeness.percentage() + "% complete)");
+    void checkMissingCriticalDocuments(CheckScope scope) {
+        for (var transportMode : TransportMode.values()) {
+            var mandatory = QuarkusTransaction.requiringNew().call(
+                    () -> completenessService.getEffectiveMandatoryDocuments(transportMode));
+            if (mandatory.isEmpty()) {
+                continue;
             }
+
+            processInBatches(scope, AlertType.MISSING_CRITICAL_DOCUMENT,
+                    afterId -> alertRepository.findMissingDocumentCandidates(
+                            transportMode, mandatory, scope.operationIds(), scope.shard(), afterId, batchSize),
+                    batch -> {
+                        var completeness = completenessService.calculateAll(
+                                batch.stream().map(AlertCandidate::operationId).toList(), null);
+                        for (var candidate : batch) {
+                            var result = completeness.get(candidate.operationId());
+                            int percentage = result != null ? result.percentage() : 0;
+                            alertService.createAlert(candidate, AlertType.MISSING_CRITICAL_DOCUMENT,
+                                    "Operation " + candidate.referenceNumber()
+                                            + " is in review but has incomplete documentation ("
+                                            + percentage + "% complete)", null);
+                        }
+                    });
         }
     }
 
-    void checkBLUnavailable() {
-        // Check operations in IN_REVIEW or later review statuses where BL original is not available
-        var reviewStatuses = java.util.List.of(
-                OperationStatus.IN_REVIEW,
-                OperationStatus.PRELIQUIDATION_REVIEW,
-                OperationStatus.ANALYST_ASSIGNED
-        );
-
-        for (var status : reviewStatuses) {
-            var operations = operationRepository.findByStatus(status);
-            for (var op : operations) {
-                if (op.blAvailability == null || op.blAvailability == com.janus.operation.domain.model.BlAvailability.NOT_AVAILABLE) {
-                    alertService.createAlert(op, AlertType.BL_UNAVAILABLE,
-                            "Operation " + op.referenceNumber + " does not have original BL available");
-                }
-            }
-        }
+    void checkBLUnavailable(CheckScope scope) {
+        processInBatches(scope, AlertType.BL_UNAVAILABLE,
+                afterId -> alertRepository.findBlUnavailableCandidates(
+                        scope.operationIds(), scope.shard(), afterId, batchSize),
+                batch -> batch.forEach(candidate -> alertService.createAlert(candidate, AlertType.BL_UNAVAILABLE,
+                        "Operation " + candidate.referenceNumber() + " does not have original BL available", null)));
     }
 
-    void checkDeclarationDeadline() {
+    void checkDeclarationDeadline(CheckScope scope) {
         var now = LocalDateTime.now();
-        var operations = operationRepository.findArrivedWithoutDeclaration(now);
         var dateFormatter = DateTimeFormatter.ofPattern("MMM dd, yyyy");
         var isoFormatter = DateTimeFormatter.ISO_LOCAL_DATE;
 
-        for (var op : operations) {
-            var arrivalDate = op.estimatedArrival.toLocalDate();
-            var deadline = calculateBusinessDayDeadline(arrivalDate, 5);
-            var message = "Operation " + op.referenceNumber + " arrived on "
-                    + arrivalDate.format(dateFormatter)
-                    + ". You have 5 business days to file the customs declaration.";
-            var messageParams = "{\"ref\":\"" + op.referenceNumber
-                    + "\",\"arrivalDate\":\"" + arrivalDate.format(isoFormatter)
-                    + "\",\"deadline\":\"" + deadline.format(isoFormatter) + "\"}";
-
-            var alert = alertService.createAlert(op, AlertType.DECLARATION_DEADLINE, message, messageParams);
-            if (alert != null && op.account != null && op.account.email != null) {
-                notificationService.send(
-                        op.id, op.account.email,
-                        "Declaration Deadline - " + op.referenceNumber,
-                        message
-                );
+        processInBatches(scope, AlertType.DECLARATION_DEADLINE,
+                afterId -> alertRepository.findDeclarationDeadlineCandidates(
+                        now, scope.operationIds(), scope.shard(), afterId, batchSize),
+                batch -> batch.forEach(candidate -> {
+                    var arrivalDate = candidate.estimatedArrival().toLocalDate();
+                    var deadline = calculateBusinessDayDeadline(arrivalDate, 5);
+                    var message = "Operation " + candidate.referenceNumber() + " arrived on "
+                            + arrivalDate.format(dateFormatter)
+                            + ". You have 5 business days to file the customs declaration.";
+                    var messageParams = "{\"ref\":\"" + candidate.referenceNumber()
+                            + "\",\"arrivalDate\":\"" + arrivalDate.format(isoFormatter)
+                            + "\",\"deadline\":\"" + deadline.format(isoFormatter) + "\"}";
+
+                    alertService.createAlert(candidate, AlertType.DECLARATION_DEADLINE, message, messageParams);
+                    if (candidate.accountEmail() != null) {
+                        notificationService.sendCoalesced(NotificationCategory.ALERT,
+                                candidate.operationId(), candidate.accountEmail(),
+                                "Declaration Deadline - " + candidate.referenceNumber(),
+                                message
+                        );
+                    }
+                }));
+    }
+
+    /**
+     * Loads candidates in id order, one batch per transaction, until a short batch signals
+     * the end. A failing batch is logged and the check stops, leaving the remaining
+     * candidates for the next run, as does a batch whose fence finds the lease lost.
+     */
+    private void processInBatches(CheckScope scope, AlertType alertType, LongFunction<List<AlertCandidate>> loader,
+                                  Consumer<List<AlertCandidate>> handler) {
+        long lastId = 0;
+        int created = 0;
+        while (true) {
+            final long afterId = lastId;
+            List<AlertCandidate> batch;
+            try {
+                batch = QuarkusTransaction.requiringNew().call(() -> {
+                    scope.fence().run();
+                    var candidates = loader.apply(afterId);
+                    handler.accept(candidates);
+                    return candidates;
+                });
+            } catch (LeaseLostException e) {
+                LOG.warnf("Alert check %s stopped: %s", alertType, e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                LOG.errorf(e, "Alert check %s failed after operation id %d", alertType, afterId);
+                return;
             }
+            created += batch.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).operationId();
+        }
+        if (created > 0) {
+            LOG.infof("Created %d %s alerts", created, alertType);
         }
     }
 
@@ -162,4 +264,6 @@ public class AlertCheckerScheduler {
         }
         return date;
     }
+
+    private record CheckScope(Collection<Long> operationIds, ShardAssignment shard, Runnable fence) {}
 }
@@ -1,6 +1,7 @@
 package com.janus.alert.application;
 
 import com.janus.alert.domain.model.Alert;
+import com.janus.alert.domain.model.AlertCandidate;
 import com.janus.alert.domain.model.AlertStatus;
 import com.janus.alert.domain.model.AlertType;
 import com.janus.alert.domain.repository.AlertRepository;
@@ -12,6 +13,7 @@ import com.janus.shared.infrastructure.exception.NotFoundException;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,6 +27,9 @@ public class AlertService {
     @Inject
     Event<AuditEvent> auditEvent;
 
+    @Inject
+    EntityManager em;
+
     public List<Alert> getActiveAlerts() {
         return alertRepository.findActive();
     }
@@ -80,4 +85,26 @@ public class AlertService {
 
         return alert;
     }
+
+    /**
+     * Creates an alert for a candidate that the caller's query already found to have no
+     * unresolved alert of this type, so no duplicate check is made here. The insert joins
+     * the caller's transaction and is flushed in JDBC batches with its siblings.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public Alert createAlert(AlertCandidate candidate, AlertType alertType, String message, String messageParams) {
+        var alert = new Alert();
+        alert.operation = em.getReference(Operation.class, candidate.operationId());
+        alert.alertType = alertType;
+        alert.message = message;
+        alert.messageParams = messageParams;
+        alertRepository.persist(alert);
+
+        auditEvent.fire(new AuditEvent(
+                "system", AuditAction.ALERT_GENERATED, "Alert", alert.id, candidate.operationId(),
+                null, null, "Alert generated: " + alertType + " for " + candidate.referenceNumber()
+        ));
+
+        return alert;
+    }
 }
@@ -0,0 +1,265 @@
+package com.janus.alert.application;
+
+import com.janus.alert.domain.model.AlertTiming;
+import com.janus.alert.domain.model.AlertType;
+import com.janus.alert.domain.repository.AlertRepository;
+import com.janus.cluster.application.ClusterCoordinator;
+import com.janus.cluster.domain.model.ShardAssignment;
+import com.janus.operation.domain.model.OperationChanged;
+import com.janus.operation.domain.model.OperationStatus;
+import com.janus.shared.infrastructure.timer.TimerWheel;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Evaluates alerts as operations change instead of waiting for the periodic scan. After a
+ * change commits the operation's time-based alerts (inactivity, approaching arrival,
+ * declaration deadline) are armed on a timer wheel, rebuilt from the database at startup,
+ * and re-checked when they come due. Changed operations are only queued on the request
+ * path; a background checker re-arms their timers and runs all checks on them, once per
+ * operation however often it changed within check-delay, in batches.
+ * Every replica keeps timers for all open operations but only fires those it owns: its
+ * shard when sharding is enabled, otherwise all of them while it holds the alert-checker
+ * lease. Timers are re-armed from the database periodically to pick up changes made on
+ * other nodes, and with catch-up whenever this node's ownership changes.
+ */
+@ApplicationScoped
+public class AlertTriggerService {
+
+    private static final Logger LOG = Logger.getLogger(AlertTriggerService.class);
+    private static final int BATCH_SIZE = 500;
+    private static final long TICK_MILLIS = 60_000;
+    // Fire one tick after the deadline so the strict comparisons in the checks hold
+    private static final long DEADLINE_SLACK_MINUTES = 1;
+    private static final Set<AlertType> TIMED_TYPES = EnumSet.of(
+            AlertType.INACTIVITY_48H, AlertType.DEADLINE_APPROACHING, AlertType.DECLARATION_DEADLINE);
+    // Ownership before the first tick; startup arms with catch-up already
+    private static final Ownership STARTUP = new Ownership(ShardAssignment.ALL, -1);
+
+    @Inject
+    AlertRepository alertRepository;
+
+    @Inject
+    AlertCheckerScheduler alertChecker;
+
+    @Inject
+    ClusterCoordinator cluster;
+
+    @ConfigProperty(name = "janus.alerts.inactivity-hours", defaultValue = "48")
+    int inactivityHours;
+
+    @ConfigProperty(name = "janus.alerts.arrival-date-approaching-hours", defaultValue = "24")
+    int arrivalDateApproachingHours;
+
+    @ConfigProperty(name = "janus.alerts.check-delay", defaultValue = "200ms")
+    Duration checkDelay;
+
+    // Minute ticks; 60 slots per level cover an hour, 60 hours, 150 days and 25 years
+    private final TimerWheel<AlertTimer> timers = new TimerWheel<>(TICK_MILLIS, 60, 4, System.currentTimeMillis());
+
+    private volatile Ownership ownership = STARTUP;
+
+    private final Set<Long> pendingChecks = ConcurrentHashMap.newKeySet();
+    private final Semaphore checksQueued = new Semaphore(0);
+    private Thread checkerThread;
+    private volatile boolean running;
+
+    void onStart(@Observes StartupEvent event) {
+        // Due times that passed while the node was down fire on the first tick
+        armAll(Arming.CATCH_UP);
+        LOG.infof("Armed %d alert timers", timers.size());
+        running = true;
+        checkerThread = Thread.ofVirtual().name("alert-checker").start(this::runChecker);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        // Checks still queued are left to the periodic scan
+        running = false;
+        if (checkerThread != null) {
+            checkerThread.interrupt();
+        }
+    }
+
+    @Scheduled(every = "${janus.alerts.timer-resync-every:15m}", identity = "alert-timer-resync")
+    void resync() {
+        if (cluster.liveNodeCount() > 1) {
+            armAll(Arming.RESYNC);
+        }
+    }
+
+    void onOperationChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) OperationChanged event) {
+        if (pendingChecks.add(event.operationId())) {
+            checksQueued.release();
+        }
+    }
+
+    private void runChecker() {
+        while (running) {
+            try {
+                checksQueued.acquire();
+                // Let a burst of changes, such as a bulk status change, queue up first
+                Thread.sleep(checkDelay.toMillis());
+                // Permits first, so an id queued while draining still wakes the next round
+                checksQueued.drainPermits();
+                var ids = new ArrayList<Long>();
+                for (var id : pendingChecks) {
+                    if (pendingChecks.remove(id)) {
+                        ids.add(id);
+                    }
+                }
+                for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                    var batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+                    armChanged(batch);
+                    alertChecker.runChecks(batch, EnumSet.allOf(AlertType.class));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // The periodic scan picks up anything missed here
+                LOG.error("Failed to evaluate alerts for changed operations", e);
+            }
+        }
+    }
+
+    @Scheduled(every = "60s", identity = "alert-timer-wheel")
+    void fireDueTimers() {
+        var due = timers.advance(System.currentTimeMillis());
+        var current = currentOwnership();
+        var previous = ownership;
+        ownership = current;
+        if (current == null) {
+            // The lease holder fires these
+            return;
+        }
+        if (previous != STARTUP && !current.equals(previous)) {
+            // Timers that came due while another node owned them fire on the next tick
+            armAll(Arming.CATCH_UP);
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        var idsByType = new EnumMap<AlertType, List<Long>>(AlertType.class);
+        due.stream()
+                .filter(timer -> current.shard().owns(timer.operationId()))
+                .forEach(timer -> idsByType.computeIfAbsent(timer.alertType(), t -> new ArrayList<>())
+                        .add(timer.operationId()));
+        idsByType.forEach((type, ids) -> {
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                alertChecker.runChecks(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())), EnumSet.of(type),
+                        current.fence(cluster));
+            }
+        });
+    }
+
+    /**
+     * The operations this node fires timers for, or null while another node holds the
+     * alert-checker lease.
+     */
+    private Ownership currentOwnership() {
+        if (cluster.shardingEnabled()) {
+            return new Ownership(cluster.shard(), 0);
+        }
+        var token = cluster.acquire(AlertCheckerScheduler.LEASE_NAME);
+        return token.isPresent() ? new Ownership(ShardAssignment.ALL, token.getAsLong()) : null;
+    }
+
+    private void armAll(Arming arming) {
+        long lastId = 0;
+        while (true) {
+            final long afterId = lastId;
+            var batch = QuarkusTransaction.requiringNew().call(
+                    () -> alertRepository.findOpenTimings(afterId, BATCH_SIZE));
+            batch.forEach(timing -> arm(timing, arming));
+            if (batch.size() < BATCH_SIZE) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).operationId();
+        }
+    }
+
+    private void armChanged(List<Long> operationIds) {
+        try {
+            var timings = QuarkusTransaction.requiringNew().call(() -> alertRepository.findTimings(operationIds));
+            var found = new HashSet<Long>();
+            for (var timing : timings) {
+                arm(timing, Arming.AFTER_CHANGE);
+                found.add(timing.operationId());
+            }
+            operationIds.stream()
+                    .filter(id -> !found.contains(id))
+                    .forEach(id -> TIMED_TYPES.forEach(type -> timers.cancel(new AlertTimer(id, type))));
+        } catch (RuntimeException e) {
+            // The periodic resync and scan pick up anything missed here
+            LOG.error("Failed to arm alert timers for changed operations", e);
+        }
+    }
+
+    private void arm(AlertTiming timing, Arming arming) {
+        var operationId = timing.operationId();
+        var open = timing.status() != OperationStatus.CLOSED && timing.status() != OperationStatus.CANCELLED;
+
+        schedule(operationId, AlertType.INACTIVITY_48H,
+                open && timing.updatedAt() != null ? timing.updatedAt().plusHours(inactivityHours) : null, arming);
+        schedule(operationId, AlertType.DEADLINE_APPROACHING,
+                open && timing.arrivalDate() != null
+                        ? timing.arrivalDate().minusHours(arrivalDateApproachingHours) : null, arming);
+        schedule(operationId, AlertType.DECLARATION_DEADLINE,
+                AlertRepository.PRE_DECLARATION_STATUSES.contains(timing.status()) ? timing.estimatedArrival() : null,
+                arming);
+    }
+
+    /**
+     * Arms the timer for {@code dueAt}. A past due time is armed only when catching up;
+     * after a change the check that follows the arming covers it, and a resync leaves
+     * whatever timer is already armed.
+     */
+    private void schedule(Long operationId, AlertType alertType, LocalDateTime dueAt, Arming arming) {
+        var timer = new AlertTimer(operationId, alertType);
+        if (dueAt == null) {
+            timers.cancel(timer);
+            return;
+        }
+        if (arming != Arming.CATCH_UP && !dueAt.isAfter(LocalDateTime.now())) {
+            if (arming == Arming.AFTER_CHANGE) {
+                timers.cancel(timer);
+            }
+            return;
+        }
+        var fireAt = dueAt.plusMinutes(DEADLINE_SLACK_MINUTES).atZone(ZoneId.systemDefault()).toInstant();
+        timers.schedule(timer, fireAt.toEpochMilli());
+    }
+
+    private enum Arming { CATCH_UP, AFTER_CHANGE, RESYNC }
+
+    private record AlertTimer(Long operationId, AlertType alertType) {}
+
+    private record Ownership(ShardAssignment shard, long fencingToken) {
+
+        Runnable fence(ClusterCoordinator cluster) {
+            if (fencingToken == 0) {
+                return () -> {};
+            }
+            return () -> cluster.checkFencing(AlertCheckerScheduler.LEASE_NAME, fencingToken);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.janus.alert.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Operation fields needed to raise an alert, projected by the set-based alert checks.
+ */
+public record AlertCandidate(
+        Long operationId,
+        String referenceNumber,
+        String accountEmail,
+        LocalDateTime estimatedArrival
+) {}
@@ -0,0 +1,15 @@
+package com.janus.alert.domain.model;
+
+import com.janus.operation.domain.model.OperationStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Operation fields that decide when time-based alerts come due.
+ */
+public record AlertTiming(
+        Long operationId,
+        OperationStatus status,
+        LocalDateTime updatedAt,
+        LocalDateTime arrivalDate,
+        LocalDateTime estimatedArrival
+) {}
@@ -1,15 +1,49 @@
 package com.janus.alert.domain.repository;
 
 import com.janus.alert.domain.model.Alert;
+import com.janus.alert.domain.model.AlertCandidate;
 import com.janus.alert.domain.model.AlertStatus;
+import com.janus.alert.domain.model.AlertTiming;
 import com.janus.alert.domain.model.AlertType;
+import com.janus.cluster.domain.model.ShardAssignment;
+import com.janus.document.domain.model.DocumentType;
+import com.janus.operation.domain.model.BlAvailability;
+import com.janus.operation.domain.model.OperationStatus;
+import com.janus.operation.domain.model.TransportMode;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @ApplicationScoped
 public class AlertRepository implements PanacheRepository<Alert> {
 
+    private static final List<OperationStatus> FINAL_STATUSES = List.of(
+            OperationStatus.CLOSED, OperationStatus.CANCELLED);
+
+    public static final List<OperationStatus> PRE_DECLARATION_STATUSES = List.of(
+            OperationStatus.DRAFT,
+            OperationStatus.DOCUMENTATION_COMPLETE,
+            OperationStatus.IN_REVIEW,
+            OperationStatus.PENDING_CORRECTION,
+            OperationStatus.PRELIQUIDATION_REVIEW,
+            OperationStatus.ANALYST_ASSIGNED);
+
+    private static final List<OperationStatus> BL_REVIEW_STATUSES = List.of(
+            OperationStatus.IN_REVIEW,
+            OperationStatus.PRELIQUIDATION_REVIEW,
+            OperationStatus.ANALYST_ASSIGNED);
+
+    private static final String TIMING_SELECT = "SELECT new com.janus.alert.domain.model.AlertTiming("
+            + "o.id, o.status, o.updatedAt, o.arrivalDate, o.estimatedArrival) FROM Operation o";
+
+    @Inject
+    EntityManager em;
+
     public List<Alert> findActive() {
         return list("status = ?1 ORDER BY createdAt DESC", AlertStatus.ACTIVE);
     }
@@ -26,4 +60,105 @@ public class AlertRepository implements PanacheRepository<Alert> {
         return count("operation.id = ?1 AND alertType = ?2 AND status IN (?3, ?4)",
                 operationId, alertType, AlertStatus.ACTIVE, AlertStatus.ACKNOWLEDGED) > 0;
     }
+
+    public List<AlertCandidate> findInactivityCandidates(LocalDateTime threshold, Collection<Long> operationIds,
+                                                         ShardAssignment shard, long afterId, int limit) {
+        return findCandidates(AlertType.INACTIVITY_48H,
+                "o.status NOT IN :finalStatuses AND o.updatedAt IS NOT NULL AND o.updatedAt < :threshold",
+                Map.of("finalStatuses", FINAL_STATUSES, "threshold", threshold), operationIds, shard, afterId, limit);
+    }
+
+    public List<AlertCandidate> findArrivalApproachingCandidates(LocalDateTime from, LocalDateTime to,
+                                                                 Collection<Long> operationIds,
+                                                                 ShardAssignment shard, long afterId, int limit) {
+        return findCandidates(AlertType.DEADLINE_APPROACHING,
+                "o.status NOT IN :finalStatuses AND o.arrivalDate IS NOT NULL"
+                        + " AND o.arrivalDate > :from AND o.arrivalDate < :to",
+                Map.of("finalStatuses", FINAL_STATUSES, "from", from, "to", to), operationIds, shard, afterId, limit);
+    }
+
+    /**
+     * Operations in IN_REVIEW with the given transport mode that have fewer than all of the
+     * mandatory document types uploaded.
+     */
+    public List<AlertCandidate> findMissingDocumentCandidates(TransportMode transportMode,
+                                                              Collection<DocumentType> mandatory,
+                                                              Collection<Long> operationIds,
+                                                              ShardAssignment shard, long afterId, int limit) {
+        return findCandidates(AlertType.MISSING_CRITICAL_DOCUMENT,
+                "o.status = :status AND o.transportMode = :transportMode"
+                        + " AND (SELECT COUNT(DISTINCT d.documentType) FROM Document d WHERE d.operation = o"
+                        + " AND d.active = true AND d.documentType IN :mandatory) < :mandatoryCount",
+                Map.of("status", OperationStatus.IN_REVIEW, "transportMode", transportMode,
+                        "mandatory", mandatory, "mandatoryCount", (long) mandatory.size()),
+                operationIds, shard, afterId, limit);
+    }
+
+    public List<AlertCandidate> findBlUnavailableCandidates(Collection<Long> operationIds, ShardAssignment shard,
+                                                            long afterId, int limit) {
+        return findCandidates(AlertType.BL_UNAVAILABLE,
+                "o.status IN :statuses AND (o.blAvailability IS NULL OR o.blAvailability = :notAvailable)",
+                Map.of("statuses", BL_REVIEW_STATUSES, "notAvailable", BlAvailability.NOT_AVAILABLE),
+                operationIds, shard, afterId, limit);
+    }
+
+    public List<AlertCandidate> findDeclarationDeadlineCandidates(LocalDateTime now, Collection<Long> operationIds,
+                                                                  ShardAssignment shard, long afterId, int limit) {
+        return findCandidates(AlertType.DECLARATION_DEADLINE,
+                "o.estimatedArrival IS NOT NULL AND o.estimatedArrival <= :now AND o.status IN :statuses",
+                Map.of("now", now, "statuses", PRE_DECLARATION_STATUSES), operationIds, shard, afterId, limit);
+    }
+
+    /**
+     * Returns up to {@code limit} operations after {@code afterId} (in id order) that match
+     * the condition and have no ACTIVE or ACKNOWLEDGED alert of the given type, restricted
+     * to {@code operationIds} unless it is null and to the ids of {@code shard}.
+     */
+    private List<AlertCandidate> findCandidates(AlertType alertType, String condition, Map<String, Object> params,
+                                                Collection<Long> operationIds, ShardAssignment shard,
+                                                long afterId, int limit) {
+        var query = em.createQuery("SELECT new com.janus.alert.domain.model.AlertCandidate("
+                        + "o.id, o.referenceNumber, a.email, o.estimatedArrival)"
+                        + " FROM Operation o LEFT JOIN o.account a"
+                        + " WHERE o.id > :afterId AND " + condition
+                        + (operationIds != null ? " AND o.id IN :operationIds" : "")
+                        + (shard.isPartial() ? " AND MOD(o.id, :shardCount) = :shardIndex" : "")
+                        + " AND NOT EXISTS (SELECT 1 FROM Alert al WHERE al.operation = o"
+                        + " AND al.alertType = :alertType AND al.status IN :unresolved)"
+                        + " ORDER BY o.id", AlertCandidate.class)
+                .setParameter("afterId", afterId)
+                .setParameter("alertType", alertType)
+                .setParameter("unresolved", List.of(AlertStatus.ACTIVE, AlertStatus.ACKNOWLEDGED))
+                .setMaxResults(limit);
+        if (operationIds != null) {
+            query.setParameter("operationIds", operationIds);
+        }
+        if (shard.isPartial()) {
+            query.setParameter("shardCount", (long) shard.count());
+            query.setParameter("shardIndex", (long) shard.index());
+        }
+        params.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    /**
+     * Timing fields of the given operations; ids without an operation are left out.
+     */
+    public List<AlertTiming> findTimings(Collection<Long> operationIds) {
+        return em.createQuery(TIMING_SELECT + " WHERE o.id IN :operationIds", AlertTiming.class)
+                .setParameter("operationIds", operationIds)
+                .getResultList();
+    }
+
+    /**
+     * Timing fields of operations that are not closed or cancelled, in id order.
+     */
+    public List<AlertTiming> findOpenTimings(long afterId, int limit) {
+        return em.createQuery(TIMING_SELECT + " WHERE o.id > :afterId AND o.status NOT IN :finalStatuses"
+                        + " ORDER BY o.id", AlertTiming.class)
+                .setParameter("afterId", afterId)
+                .setParameter("finalStatuses", FINAL_STATUSES)
+                .setMaxResults(limit)
+                .getResultList();
+    }
 }
@@ -1,22 +1,31 @@
 package com.janus.audit.api;
 
 import com.janus.audit.api.dto.AuditLogResponse;
+import com.janus.audit.application.AuditArchiver;
 import com.janus.audit.application.AuditService;
+import com.janus.audit.domain.model.AuditLogFilter;
+import com.janus.shared.api.dto.CursorPageResponse;
+import com.janus.shared.infrastructure.exception.BusinessException;
 import com.janus.operation.application.OperationService;
 import com.janus.shared.infrastructure.security.SecurityHelper;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Path("/api/audit")
 @Produces(MediaType.APPLICATION_JSON)
@@ -25,6 +34,9 @@ public class AuditResource {
     @Inject
     AuditService auditService;
 
+    @Inject
+    AuditArchiver auditArchiver;
+
     @Inject
     SecurityHelper securityHelper;
 
@@ -37,14 +49,47 @@ public class AuditResource {
                                        @QueryParam("from") String from,
                                        @QueryParam("to") String to) {
 
-        LocalDateTime fromDateTime = from != null && !from.isBlank()
-                ? LocalDate.parse(from).atStartOfDay() : null;
-        LocalDateTime toDateTime = to != null && !to.isBlank()
-                ? LocalDate.parse(to).atTime(23, 59, 59) : null;
+        return auditService.findFiltered(username, parseFrom(from), parseTo(to));
+    }
+
+    @GET
+    @Path("/cursor")
+    @RolesAllowed({"SUPERVISOR", "ADMIN"})
+    public CursorPageResponse<AuditLogResponse> listByCursor(@QueryParam("username") String username,
+                                                             @QueryParam("from") String from,
+                                                             @QueryParam("to") String to,
+                                                             @QueryParam("operationId") Long operationId,
+                                                             @QueryParam("entityName") String entityName,
+                                                             @QueryParam("entityId") Long entityId,
+                                                             @QueryParam("cursor") String cursor,
+                                                             @QueryParam("size") @DefaultValue("50") int size) {
+        var filter = toFilter(username, from, to, operationId, entityName, entityId);
+        return auditService.listByCursor(filter, cursor, size);
+    }
 
-        return auditService.findFiltered(username, fromDateTime, toDateTime).stream()
-                .map(AuditLogResponse::from)
-                .toList();
+    @GET
+    @Path("/export")
+    @Produces({"application/x-ndjson", "text/csv"})
+    @RolesAllowed({"SUPERVISOR", "ADMIN"})
+    public Response export(@QueryParam("username") String username,
+                           @QueryParam("from") String from,
+                           @QueryParam("to") String to,
+                           @QueryParam("operationId") Long operationId,
+                           @QueryParam("entityName") String entityName,
+                           @QueryParam("entityId") Long entityId,
+                           @QueryParam("format") @DefaultValue("ndjson") String format) {
+        var filter = toFilter(username, from, to, operationId, entityName, entityId);
+        return switch (format.toLowerCase()) {
+            case "ndjson" -> Response.ok((StreamingOutput) output -> auditService.exportNdjson(filter, output))
+                    .type("application/x-ndjson; charset=UTF-8")
+                    .header("Content-Disposition", "attachment; filename=\"audit-logs.ndjson\"")
+                    .build();
+            case "csv" -> Response.ok((StreamingOutput) output -> auditService.exportCsv(filter, output))
+                    .type("text/csv; charset=UTF-8")
+                    .header("Content-Disposition", "attachment; filename=\"audit-logs.csv\"")
+                    .build();
+            default -> throw new BusinessException("INVALID_EXPORT_FORMAT", "Export format must be ndjson or csv");
+        };
     }
 
     @GET
@@ -53,8 +98,32 @@ public class AuditResource {
     public List<AuditLogResponse> getByOperation(@PathParam("operationId") Long operationId,
                                                   @Context SecurityContext sec) {
         securityHelper.enforceCustomerAccess(sec, operationService.findById(operationId));
-        return auditService.findByOperationId(operationId).stream()
-                .map(AuditLogResponse::from)
-                .toList();
+        return auditService.findByOperationId(operationId);
+    }
+
+    @POST
+    @Path("/archive")
+    @RolesAllowed({"ADMIN"})
+    public Response archive() {
+        return Response.accepted(Map.of("started", auditArchiver.requestArchive())).build();
+    }
+
+    private static AuditLogFilter toFilter(String username, String from, String to, Long operationId,
+                                           String entityName, Long entityId) {
+        return new AuditLogFilter(
+                username != null && !username.isBlank() ? username : null,
+                parseFrom(from),
+                parseTo(to),
+                operationId,
+                entityName != null && !entityName.isBlank() ? entityName : null,
+                entityId);
+    }
+
+    private static LocalDateTime parseFrom(String from) {
+        return from != null && !from.isBlank() ? LocalDate.parse(from).atStartOfDay() : null;
+    }
+
+    private static LocalDateTime parseTo(String to) {
+        return to != null && !to.isBlank() ? LocalDate.parse(to).atTime(23, 59, 59) : null;
     }
 }
@@ -0,0 +1,145 @@
+package com.janus.audit.application;
+
+import com.janus.audit.api.dto.AuditLogResponse;
+import com.janus.audit.domain.repository.AuditLogRepository;
+import com.janus.audit.infrastructure.archive.AuditSegmentStore;
+import com.janus.cluster.application.ClusterCoordinator;
+import com.janus.cluster.application.LeaseLostException;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Moves audit logs older than the configured age from the audit_logs table into archive
+ * segments. Each batch is written and fsynced as a segment before its rows are deleted, so
+ * a crash in between leaves rows in both places; the next run removes those from the table
+ * again before archiving anything new. Runs happen on the schedule or when requested, in
+ * the background and one at a time per node.
+ */
+@ApplicationScoped
+public class AuditArchiver {
+
+    private static final Logger LOG = Logger.getLogger(AuditArchiver.class);
+    public static final String LEASE_NAME = "audit-archiver";
+    private static final int DELETE_CHUNK = 500;
+
+    @Inject
+    AuditLogRepository auditLogRepository;
+
+    @Inject
+    AuditSegmentStore segmentStore;
+
+    @Inject
+    ClusterCoordinator cluster;
+
+    @ConfigProperty(name = "janus.audit.archive.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "janus.audit.archive.after-days", defaultValue = "90")
+    int afterDays;
+
+    @ConfigProperty(name = "janus.audit.archive.segment-rows", defaultValue = "10000")
+    int segmentRows;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(every = "${janus.audit.archive.every:1h}", identity = "audit-archiver")
+    void scheduledArchive() {
+        if (!enabled || !running.compareAndSet(false, true)) return;
+        try {
+            archiveAndLog();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Starts an archiving run in the background, even when scheduled runs are disabled.
+     * Returns false when a run is already in progress on this node.
+     */
+    public boolean requestArchive() {
+        if (!running.compareAndSet(false, true)) return false;
+        Thread.ofVirtual().name("audit-archiver").start(() -> {
+            try {
+                archiveAndLog();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void archiveAndLog() {
+        try {
+            var archived = archive();
+            if (archived > 0) {
+                LOG.infof("Archived %d audit logs older than %d days", archived, afterDays);
+            }
+        } catch (LeaseLostException e) {
+            LOG.warnf("Audit archiving stopped: %s", e.getMessage());
+        } catch (RuntimeException e) {
+            LOG.error("Audit archiving failed", e);
+        }
+    }
+
+    /**
+     * Archives every row older than the cutoff and returns how many were moved, or 0 when
+     * another node holds the archiver lease.
+     */
+    private int archive() {
+        var token = cluster.acquire(LEASE_NAME);
+        if (token.isEmpty()) return 0;
+        long fencingToken = token.getAsLong();
+
+        segmentStore.deleteIncomplete();
+        var segments = segmentStore.segmentNames();
+        if (!segments.isEmpty()) {
+            removeArchived(segmentStore.readSegment(segments.getLast()), fencingToken);
+        }
+
+        var cutoff = LocalDateTime.now().minusDays(afterDays);
+        int archived = 0;
+        while (true) {
+            var rows = QuarkusTransaction.requiringNew()
+                    .call(() -> auditLogRepository.findOldestBefore(cutoff, segmentRows));
+            if (rows.isEmpty()) break;
+
+            segmentStore.append(rows);
+            removeArchived(rows, fencingToken);
+            archived += rows.size();
+            if (rows.size() < segmentRows) break;
+        }
+        return archived;
+    }
+
+    /**
+     * Deletes table rows that are in the archive. A row only counts as archived when both id
+     * and creation time match, so a restored or reset database never loses rows to an old
+     * segment that happens to reuse their ids.
+     */
+    private void removeArchived(List<AuditLogResponse> archivedRows, long fencingToken) {
+        for (int from = 0; from < archivedRows.size(); from += DELETE_CHUNK) {
+            var chunk = archivedRows.subList(from, Math.min(from + DELETE_CHUNK, archivedRows.size()));
+            Map<Long, LocalDateTime> archivedAt = chunk.stream()
+                    .collect(Collectors.toMap(AuditLogResponse::id, AuditLogResponse::createdAt, (a, b) -> a));
+            QuarkusTransaction.requiringNew().run(() -> {
+                cluster.checkFencing(LEASE_NAME, fencingToken);
+                var ids = auditLogRepository.list("id IN ?1", List.copyOf(archivedAt.keySet())).stream()
+                        .filter(log -> log.createdAt.equals(archivedAt.get(log.id)))
+                        .map(log -> log.id)
+                        .toList();
+                if (!ids.isEmpty()) {
+                    auditLogRepository.deleteByIds(ids);
+                }
+            });
+        }
+    }
+}
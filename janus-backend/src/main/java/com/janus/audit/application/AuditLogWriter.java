@@ -0,0 +1,212 @@
+package com.janus.audit.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.janus.audit.domain.model.AuditEvent;
+import com.janus.audit.domain.model.AuditLog;
+import com.janus.audit.domain.repository.AuditLogRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Writes audit logs off the request path. Events are enqueued after the business
+ * transaction commits into a bounded buffer, and a single background writer inserts them
+ * in one transaction per batch of up to batch-size rows, at most max-lag after the first
+ * event of the batch arrived. When the buffer is full the caller writes its event itself
+ * rather than dropping it. Events still buffered at shutdown are written before the
+ * application stops; batches the database rejects are appended to a spill file that is
+ * replayed on the next start.
+ */
+@ApplicationScoped
+public class AuditLogWriter {
+
+    private static final Logger LOG = Logger.getLogger(AuditLogWriter.class);
+    private static final int WRITE_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    @Inject
+    AuditLogRepository auditLogRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "janus.audit.buffer-capacity", defaultValue = "10000")
+    int bufferCapacity;
+
+    @ConfigProperty(name = "janus.audit.batch-size", defaultValue = "200")
+    int batchSize;
+
+    @ConfigProperty(name = "janus.audit.max-lag", defaultValue = "500ms")
+    Duration maxLag;
+
+    @ConfigProperty(name = "janus.audit.spill-file", defaultValue = "./storage/audit-spill.ndjson")
+    String spillFile;
+
+    private BlockingQueue<AuditRecord> buffer;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        replaySpillFile();
+        running = true;
+        writerThread = Thread.ofVirtual().name("audit-writer").start(this::runWriter);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        running = false;
+        try {
+            writerThread.join(maxLag.toMillis() + 10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        var remaining = new ArrayList<AuditRecord>();
+        buffer.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            writeOrSpill(remaining.subList(from, Math.min(from + batchSize, remaining.size())), 1);
+        }
+    }
+
+    public void enqueue(AuditEvent event) {
+        var record = new AuditRecord(event, LocalDateTime.now());
+        if (!running || !buffer.offer(record)) {
+            writeOrSpill(List.of(record), 1);
+        }
+    }
+
+    private void runWriter() {
+        var batch = new ArrayList<AuditRecord>(batchSize);
+        while (running) {
+            try {
+                var first = buffer.poll(maxLag.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxLag.toNanos();
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    var next = remaining > 0 ? buffer.poll(remaining, TimeUnit.NANOSECONDS) : buffer.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeOrSpill(batch, WRITE_ATTEMPTS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOG.error("Audit writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeOrSpill(List<AuditRecord> records, int attempts) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write(records);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= attempts) {
+                    LOG.errorf(e, "Failed to write %d audit logs, spilling to %s", records.size(), spillFile);
+                    spill(records);
+                    return;
+                }
+            }
+            try {
+                Thread.sleep(RETRY_DELAY_MILLIS * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                spill(records);
+                return;
+            }
+        }
+    }
+
+    private void write(List<AuditRecord> records) {
+        QuarkusTransaction.requiringNew().run(
+                () -> records.forEach(record -> auditLogRepository.persist(record.toLog())));
+    }
+
+    private synchronized void spill(List<AuditRecord> records) {
+        var path = Path.of(spillFile);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            var lines = new ArrayList<String>(records.size());
+            for (var record : records) {
+                lines.add(objectMapper.writeValueAsString(record));
+            }
+            Files.write(path, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            // Last resort: keep the events in the application log
+            records.forEach(record -> LOG.errorf("Lost audit event %s at %s", record.event(), record.createdAt()));
+            LOG.error("Failed to spill audit logs", e);
+        }
+    }
+
+    private synchronized void replaySpillFile() {
+        var path = Path.of(spillFile);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            var records = new ArrayList<AuditRecord>();
+            for (var line : Files.readAllLines(path)) {
+                if (!line.isBlank()) {
+                    records.add(objectMapper.readValue(line, AuditRecord.class));
+                }
+            }
+            for (int from = 0; from < records.size(); from += batchSize) {
+                write(records.subList(from, Math.min(from + batchSize, records.size())));
+            }
+            Files.delete(path);
+            LOG.infof("Replayed %d spilled audit logs", records.size());
+        } catch (IOException | RuntimeException e) {
+            // Whatever was written is replayed again next time; audit rows may then repeat
+            LOG.errorf(e, "Failed to replay spilled audit logs from %s", spillFile);
+        }
+    }
+
+    record AuditRecord(AuditEvent event, LocalDateTime createdAt) {
+
+        AuditLog toLog() {
+            var log = new AuditLog();
+            log.username = event.username();
+            log.action = event.action();
+            log.entityName = event.entityName();
+            log.entityId = event.entityId();
+            log.operationId = event.operationId();
+            log.previousData = event.previousData();
+            log.newData = event.newData();
+            log.details = event.details();
+            log.createdAt = createdAt;
+            return log;
+        }
+    }
+}
@@ -1,35 +1,58 @@
 package com.janus.audit.application;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.janus.audit.api.dto.AuditLogResponse;
 import com.janus.audit.domain.model.AuditAction;
 import com.janus.audit.domain.model.AuditEvent;
 import com.janus.audit.domain.model.AuditLog;
+import com.janus.audit.domain.model.AuditLogFilter;
 import com.janus.audit.domain.repository.AuditLogRepository;
+import com.janus.audit.infrastructure.archive.AuditSegmentStore;
+import com.janus.shared.api.dto.CursorPageResponse;
+import com.janus.shared.api.dto.KeysetCursor;
+import com.janus.shared.infrastructure.util.CsvUtil;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.event.TransactionPhase;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 
 @ApplicationScoped
 public class AuditService {
 
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+    private static final Comparator<AuditLogResponse> NEWEST_FIRST = Comparator
+            .comparing(AuditLogResponse::createdAt)
+            .thenComparing(AuditLogResponse::id)
+            .reversed();
+
     @Inject
     AuditLogRepository auditLogRepository;
 
-    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    @Inject
+    AuditLogWriter auditLogWriter;
+
+    @Inject
+    AuditSegmentStore segmentStore;
+
+    @Inject
+    ObjectMapper objectMapper;
+
     public void onAuditEvent(@Observes(during = TransactionPhase.AFTER_SUCCESS) AuditEvent event) {
-        var log = new AuditLog();
-        log.username = event.username();
-        log.action = event.action();
-        log.entityName = event.entityName();
-        log.entityId = event.entityId();
-        log.operationId = event.operationId();
-        log.previousData = event.previousData();
-        log.newData = event.newData();
-        log.details = event.details();
-        auditLogRepository.persist(log);
+        auditLogWriter.enqueue(event);
     }
 
     @Transactional
@@ -57,24 +80,151 @@ public class AuditService {
         return auditLogRepository.findByUsername(username);
     }
 
-    public List<AuditLog> findByOperationId(Long operationId) {
-        return auditLogRepository.findByOperationId(operationId);
+    public List<AuditLogResponse> findByOperationId(Long operationId) {
+        return findAll(new AuditLogFilter(null, null, null, operationId, null, null));
     }
 
-    public List<AuditLog> findFiltered(String username, LocalDateTime from, LocalDateTime to) {
+    public List<AuditLogResponse> findFiltered(String username, LocalDateTime from, LocalDateTime to) {
         boolean hasUsername = username != null && !username.isBlank();
         boolean hasDateRange = from != null && to != null;
+        return findAll(new AuditLogFilter(hasUsername ? username : null,
+                hasDateRange ? from : null, hasDateRange ? to : null, null, null, null));
+    }
+
+    /**
+     * Matching logs, newest first. Archived logs are merged in when the filter names an
+     * operation or a date range, which the segment indexes use to skip unrelated blocks;
+     * unscoped listings return table rows only, and {@link #listByCursor} and the exports
+     * page through the whole archive.
+     */
+    public List<AuditLogResponse> findAll(AuditLogFilter filter) {
+        var rows = auditLogRepository.findAll(filter);
+        if (filter.operationId() == null && (filter.from() == null || filter.to() == null)) {
+            return rows;
+        }
+        var merged = new ArrayList<>(rows);
+        segmentStore.scan(filter, null, null, merged::add);
+        return mergeNewestFirst(merged, merged.size());
+    }
+
+    /**
+     * Pages through the table and then the archive. Archived rows are always older than
+     * the rows left in the table, so the archive is only read once the table runs short.
+     */
+    public CursorPageResponse<AuditLogResponse> listByCursor(AuditLogFilter filter, String cursor, int size) {
+        size = Math.clamp(size, 1, CursorPageResponse.MAX_SIZE);
+        var position = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+        var cursorCreatedAt = position != null ? position.createdAt() : null;
+        var cursorId = position != null ? position.id() : null;
+        var content = auditLogRepository.findAfterCursor(filter, cursorCreatedAt, cursorId, size + 1);
+        if (content.size() <= size) {
+            var rows = new ArrayList<>(content);
+            rows.addAll(segmentStore.find(filter, cursorCreatedAt, cursorId, size + 1));
+            content = mergeNewestFirst(rows, size + 1);
+        }
 
-        if (hasUsername && hasDateRange) {
-            return auditLogRepository.list(
-                    "username = ?1 AND createdAt >= ?2 AND createdAt <= ?3 ORDER BY createdAt DESC",
-                    username, from, to);
-        } else if (hasUsername) {
-            return auditLogRepository.findByUsername(username);
-        } else if (hasDateRange) {
-            return auditLogRepository.findByDateRange(from, to);
-        } else {
-            return auditLogRepository.list("ORDER BY createdAt DESC");
+        String nextCursor = null;
+        if (content.size() > size) {
+            content = content.subList(0, size);
+            var last = content.get(size - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
         }
+        return CursorPageResponse.of(content, size, nextCursor, null);
+    }
+
+    /**
+     * Writes every matching log, newest first, as one JSON object per line. Table rows are
+     * read in keyset chunks of {@value #EXPORT_CHUNK_SIZE}, each in its own short
+     * transaction, and then the archive is read outside any transaction, so neither
+     * memory use nor how long a connection is held grows with the size of the export or
+     * the speed of the client. Archived copies of rows still in the table are skipped.
+     */
+    public void exportNdjson(AuditLogFilter filter, OutputStream output) {
+        export(filter, output, null, row -> objectMapper.writeValueAsString(row));
+    }
+
+    public void exportCsv(AuditLogFilter filter, OutputStream output) {
+        export(filter, output,
+                "id,createdAt,username,ipAddress,action,entityName,entityId,operationId,details,previousData,newData",
+                row -> String.join(",",
+                        String.valueOf(row.id()),
+                        CsvUtil.escape(Objects.toString(row.createdAt(), null)),
+                        CsvUtil.escape(row.username()),
+                        CsvUtil.escape(row.ipAddress()),
+                        CsvUtil.escape(Objects.toString(row.action(), null)),
+                        CsvUtil.escape(row.entityName()),
+                        Objects.toString(row.entityId(), ""),
+                        Objects.toString(row.operationId(), ""),
+                        CsvUtil.escape(row.details()),
+                        CsvUtil.escape(row.previousData()),
+                        CsvUtil.escape(row.newData())));
+    }
+
+    private void export(AuditLogFilter filter, OutputStream output, String header, RowFormatter formatter) {
+        var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        try {
+            if (header != null) {
+                writer.write(header);
+                writer.write('\n');
+            }
+            // Only table rows no newer than the archive can also be archived, left behind by
+            // an interrupted archiving run
+            var newestArchived = segmentStore.newestCreatedAt();
+            var tableIdsInArchiveRange = new HashSet<Long>();
+            KeysetCursor position = null;
+            while (true) {
+                var after = position;
+                var chunk = QuarkusTransaction.requiringNew().call(() -> auditLogRepository.findAfterCursor(filter,
+                        after != null ? after.createdAt() : null, after != null ? after.id() : null,
+                        EXPORT_CHUNK_SIZE));
+                for (var row : chunk) {
+                    if (newestArchived != null && !row.createdAt().isAfter(newestArchived)) {
+                        tableIdsInArchiveRange.add(row.id());
+                    }
+                    writeRow(writer, formatter, row);
+                }
+                if (chunk.size() < EXPORT_CHUNK_SIZE) {
+                    break;
+                }
+                var last = chunk.get(chunk.size() - 1);
+                position = new KeysetCursor(last.createdAt(), last.id());
+            }
+            segmentStore.scan(filter, null, null, row -> {
+                if (!tableIdsInArchiveRange.contains(row.id())) {
+                    writeRow(writer, formatter, row);
+                }
+                return true;
+            });
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeRow(BufferedWriter writer, RowFormatter formatter, AuditLogResponse row) {
+        try {
+            writer.write(formatter.format(row));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sorts newest first and drops archived copies of rows still in the table, which exist
+     * only until an interrupted archiving run is completed.
+     */
+    private static List<AuditLogResponse> mergeNewestFirst(List<AuditLogResponse> rows, int limit) {
+        var seen = new HashSet<Long>();
+        return rows.stream()
+                .sorted(NEWEST_FIRST)
+                .filter(row -> seen.add(row.id()))
+                .limit(limit)
+                .toList();
+    }
+
+    @FunctionalInterface
+    private interface RowFormatter {
+        String format(AuditLogResponse row) throws IOException;
     }
 }
@@ -46,6 +46,9 @@ public class AuditLog extends PanacheEntity {
 
     @PrePersist
     public void prePersist() {
-        createdAt = LocalDateTime.now();
+        // Logs written in the background keep the time the event was raised
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 }
@@ -0,0 +1,15 @@
+package com.janus.audit.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional criteria for audit log queries; null fields are not filtered on.
+ */
+public record AuditLogFilter(
+        String username,
+        LocalDateTime from,
+        LocalDateTime to,
+        Long operationId,
+        String entityName,
+        Long entityId
+) {}
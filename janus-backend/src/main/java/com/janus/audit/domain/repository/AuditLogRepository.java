@@ -1,13 +1,31 @@
 package com.janus.audit.domain.repository;
 
+import com.janus.audit.api.dto.AuditLogResponse;
 import com.janus.audit.domain.model.AuditLog;
+import com.janus.audit.domain.model.AuditLogFilter;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @ApplicationScoped
 public class AuditLogRepository implements PanacheRepository<AuditLog> {
 
+    private static final String RESPONSE_SELECT = "SELECT new com.janus.audit.api.dto.AuditLogResponse("
+            + "l.id, l.username, l.ipAddress, l.action, l.entityName, l.entityId, l.operationId,"
+            + " l.previousData, l.newData, l.details, l.createdAt) FROM AuditLog l";
+    private static final String NEWEST_FIRST = " ORDER BY l.createdAt DESC, l.id DESC";
+    private static final String OLDEST_FIRST = " ORDER BY l.createdAt, l.id";
+
+    @Inject
+    EntityManager em;
+
     public List<AuditLog> findByEntityNameAndId(String entityName, Long entityId) {
         return list("entityName = ?1 AND entityId = ?2 ORDER BY createdAt DESC", entityName, entityId);
     }
@@ -23,4 +41,65 @@ public class AuditLogRepository implements PanacheRepository<AuditLog> {
     public List<AuditLog> findByDateRange(java.time.LocalDateTime from, java.time.LocalDateTime to) {
         return list("createdAt >= ?1 AND createdAt <= ?2 ORDER BY createdAt DESC", from, to);
     }
+
+    public List<AuditLogResponse> findAfterCursor(AuditLogFilter filter, LocalDateTime cursorCreatedAt,
+                                                  Long cursorId, int limit) {
+        var clauses = buildFilterClauses(filter);
+        var params = buildFilterParams(filter);
+        if (cursorCreatedAt != null && cursorId != null) {
+            clauses.add("(l.createdAt < :cursorCreatedAt OR (l.createdAt = :cursorCreatedAt AND l.id < :cursorId))");
+            params.put("cursorCreatedAt", cursorCreatedAt);
+            params.put("cursorId", cursorId);
+        }
+        return createResponseQuery(clauses, params)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<AuditLogResponse> findAll(AuditLogFilter filter) {
+        return createResponseQuery(buildFilterClauses(filter), buildFilterParams(filter)).getResultList();
+    }
+
+    /**
+     * The oldest rows created before {@code cutoff}, in the order they are archived.
+     */
+    public List<AuditLogResponse> findOldestBefore(LocalDateTime cutoff, int limit) {
+        return em.createQuery(RESPONSE_SELECT + " WHERE l.createdAt < :cutoff" + OLDEST_FIRST, AuditLogResponse.class)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public long deleteByIds(List<Long> ids) {
+        return delete("id IN ?1", ids);
+    }
+
+    private TypedQuery<AuditLogResponse> createResponseQuery(List<String> clauses, Map<String, Object> params) {
+        var where = clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses);
+        var query = em.createQuery(RESPONSE_SELECT + where + NEWEST_FIRST, AuditLogResponse.class);
+        params.forEach(query::setParameter);
+        return query;
+    }
+
+    private static List<String> buildFilterClauses(AuditLogFilter filter) {
+        var clauses = new ArrayList<String>();
+        if (filter.username() != null) clauses.add("l.username = :username");
+        if (filter.from() != null) clauses.add("l.createdAt >= :from");
+        if (filter.to() != null) clauses.add("l.createdAt <= :to");
+        if (filter.operationId() != null) clauses.add("l.operationId = :operationId");
+        if (filter.entityName() != null) clauses.add("l.entityName = :entityName");
+        if (filter.entityId() != null) clauses.add("l.entityId = :entityId");
+        return clauses;
+    }
+
+    private static Map<String, Object> buildFilterParams(AuditLogFilter filter) {
+        var params = new HashMap<String, Object>();
+        if (filter.username() != null) params.put("username", filter.username());
+        if (filter.from() != null) params.put("from", filter.from());
+        if (filter.to() != null) params.put("to", filter.to());
+        if (filter.operationId() != null) params.put("operationId", filter.operationId());
+        if (filter.entityName() != null) params.put("entityName", filter.entityName());
+        if (filter.entityId() != null) params.put("entityId", filter.entityId());
+        return params;
+    }
 }
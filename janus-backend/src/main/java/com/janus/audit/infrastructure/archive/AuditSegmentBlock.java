@@ -0,0 +1,43 @@
+package com.janus.audit.infrastructure.archive;
+
+import com.janus.audit.api.dto.AuditLogResponse;
+import com.janus.audit.domain.model.AuditLogFilter;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Sparse index entry for one gzip block of a segment file: where it lives, the time and
+ * id range it covers and the operations it mentions.
+ */
+public record AuditSegmentBlock(
+        long offset,
+        int length,
+        int rows,
+        LocalDateTime minCreatedAt,
+        LocalDateTime maxCreatedAt,
+        long minId,
+        long maxId,
+        List<Long> operationIds
+) {
+
+    static AuditSegmentBlock of(long offset, int length, List<AuditLogResponse> rows) {
+        return new AuditSegmentBlock(offset, length, rows.size(),
+                rows.stream().map(AuditLogResponse::createdAt).min(LocalDateTime::compareTo).orElseThrow(),
+                rows.stream().map(AuditLogResponse::createdAt).max(LocalDateTime::compareTo).orElseThrow(),
+                rows.stream().mapToLong(AuditLogResponse::id).min().orElseThrow(),
+                rows.stream().mapToLong(AuditLogResponse::id).max().orElseThrow(),
+                rows.stream().map(AuditLogResponse::operationId).filter(Objects::nonNull).distinct().sorted().toList());
+    }
+
+    /**
+     * Whether the block can hold rows matching the filter that sort after
+     * {@code beforeCreatedAt} in newest-first order.
+     */
+    boolean mayContain(AuditLogFilter filter, LocalDateTime beforeCreatedAt) {
+        if (filter.from() != null && maxCreatedAt.isBefore(filter.from())) return false;
+        if (filter.to() != null && minCreatedAt.isAfter(filter.to())) return false;
+        if (beforeCreatedAt != null && minCreatedAt.isAfter(beforeCreatedAt)) return false;
+        return filter.operationId() == null || operationIds.contains(filter.operationId());
+    }
+}
@@ -0,0 +1,14 @@
+package com.janus.audit.infrastructure.archive;
+
+import java.util.List;
+
+/**
+ * Index of a segment file. Blocks are stored oldest first and rows within a block in
+ * ascending (createdAt, id) order.
+ */
+public record AuditSegmentIndex(String name, List<AuditSegmentBlock> blocks) {
+
+    public int rowCount() {
+        return blocks.stream().mapToInt(AuditSegmentBlock::rows).sum();
+    }
+}
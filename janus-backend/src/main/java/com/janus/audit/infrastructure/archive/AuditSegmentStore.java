@@ -0,0 +1,292 @@
+package com.janus.audit.infrastructure.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.janus.audit.api.dto.AuditLogResponse;
+import com.janus.audit.domain.model.AuditLogFilter;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Append-only archive of audit logs on the storage volume. Each archival run writes one
+ * immutable segment: a file of independently gzip-compressed NDJSON blocks plus a JSON
+ * index recording, per block, its offset and its time, id and operation range. Queries
+ * read the small indexes, skip blocks that cannot match and decompress the rest. A
+ * segment counts as written once its index exists; both files are fsynced and moved into
+ * place atomically.
+ */
+@ApplicationScoped
+public class AuditSegmentStore {
+
+    private static final Logger LOG = Logger.getLogger(AuditSegmentStore.class);
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final Comparator<AuditLogResponse> NEWEST_FIRST = Comparator
+            .comparing(AuditLogResponse::createdAt)
+            .thenComparing(AuditLogResponse::id)
+            .reversed();
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "janus.audit.archive.path", defaultValue = "./storage/audit-archive")
+    String archivePath;
+
+    @ConfigProperty(name = "janus.audit.archive.block-rows", defaultValue = "1000")
+    int blockRows;
+
+    private final Map<String, AuditSegmentIndex> indexCache = new ConcurrentHashMap<>();
+
+    /**
+     * Writes {@code rows}, sorted by ascending (createdAt, id), as a new segment.
+     */
+    public synchronized AuditSegmentIndex append(List<AuditLogResponse> rows) {
+        var dir = Path.of(archivePath);
+        try {
+            Files.createDirectories(dir);
+            var name = String.format("segment-%06d", nextSequence());
+            var blocks = new ArrayList<AuditSegmentBlock>();
+            var segmentTemp = dir.resolve(name + SEGMENT_SUFFIX + TEMP_SUFFIX);
+            try (var channel = FileChannel.open(segmentTemp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                long offset = 0;
+                for (int from = 0; from < rows.size(); from += blockRows) {
+                    var blockRowsList = rows.subList(from, Math.min(from + blockRows, rows.size()));
+                    var bytes = compress(blockRowsList);
+                    writeFully(channel, bytes);
+                    blocks.add(AuditSegmentBlock.of(offset, bytes.length, blockRowsList));
+                    offset += bytes.length;
+                }
+                channel.force(true);
+            }
+            Files.move(segmentTemp, dir.resolve(name + SEGMENT_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+
+            var index = new AuditSegmentIndex(name, blocks);
+            var indexTemp = dir.resolve(name + INDEX_SUFFIX + TEMP_SUFFIX);
+            try (var channel = FileChannel.open(indexTemp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                writeFully(channel, objectMapper.writeValueAsBytes(index));
+                channel.force(true);
+            }
+            Files.move(indexTemp, dir.resolve(name + INDEX_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            indexCache.put(name, index);
+            return index;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write audit archive segment", e);
+        }
+    }
+
+    /**
+     * Removes leftovers of a write that did not complete: temp files and segments
+     * without an index.
+     */
+    public synchronized void deleteIncomplete() {
+        var dir = Path.of(archivePath);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (var files = Files.list(dir)) {
+            for (var file : files.toList()) {
+                var fileName = file.getFileName().toString();
+                var orphanSegment = fileName.endsWith(SEGMENT_SUFFIX)
+                        && !Files.exists(dir.resolve(baseName(fileName) + INDEX_SUFFIX));
+                if (fileName.endsWith(TEMP_SUFFIX) || orphanSegment) {
+                    LOG.warnf("Deleting incomplete audit archive file %s", file);
+                    Files.delete(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to clean up audit archive", e);
+        }
+    }
+
+    /**
+     * Names of complete segments, oldest first.
+     */
+    public List<String> segmentNames() {
+        var dir = Path.of(archivePath);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (var files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(fileName -> fileName.endsWith(INDEX_SUFFIX))
+                    .map(AuditSegmentStore::baseName)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list audit archive", e);
+        }
+    }
+
+    public AuditSegmentIndex index(String name) {
+        return indexCache.computeIfAbsent(name, key -> {
+            try {
+                return objectMapper.readValue(Path.of(archivePath, key + INDEX_SUFFIX).toFile(), AuditSegmentIndex.class);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read audit archive index " + key, e);
+            }
+        });
+    }
+
+    /**
+     * Creation time of the newest archived row, or null when nothing is archived.
+     */
+    public LocalDateTime newestCreatedAt() {
+        var names = segmentNames();
+        return names.isEmpty() ? null : index(names.getLast()).blocks().stream()
+                .map(AuditSegmentBlock::maxCreatedAt)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+
+    public List<AuditLogResponse> readSegment(String name) {
+        var rows = new ArrayList<AuditLogResponse>();
+        for (var block : index(name).blocks()) {
+            rows.addAll(readBlock(name, block));
+        }
+        return rows;
+    }
+
+    /**
+     * Archived rows matching the filter, newest first, that sort after the keyset position
+     * ({@code beforeCreatedAt}, {@code beforeId}) when one is given.
+     */
+    public List<AuditLogResponse> find(AuditLogFilter filter, LocalDateTime beforeCreatedAt, Long beforeId,
+                                       int limit) {
+        var rows = new ArrayList<AuditLogResponse>();
+        scan(filter, beforeCreatedAt, beforeId, row -> {
+            rows.add(row);
+            return rows.size() < limit;
+        });
+        return rows;
+    }
+
+    /**
+     * Feeds matching rows to {@code sink} newest first until it returns false.
+     */
+    public void scan(AuditLogFilter filter, LocalDateTime beforeCreatedAt, Long beforeId,
+                     Predicate<AuditLogResponse> sink) {
+        var names = segmentNames();
+        for (int s = names.size() - 1; s >= 0; s--) {
+            var name = names.get(s);
+            var blocks = index(name).blocks();
+            for (int b = blocks.size() - 1; b >= 0; b--) {
+                var block = blocks.get(b);
+                if (!block.mayContain(filter, beforeCreatedAt)) {
+                    continue;
+                }
+                var matching = readBlock(name, block).stream()
+                        .filter(row -> matches(row, filter) && isBefore(row, beforeCreatedAt, beforeId))
+                        .sorted(NEWEST_FIRST)
+                        .toList();
+                for (var row : matching) {
+                    if (!sink.test(row)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private List<AuditLogResponse> readBlock(String name, AuditSegmentBlock block) {
+        var buffer = ByteBuffer.allocate(block.length());
+        try (var channel = FileChannel.open(Path.of(archivePath, name + SEGMENT_SUFFIX), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, block.offset() + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of segment " + name);
+                }
+            }
+            var rows = new ArrayList<AuditLogResponse>(block.rows());
+            try (var reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new ByteArrayInputStream(buffer.array())), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    rows.add(objectMapper.readValue(line, AuditLogResponse.class));
+                }
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read audit archive segment " + name, e);
+        }
+    }
+
+    private byte[] compress(List<AuditLogResponse> rows) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(bytes)) {
+            for (var row : rows) {
+                gzip.write(objectMapper.writeValueAsBytes(row));
+                gzip.write('\n');
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private int nextSequence() {
+        try (var files = Files.list(Path.of(archivePath))) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(fileName -> fileName.startsWith("segment-"))
+                    .flatMap(fileName -> {
+                        try {
+                            return Stream.of(Integer.parseInt(fileName.substring(8, 14)));
+                        } catch (RuntimeException e) {
+                            return Stream.empty();
+                        }
+                    })
+                    .max(Integer::compare)
+                    .orElse(0) + 1;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list audit archive", e);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes) throws IOException {
+        var buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static String baseName(String fileName) {
+        return fileName.substring(0, fileName.indexOf('.'));
+    }
+
+    private static boolean matches(AuditLogResponse row, AuditLogFilter filter) {
+        return (filter.username() == null || filter.username().equals(row.username()))
+                && (filter.from() == null || !row.createdAt().isBefore(filter.from()))
+                && (filter.to() == null || !row.createdAt().isAfter(filter.to()))
+                && (filter.operationId() == null || filter.operationId().equals(row.operationId()))
+                && (filter.entityName() == null || filter.entityName().equals(row.entityName()))
+                && (filter.entityId() == null || filter.entityId().equals(row.entityId()));
+    }
+
+    private static boolean isBefore(AuditLogResponse row, LocalDateTime beforeCreatedAt, Long beforeId) {
+        if (beforeCreatedAt == null || beforeId == null) {
+            return true;
+        }
+        int cmp = row.createdAt().compareTo(beforeCreatedAt);
+        return cmp < 0 || cmp == 0 && row.id() < beforeId;
+    }
+}
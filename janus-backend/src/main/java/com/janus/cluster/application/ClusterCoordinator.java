@@ -0,0 +1,193 @@
+package com.janus.cluster.application;
+
+import com.janus.cluster.domain.model.ClusterNode;
+import com.janus.cluster.domain.model.SchedulerLease;
+import com.janus.cluster.domain.model.ShardAssignment;
+import com.janus.cluster.domain.repository.ClusterNodeRepository;
+import com.janus.cluster.domain.repository.SchedulerLeaseRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Coordinates scheduled jobs across backend replicas through the database. Each node
+ * heartbeats a row in cluster_nodes and renews the leases it holds in scheduler_leases;
+ * a lease not renewed within the TTL may be taken over by another node, which bumps its
+ * fencing token. When sharding is enabled, live nodes ordered by id split operation ids
+ * by {@code id mod nodeCount}; assignments converge within one heartbeat of a node
+ * joining or leaving.
+ */
+@ApplicationScoped
+public class ClusterCoordinator {
+
+    private static final Logger LOG = Logger.getLogger(ClusterCoordinator.class);
+
+    @Inject
+    SchedulerLeaseRepository leaseRepository;
+
+    @Inject
+    ClusterNodeRepository nodeRepository;
+
+    @ConfigProperty(name = "janus.cluster.node-id")
+    Optional<String> configuredNodeId;
+
+    @ConfigProperty(name = "janus.cluster.lease-ttl", defaultValue = "90s")
+    Duration leaseTtl;
+
+    @ConfigProperty(name = "janus.cluster.sharding.enabled", defaultValue = "false")
+    boolean shardingEnabled;
+
+    private String nodeId;
+    private volatile ShardAssignment liveShard = ShardAssignment.ALL;
+
+    @PostConstruct
+    void init() {
+        nodeId = configuredNodeId.orElseGet(() -> UUID.randomUUID().toString());
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        heartbeat();
+        LOG.infof("Cluster node %s registered (%d live nodes)", nodeId, liveShard.count());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                leaseRepository.releaseOwnedBy(nodeId, LocalDateTime.now());
+                nodeRepository.deleteById(nodeId);
+            });
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Failed to release leases of cluster node %s", nodeId);
+        }
+    }
+
+    @Scheduled(every = "${janus.cluster.heartbeat-every:15s}", identity = "cluster-heartbeat")
+    void heartbeat() {
+        try {
+            liveShard = QuarkusTransaction.requiringNew().call(() -> {
+                var now = LocalDateTime.now();
+                var node = nodeRepository.findById(nodeId);
+                if (node == null) {
+                    node = new ClusterNode();
+                    node.nodeId = nodeId;
+                    node.startedAt = now;
+                    node.heartbeatAt = now;
+                    nodeRepository.persist(node);
+                } else {
+                    node.heartbeatAt = now;
+                }
+                nodeRepository.flush();
+
+                leaseRepository.renewOwnedBy(nodeId, now, now.plus(leaseTtl));
+                var since = now.minus(leaseTtl);
+                nodeRepository.deleteStale(since);
+                var live = nodeRepository.findLiveNodeIds(since);
+                int index = live.indexOf(nodeId);
+                return index < 0 ? ShardAssignment.ALL : new ShardAssignment(index, live.size());
+            });
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Heartbeat of cluster node %s failed", nodeId);
+        }
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public boolean shardingEnabled() {
+        return shardingEnabled;
+    }
+
+    public int liveNodeCount() {
+        return liveShard.count();
+    }
+
+    /**
+     * This node's share of operation ids, or all of them when sharding is disabled.
+     */
+    public ShardAssignment shard() {
+        return shardingEnabled ? liveShard : ShardAssignment.ALL;
+    }
+
+    /**
+     * Acquires or renews the lease and returns its fencing token, or empty when another
+     * node holds it and it has not expired.
+     */
+    public OptionalLong acquire(String leaseName) {
+        try {
+            return QuarkusTransaction.requiringNew().call(() -> {
+                var now = LocalDateTime.now();
+                var lease = leaseRepository.findForUpdate(leaseName).orElse(null);
+                if (lease == null) {
+                    lease = new SchedulerLease();
+                    lease.leaseName = leaseName;
+                    lease.ownerId = nodeId;
+                    lease.fencingToken = 1;
+                    lease.expiresAt = now.plus(leaseTtl);
+                    lease.heartbeatAt = now;
+                    leaseRepository.persist(lease);
+                    leaseRepository.flush();
+                    return OptionalLong.of(lease.fencingToken);
+                }
+                if (!nodeId.equals(lease.ownerId)) {
+                    if (lease.expiresAt.isAfter(now)) {
+                        return OptionalLong.empty();
+                    }
+                    LOG.infof("Node %s took over lease %s from %s", nodeId, leaseName, lease.ownerId);
+                    lease.ownerId = nodeId;
+                    lease.fencingToken++;
+                }
+                lease.expiresAt = now.plus(leaseTtl);
+                lease.heartbeatAt = now;
+                return OptionalLong.of(lease.fencingToken);
+            });
+        } catch (PersistenceException e) {
+            // Another node created the lease concurrently and holds it
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Verifies inside the caller's transaction that the lease is still held with
+     * {@code fencingToken}. The row stays share-locked until that transaction ends, so the
+     * lease cannot change hands while the guarded writes commit.
+     */
+    public void checkFencing(String leaseName, long fencingToken) {
+        var lease = leaseRepository.findForShare(leaseName).orElse(null);
+        if (lease == null || lease.fencingToken != fencingToken || !nodeId.equals(lease.ownerId)) {
+            throw new LeaseLostException(leaseName, fencingToken);
+        }
+    }
+
+    /**
+     * Whether the lease's last recorded run has the given key, e.g. a date for daily jobs.
+     */
+    public boolean hasRun(String leaseName, String runKey) {
+        return QuarkusTransaction.requiringNew().call(() -> leaseRepository.findByIdOptional(leaseName)
+                .map(lease -> runKey.equals(lease.lastRunKey))
+                .orElse(false));
+    }
+
+    public void recordRun(String leaseName, long fencingToken, String runKey) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            var lease = leaseRepository.findForUpdate(leaseName).orElse(null);
+            if (lease == null || lease.fencingToken != fencingToken || !nodeId.equals(lease.ownerId)) {
+                throw new LeaseLostException(leaseName, fencingToken);
+            }
+            lease.lastRunKey = runKey;
+        });
+    }
+}
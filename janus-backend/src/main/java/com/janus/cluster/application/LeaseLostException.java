@@ -0,0 +1,11 @@
+package com.janus.cluster.application;
+
+/**
+ * Thrown when work guarded by a lease finds that the lease has since passed to another node.
+ */
+public class LeaseLostException extends IllegalStateException {
+
+    public LeaseLostException(String leaseName, long fencingToken) {
+        super("Lease " + leaseName + " is no longer held with fencing token " + fencingToken);
+    }
+}
@@ -0,0 +1,22 @@
+package com.janus.cluster.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cluster_nodes")
+public class ClusterNode {
+
+    @Id
+    @Column(name = "node_id", length = 64)
+    public String nodeId;
+
+    @Column(name = "started_at", nullable = false)
+    public LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    public LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,35 @@
+package com.janus.cluster.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Named lease held by at most one node at a time. The fencing token grows every time
+ * the lease changes hands, so work started under an older token can be rejected.
+ */
+@Entity
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+
+    @Id
+    @Column(name = "lease_name", length = 64)
+    public String leaseName;
+
+    @Column(name = "owner_id", nullable = false, length = 64)
+    public String ownerId;
+
+    @Column(name = "fencing_token", nullable = false)
+    public long fencingToken;
+
+    @Column(name = "expires_at", nullable = false)
+    public LocalDateTime expiresAt;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    public LocalDateTime heartbeatAt;
+
+    @Column(name = "last_run_key", length = 64)
+    public String lastRunKey;
+}
@@ -0,0 +1,17 @@
+package com.janus.cluster.domain.model;
+
+/**
+ * This node's share of operation ids: those with {@code id mod count == index}.
+ */
+public record ShardAssignment(int index, int count) {
+
+    public static final ShardAssignment ALL = new ShardAssignment(0, 1);
+
+    public boolean owns(long operationId) {
+        return Math.floorMod(operationId, count) == index;
+    }
+
+    public boolean isPartial() {
+        return count > 1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.janus.cluster.domain.repository;
+
+import com.janus.cluster.domain.model.ClusterNode;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ApplicationScoped
+public class ClusterNodeRepository implements PanacheRepositoryBase<ClusterNode, String> {
+
+    @Inject
+    EntityManager em;
+
+    public List<String> findLiveNodeIds(LocalDateTime since) {
+        return em.createQuery("SELECT n.nodeId FROM ClusterNode n WHERE n.heartbeatAt > :since ORDER BY n.nodeId",
+                        String.class)
+                .setParameter("since", since)
+                .getResultList();
+    }
+
+    public long deleteStale(LocalDateTime before) {
+        return delete("heartbeatAt < ?1", before);
+    }
+}
@@ -0,0 +1,28 @@
+package com.janus.cluster.domain.repository;
+
+import com.janus.cluster.domain.model.SchedulerLease;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@ApplicationScoped
+public class SchedulerLeaseRepository implements PanacheRepositoryBase<SchedulerLease, String> {
+
+    public Optional<SchedulerLease> findForUpdate(String leaseName) {
+        return findByIdOptional(leaseName, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    public Optional<SchedulerLease> findForShare(String leaseName) {
+        return findByIdOptional(leaseName, LockModeType.PESSIMISTIC_READ);
+    }
+
+    public int renewOwnedBy(String ownerId, LocalDateTime now, LocalDateTime expiresAt) {
+        return update("expiresAt = ?1, heartbeatAt = ?2 WHERE ownerId = ?3", expiresAt, now, ownerId);
+    }
+
+    public int releaseOwnedBy(String ownerId, LocalDateTime now) {
+        return update("expiresAt = ?1 WHERE ownerId = ?2", now, ownerId);
+    }
+}
@@ -2,7 +2,9 @@ package com.janus.compliance.application;
 
 import com.janus.audit.domain.model.AuditAction;
 import com.janus.audit.domain.model.AuditEvent;
+import com.janus.compliance.domain.model.ComplianceConfigChanged;
 import com.janus.compliance.domain.model.ComplianceRuleConfig;
+import com.janus.compliance.domain.repository.ComplianceConfigVersionRepository;
 import com.janus.compliance.domain.repository.ComplianceRuleConfigRepository;
 import com.janus.shared.infrastructure.exception.NotFoundException;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -17,9 +19,15 @@ public class ComplianceRuleConfigService {
     @Inject
     ComplianceRuleConfigRepository repository;
 
+    @Inject
+    ComplianceConfigVersionRepository versionRepository;
+
     @Inject
     Event<AuditEvent> auditEvent;
 
+    @Inject
+    Event<ComplianceConfigChanged> configChangedEvent;
+
     public List<ComplianceRuleConfig> listAll() {
         return repository.listAll();
     }
@@ -31,7 +39,9 @@ public class ComplianceRuleConfigService {
     @Transactional
     public ComplianceRuleConfig create(ComplianceRuleConfig entity, String username) {
         repository.persist(entity);
+        versionRepository.increment();
         auditEvent.fire(new AuditEvent(username, AuditAction.CREATE, "ComplianceRuleConfig", entity.id, null, null, null, null));
+        configChangedEvent.fire(new ComplianceConfigChanged(entity.ruleCode));
         return entity;
     }
 
@@ -44,7 +54,9 @@ public class ComplianceRuleConfigService {
         if (update.description != null) {
             config.description = update.description;
         }
+        versionRepository.increment();
         auditEvent.fire(new AuditEvent(username, AuditAction.UPDATE, "ComplianceRuleConfig", config.id, null, null, null, null));
+        configChangedEvent.fire(new ComplianceConfigChanged(config.ruleCode));
         return config;
     }
 
@@ -54,5 +66,7 @@ public class ComplianceRuleConfigService {
                 .orElseThrow(() -> new NotFoundException("ComplianceRuleConfig", id));
         auditEvent.fire(new AuditEvent(username, AuditAction.DELETE, "ComplianceRuleConfig", config.id, null, null, null, null));
         repository.delete(config);
+        versionRepository.increment();
+        configChangedEvent.fire(new ComplianceConfigChanged(config.ruleCode));
     }
 }
@@ -0,0 +1,7 @@
+package com.janus.compliance.domain.model;
+
+/**
+ * Fired when a compliance rule configuration is created, updated or deleted, so this
+ * node's configuration snapshot is reloaded after the transaction commits.
+ */
+public record ComplianceConfigChanged(String ruleCode) {}
@@ -0,0 +1,42 @@
+package com.janus.compliance.domain.model;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable copy of every {@link ComplianceRuleConfig} row as of a
+ * {@link ComplianceConfigVersion}. Lookups follow the repository's rules: a rule without
+ * an {@code enabled} row is enabled, and parameter values are returned whether or not
+ * their row is enabled.
+ */
+public record ComplianceConfigSnapshot(
+        long version,
+        Map<String, Map<String, String>> paramValues,
+        Set<String> disabledRuleCodes
+) {
+    public static ComplianceConfigSnapshot of(long version, List<ComplianceRuleConfig> configs) {
+        var paramValues = new HashMap<String, Map<String, String>>();
+        var disabled = new HashSet<String>();
+        for (var config : configs) {
+            paramValues.computeIfAbsent(config.ruleCode, k -> new HashMap<>()).put(config.paramKey, config.paramValue);
+            if ("enabled".equals(config.paramKey) && !config.enabled) {
+                disabled.add(config.ruleCode);
+            }
+        }
+        var frozen = new HashMap<String, Map<String, String>>();
+        paramValues.forEach((ruleCode, values) -> frozen.put(ruleCode, Map.copyOf(values)));
+        return new ComplianceConfigSnapshot(version, Map.copyOf(frozen), Set.copyOf(disabled));
+    }
+
+    public boolean isRuleEnabled(String ruleCode) {
+        return !disabledRuleCodes.contains(ruleCode);
+    }
+
+    public Optional<String> getParamValue(String ruleCode, String paramKey) {
+        return Optional.ofNullable(paramValues.getOrDefault(ruleCode, Map.of()).get(paramKey));
+    }
+}
@@ -0,0 +1,23 @@
+package com.janus.compliance.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * The single row counting changes to {@link ComplianceRuleConfig}; every create, update
+ * or delete increments it in the same transaction.
+ */
+@Entity
+@Table(name = "compliance_config_version")
+public class ComplianceConfigVersion {
+
+    public static final int ID = 1;
+
+    @Id
+    public Integer id;
+
+    @Column(nullable = false)
+    public long version;
+}
@@ -0,0 +1,23 @@
+package com.janus.compliance.domain.repository;
+
+import com.janus.compliance.domain.model.ComplianceConfigVersion;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class ComplianceConfigVersionRepository implements PanacheRepositoryBase<ComplianceConfigVersion, Integer> {
+
+    public long currentVersion() {
+        return findByIdOptional(ComplianceConfigVersion.ID).map(v -> v.version).orElse(0L);
+    }
+
+    /**
+     * Increments the version; the row lock this takes also orders concurrent config changes.
+     * The row is created by the migration, or by the load script where Hibernate builds the schema.
+     */
+    public void increment() {
+        if (update("version = version + 1 WHERE id = ?1", ComplianceConfigVersion.ID) == 0) {
+            throw new IllegalStateException("compliance_config_version row is missing");
+        }
+    }
+}
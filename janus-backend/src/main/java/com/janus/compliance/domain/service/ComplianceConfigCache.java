@@ -0,0 +1,63 @@
+package com.janus.compliance.domain.service;
+
+import com.janus.compliance.domain.model.ComplianceConfigChanged;
+import com.janus.compliance.domain.model.ComplianceConfigSnapshot;
+import com.janus.compliance.domain.repository.ComplianceConfigVersionRepository;
+import com.janus.compliance.domain.repository.ComplianceRuleConfigRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link ComplianceConfigSnapshot}, so rule settings are read from memory.
+ * Edits made through the compliance API replace it on this node once they commit; other
+ * nodes notice the bumped version on their next periodic check and reload. Caches derived
+ * from the configuration compare the snapshot they were built from with {@link #current()}.
+ */
+@ApplicationScoped
+public class ComplianceConfigCache {
+
+    @Inject
+    ComplianceRuleConfigRepository configRepository;
+
+    @Inject
+    ComplianceConfigVersionRepository versionRepository;
+
+    private final AtomicReference<ComplianceConfigSnapshot> snapshot = new AtomicReference<>();
+
+    public ComplianceConfigSnapshot current() {
+        var current = snapshot.get();
+        return current != null ? current : QuarkusTransaction.requiringNew().call(this::load);
+    }
+
+    void onConfigChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) ComplianceConfigChanged event) {
+        QuarkusTransaction.requiringNew().call(this::load);
+    }
+
+    @Scheduled(every = "${janus.compliance.config-refresh-every:5s}", identity = "compliance-config-refresh")
+    void refresh() {
+        var current = snapshot.get();
+        if (current == null) {
+            // Loaded on first use
+            return;
+        }
+        var version = QuarkusTransaction.requiringNew().call(versionRepository::currentVersion);
+        if (version != current.version()) {
+            QuarkusTransaction.requiringNew().call(this::load);
+        }
+    }
+
+    private ComplianceConfigSnapshot load() {
+        // Version first: a change committing while the rows are read leaves the snapshot
+        // behind the stored version, so the next check loads it again
+        var version = versionRepository.currentVersion();
+        var loaded = ComplianceConfigSnapshot.of(version, configRepository.listAll());
+        // A slower load that read an older version must not replace a newer snapshot
+        return snapshot.accumulateAndGet(loaded,
+                (current, next) -> current == null || next.version() >= current.version() ? next : current);
+    }
+}
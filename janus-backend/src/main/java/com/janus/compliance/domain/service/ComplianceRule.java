@@ -1,18 +1,19 @@
 package com.janus.compliance.domain.service;
 
 import com.janus.compliance.domain.model.ValidationResult;
-import com.janus.document.domain.model.Document;
 import com.janus.operation.domain.model.OperationCategory;
-import com.janus.operation.domain.model.Operation;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
-import java.util.List;
 
 public interface ComplianceRule {
 
     String ruleCode();
 
+    /**
+     * Must depend only on its arguments: the validation service precomputes, per
+     * transition, transport mode and category, which rules apply.
+     */
     boolean appliesTo(OperationStatus from, OperationStatus to, TransportMode transportMode, OperationCategory category);
 
-    ValidationResult validate(Operation operation, List<Document> documents);
+    ValidationResult validate(ValidationContext context);
 }
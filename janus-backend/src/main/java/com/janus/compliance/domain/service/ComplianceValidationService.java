@@ -1,17 +1,45 @@
 package com.janus.compliance.domain.service;
 
+import com.janus.compliance.domain.model.ComplianceConfigSnapshot;
 import com.janus.compliance.domain.model.ValidationResult;
-import com.janus.compliance.domain.repository.ComplianceRuleConfigRepository;
+import com.janus.declaration.domain.model.CrossingResult;
+import com.janus.declaration.domain.model.Declaration;
+import com.janus.declaration.domain.repository.CrossingResultRepository;
+import com.janus.declaration.domain.repository.DeclarationRepository;
 import com.janus.document.domain.model.Document;
 import com.janus.document.domain.repository.DocumentRepository;
+import com.janus.document.domain.service.DocumentCompletenessService;
+import com.janus.document.domain.service.DocumentCompletenessService.CompletenessResult;
 import com.janus.operation.domain.model.Operation;
+import com.janus.operation.domain.model.OperationCategory;
 import com.janus.operation.domain.model.OperationStatus;
+import com.janus.operation.domain.model.TransportMode;
+import com.janus.payment.domain.model.Liquidation;
+import com.janus.shared.infrastructure.exception.NotFoundException;
+import com.janus.valuation.domain.model.ExternalPermit;
+import com.janus.valuation.domain.repository.ExternalPermitRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+/**
+ * Runs the enabled compliance rules that apply to a status change. The rules to run are
+ * compiled once per (from, to, transport mode, category) into a plan; plans are rebuilt
+ * when {@link ComplianceConfigCache} holds a new configuration snapshot. Rules share a
+ * {@link ValidationContext}, so each piece of operation data is read at most once per
+ * validation.
+ */
 @ApplicationScoped
 public class ComplianceValidationService {
 
@@ -22,24 +50,173 @@ public class ComplianceValidationService {
     DocumentRepository documentRepository;
 
     @Inject
-    ComplianceRuleConfigRepository configRepository;
+    DeclarationRepository declarationRepository;
+
+    @Inject
+    CrossingResultRepository crossingResultRepository;
+
+    @Inject
+    ExternalPermitRepository permitRepository;
+
+    @Inject
+    DocumentCompletenessService completenessService;
+
+    @Inject
+    ComplianceConfigCache configCache;
+
+    private final AtomicReference<RulePlans> plans = new AtomicReference<>();
 
     public ValidationResult validate(Operation operation, OperationStatus targetStatus) {
-        var documents = documentRepository.findByOperationId(operation.id);
-        var errors = new ArrayList<ValidationResult.ValidationError>();
+        var context = contextFor(operation, () -> documentRepository.findByOperationId(operation.id));
+        return evaluate(context, planFor(operation, targetStatus, currentPlans()));
+    }
 
+    /**
+     * Validates several operations against the same target status, reading rule toggles
+     * once and each kind of rule data once for the whole set. Results are keyed by
+     * operation id.
+     */
+    public Map<Long, ValidationResult> validateAll(Collection<Operation> operations, OperationStatus targetStatus) {
+        if (operations.isEmpty()) {
+            return Map.of();
+        }
+        var current = currentPlans();
+        var contexts = contextsFor(operations);
+        var results = new HashMap<Long, ValidationResult>();
+        for (var operation : operations) {
+            results.put(operation.id, evaluate(contexts.get(operation.id), planFor(operation, targetStatus, current)));
+        }
+        return results;
+    }
+
+    /**
+     * Dry-runs the rules of each of {@code targetStatuses} against one operation, sharing
+     * the context between them. Results keep the order of {@code targetStatuses}.
+     */
+    public Map<OperationStatus, ValidationResult> validateTargets(ValidationContext context,
+                                                                  Collection<OperationStatus> targetStatuses) {
+        var current = currentPlans();
+        var results = new LinkedHashMap<OperationStatus, ValidationResult>();
+        for (var target : targetStatuses) {
+            results.put(target, evaluate(context, planFor(context.operation(), target, current)));
+        }
+        return results;
+    }
+
+    /**
+     * Contexts for several operations, keyed by operation id. The first context to need a
+     * kind of data reads it for every operation of the set in one query. Contexts of one
+     * set share that state and must be used from a single thread.
+     */
+    public Map<Long, ValidationContext> contextsFor(Collection<Operation> operations) {
+        var ids = operations.stream().map(op -> op.id).toList();
+        var documents = new BatchLoad<Document>(() -> documentRepository.findByOperationIds(ids), d -> d.operation.id);
+        var declarations = new BatchLoad<Declaration>(
+                () -> declarationRepository.findByOperationIds(ids), d -> d.operation.id);
+        var crossingResults = new BatchLoad<CrossingResult>(
+                () -> crossingResultRepository.listByOperationIds(ids), c -> c.operation.id);
+        var permits = new BatchLoad<ExternalPermit>(() -> permitRepository.findByOperationIds(ids), p -> p.operation.id);
+        var liquidations = new BatchLoad<Liquidation>(
+                () -> Liquidation.<Liquidation>list("operation.id IN ?1", ids), l -> l.operation.id);
+        var completeness = new BatchLoad<Map.Entry<Long, CompletenessResult>>(
+                () -> List.copyOf(completenessService.calculateAll(ids, null).entrySet()), Map.Entry::getKey);
+
+        var contexts = new HashMap<Long, ValidationContext>();
+        for (var operation : operations) {
+            var operationId = operation.id;
+            contexts.put(operationId, new ValidationContext(operation,
+                    () -> documents.forOperation(operationId),
+                    () -> declarations.forOperation(operationId),
+                    () -> crossingResults.forOperation(operationId),
+                    () -> permits.forOperation(operationId),
+                    () -> liquidations.forOperation(operationId).stream().findFirst(),
+                    () -> completeness.forOperation(operationId).stream().findFirst()
+                            .map(Map.Entry::getValue)
+                            .orElseThrow(() -> new NotFoundException("Operation", operationId))));
+        }
+        return contexts;
+    }
+
+    /**
+     * A context over {@code operation} whose documents are already known; the remaining
+     * data is read on first use.
+     */
+    public ValidationContext contextFor(Operation operation, List<Document> documents) {
+        return contextFor(operation, () -> documents);
+    }
+
+    private ValidationContext contextFor(Operation operation, Supplier<List<Document>> documents) {
+        var operationId = operation.id;
+        return new ValidationContext(operation,
+                documents,
+                () -> declarationRepository.findByOperationId(operationId),
+                () -> crossingResultRepository.listByOperationId(operationId),
+                () -> permitRepository.findByOperationId(operationId),
+                () -> Liquidation.<Liquidation>find("operation.id = ?1", operationId).firstResultOptional(),
+                () -> completenessService.calculate(operationId));
+    }
+
+    private RulePlans currentPlans() {
+        var config = configCache.current();
+        // A caller still holding an older snapshot must not replace plans built from a newer one
+        return plans.updateAndGet(current -> current != null
+                && (current.config() == config || current.config().version() > config.version())
+                ? current
+                : new RulePlans(config, new ConcurrentHashMap<>()));
+    }
+
+    private List<ComplianceRule> planFor(Operation operation, OperationStatus targetStatus, RulePlans current) {
+        var key = new PlanKey(operation.status, targetStatus, operation.transportMode, operation.operationCategory);
+        return current.byKey().computeIfAbsent(key, k -> compile(k, current.config()));
+    }
+
+    private List<ComplianceRule> compile(PlanKey key, ComplianceConfigSnapshot config) {
+        var plan = new ArrayList<ComplianceRule>();
         for (var rule : rules) {
-            if (!configRepository.isRuleEnabled(rule.ruleCode())) {
-                continue;
-            }
-            if (rule.appliesTo(operation.status, targetStatus, operation.transportMode, operation.operationCategory)) {
-                var result = rule.validate(operation, documents);
-                if (!result.passed()) {
-                    errors.addAll(result.errors());
-                }
+            if (config.isRuleEnabled(rule.ruleCode())
+                    && rule.appliesTo(key.from(), key.to(), key.transportMode(), key.category())) {
+                plan.add(rule);
             }
         }
+        return List.copyOf(plan);
+    }
 
+    private ValidationResult evaluate(ValidationContext context, List<ComplianceRule> plan) {
+        var errors = new ArrayList<ValidationResult.ValidationError>();
+        for (var rule : plan) {
+            var result = rule.validate(context);
+            if (!result.passed()) {
+                errors.addAll(result.errors());
+            }
+        }
         return errors.isEmpty() ? ValidationResult.success() : ValidationResult.failure(errors);
     }
+
+    /**
+     * Rows of one kind for a whole set of operations, read on first use and grouped by
+     * operation, keeping the query's order within each group.
+     */
+    private static final class BatchLoad<T> {
+
+        private final Supplier<List<T>> loader;
+        private final Function<T, Long> operationId;
+        private Map<Long, List<T>> byOperation;
+
+        BatchLoad(Supplier<List<T>> loader, Function<T, Long> operationId) {
+            this.loader = loader;
+            this.operationId = operationId;
+        }
+
+        List<T> forOperation(Long id) {
+            if (byOperation == null) {
+                byOperation = loader.get().stream().collect(Collectors.groupingBy(operationId));
+            }
+            return byOperation.getOrDefault(id, List.of());
+        }
+    }
+
+    private record PlanKey(OperationStatus from, OperationStatus to,
+                           TransportMode transportMode, OperationCategory category) {}
+
+    private record RulePlans(ComplianceConfigSnapshot config, Map<PlanKey, List<ComplianceRule>> byKey) {}
 }
@@ -0,0 +1,93 @@
+package com.janus.compliance.domain.service;
+
+import com.janus.declaration.domain.model.CrossingResult;
+import com.janus.declaration.domain.model.Declaration;
+import com.janus.document.domain.model.Document;
+import com.janus.document.domain.service.DocumentCompletenessService.CompletenessResult;
+import com.janus.operation.domain.model.Operation;
+import com.janus.payment.domain.model.Liquidation;
+import com.janus.valuation.domain.model.ExternalPermit;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Operation data shared by the rules of one validation. Each piece is read on first use
+ * and kept for the remaining rules, so no rule repeats a lookup another one already made.
+ * A context belongs to a single validation and is not thread-safe.
+ */
+public final class ValidationContext {
+
+    private final Operation operation;
+    private final Lazy<List<Document>> documents;
+    private final Lazy<List<Declaration>> declarations;
+    private final Lazy<List<CrossingResult>> crossingResults;
+    private final Lazy<List<ExternalPermit>> permits;
+    private final Lazy<Optional<Liquidation>> liquidation;
+    private final Lazy<CompletenessResult> completeness;
+
+    ValidationContext(Operation operation,
+                      Supplier<List<Document>> documents,
+                      Supplier<List<Declaration>> declarations,
+                      Supplier<List<CrossingResult>> crossingResults,
+                      Supplier<List<ExternalPermit>> permits,
+                      Supplier<Optional<Liquidation>> liquidation,
+                      Supplier<CompletenessResult> completeness) {
+        this.operation = operation;
+        this.documents = new Lazy<>(documents);
+        this.declarations = new Lazy<>(declarations);
+        this.crossingResults = new Lazy<>(crossingResults);
+        this.permits = new Lazy<>(permits);
+        this.liquidation = new Lazy<>(liquidation);
+        this.completeness = new Lazy<>(completeness);
+    }
+
+    public Operation operation() {
+        return operation;
+    }
+
+    public List<Document> documents() {
+        return documents.get();
+    }
+
+    /** Declarations of the operation, newest first. */
+    public List<Declaration> declarations() {
+        return declarations.get();
+    }
+
+    /** Crossing results of the operation, newest first. */
+    public List<CrossingResult> crossingResults() {
+        return crossingResults.get();
+    }
+
+    public List<ExternalPermit> permits() {
+        return permits.get();
+    }
+
+    public Optional<Liquidation> liquidation() {
+        return liquidation.get();
+    }
+
+    /** Document completeness of the operation, which must be persisted. */
+    public CompletenessResult completeness() {
+        return completeness.get();
+    }
+
+    private static final class Lazy<T> {
+
+        private Supplier<T> loader;
+        private T value;
+
+        Lazy(Supplier<T> loader) {
+            this.loader = loader;
+        }
+
+        T get() {
+            if (loader != null) {
+                value = loader.get();
+                loader = null;
+            }
+            return value;
+        }
+    }
+}
@@ -2,11 +2,10 @@ package com.janus.compliance.domain.service.rules;
 
 import com.janus.compliance.domain.model.ValidationResult;
 import com.janus.compliance.domain.service.ComplianceRule;
-import com.janus.document.domain.model.Document;
+import com.janus.compliance.domain.service.ValidationContext;
 import com.janus.document.domain.model.DocumentStatus;
 import com.janus.document.domain.model.DocumentType;
 import com.janus.operation.domain.model.OperationCategory;
-import com.janus.operation.domain.model.Operation;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -24,8 +23,8 @@ public class BLVerifiedForValuationRule implements ComplianceRule {
     }
 
     @Override
-    public ValidationResult validate(Operation operation, List<Document> documents) {
-        boolean blValidated = documents.stream()
+    public ValidationResult validate(ValidationContext context) {
+        boolean blValidated = context.documents().stream()
                 .filter(d -> d.active)
                 .filter(d -> d.documentType == DocumentType.BL)
                 .anyMatch(d -> d.status == DocumentStatus.VALIDATED);
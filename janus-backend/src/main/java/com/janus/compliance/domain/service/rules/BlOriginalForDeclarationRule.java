@@ -2,9 +2,8 @@ package com.janus.compliance.domain.service.rules;
 
 import com.janus.compliance.domain.model.ValidationResult;
 import com.janus.compliance.domain.service.ComplianceRule;
-import com.janus.document.domain.model.Document;
+import com.janus.compliance.domain.service.ValidationContext;
 import com.janus.operation.domain.model.BlAvailability;
-import com.janus.operation.domain.model.Operation;
 import com.janus.operation.domain.model.OperationCategory;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
@@ -25,7 +24,8 @@ public class BlOriginalForDeclarationRule implements ComplianceRule {
     }
 
     @Override
-    public ValidationResult validate(Operation operation, List<Document> documents) {
+    public ValidationResult validate(ValidationContext context) {
+        var operation = context.operation();
         if (operation.blAvailability == null || operation.blAvailability == BlAvailability.NOT_AVAILABLE) {
             return ValidationResult.failure(
                 List.of(
@@ -2,8 +2,7 @@ package com.janus.compliance.domain.service.rules;
 
 import com.janus.compliance.domain.model.ValidationResult;
 import com.janus.compliance.domain.service.ComplianceRule;
-import com.janus.document.domain.model.Document;
-import com.janus.operation.domain.model.Operation;
+import com.janus.compliance.domain.service.ValidationContext;
 import com.janus.operation.domain.model.OperationCategory;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
@@ -12,7 +11,6 @@ import com.janus.valuation.application.ValuationService;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.ArrayList;
-import java.util.List;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
@@ -32,11 +30,13 @@ public class CompletenessForPaymentRule implements ComplianceRule {
     }
 
     @Override
-    public ValidationResult validate(Operation operation, List<Document> documents) {
+    public ValidationResult validate(ValidationContext context) {
+        var operation = context.operation();
         var errors = new ArrayList<ValidationResult.ValidationError>();
 
         if (operation.id != null) {
-            var checklist = valuationService.getChecklist(operation.id);
+            var checklist = valuationService.buildChecklist(operation, context.documents(),
+                    context.declarations(), context.permits());
             if (!checklist.allPassed()) {
                 var failedItems = checklist.items().stream()
                         .filter(item -> !item.passed())
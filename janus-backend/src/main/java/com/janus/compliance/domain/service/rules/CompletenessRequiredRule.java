@@ -1,19 +1,17 @@
 package com.janus.compliance.domain.service.rules;
 
 import com.janus.compliance.domain.model.ValidationResult;
-import com.janus.compliance.domain.repository.ComplianceRuleConfigRepository;
+import com.janus.compliance.domain.service.ComplianceConfigCache;
 import com.janus.compliance.domain.service.ComplianceRule;
-import com.janus.document.domain.model.Document;
+import com.janus.compliance.domain.service.ValidationContext;
 import com.janus.document.domain.model.DocumentType;
 import com.janus.operation.domain.model.OperationCategory;
-import com.janus.operation.domain.model.Operation;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -25,7 +23,7 @@ public class CompletenessRequiredRule implements ComplianceRule {
     );
 
     @Inject
-    ComplianceRuleConfigRepository configRepository;
+    ComplianceConfigCache configCache;
 
     @Override
     public String ruleCode() { return "COMPLETENESS_REQUIRED"; }
@@ -36,10 +34,11 @@ public class CompletenessRequiredRule implements ComplianceRule {
     }
 
     @Override
-    public ValidationResult validate(Operation operation, List<Document> documents) {
+    public ValidationResult validate(ValidationContext context) {
+        var operation = context.operation();
         var mandatory = getMandatoryDocuments(operation.transportMode);
 
-        var present = documents.stream()
+        var present = context.documents().stream()
                 .filter(d -> d.active)
                 .map(d -> d.documentType)
                 .collect(Collectors.toSet());
@@ -58,7 +57,7 @@ public class CompletenessRequiredRule implements ComplianceRule {
 
     private Set<DocumentType> getMandatoryDocuments(TransportMode transportMode) {
         var key = "mandatory_documents_" + transportMode.name();
-        return configRepository.getParamValue(ruleCode(), key)
+        return configCache.current().getParamValue(ruleCode(), key)
                 .map(value -> Arrays.stream(value.split(","))
                         .map(String::trim)
                         .map(DocumentType::valueOf)
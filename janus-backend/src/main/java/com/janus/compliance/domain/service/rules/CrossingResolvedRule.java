@@ -2,22 +2,17 @@ package com.janus.compliance.domain.service.rules;
 
 import com.janus.compliance.domain.model.ValidationResult;
 import com.janus.compliance.domain.service.ComplianceRule;
-import com.janus.declaration.domain.repository.CrossingResultRepository;
-import com.janus.document.domain.model.Document;
+import com.janus.compliance.domain.service.ValidationContext;
+import com.janus.declaration.domain.model.CrossingStatus;
 import com.janus.operation.domain.model.OperationCategory;
-import com.janus.operation.domain.model.Operation;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.inject.Inject;
 import java.util.List;
 
 @ApplicationScoped
 public class CrossingResolvedRule implements ComplianceRule {
 
-    @Inject
-    CrossingResultRepository crossingResultRepository;
-
     @Override
     public String ruleCode() { return "CROSSING_RESOLVED"; }
 
@@ -28,9 +23,9 @@ public class CrossingResolvedRule implements ComplianceRule {
     }
 
     @Override
-    public ValidationResult validate(Operation operation, List<Document> documents) {
-        var crossingResult = crossingResultRepository.findByOperationId(operation.id);
-        if (crossingResult.isEmpty()) {
+    public ValidationResult validate(ValidationContext context) {
+        var crossingResults = context.crossingResults();
+        if (crossingResults.isEmpty()) {
             return ValidationResult.failure(List.of(
                     new ValidationResult.ValidationError(
                             "CROSSING_NOT_PERFORMED",
@@ -38,7 +33,7 @@ public class CrossingResolvedRule implements ComplianceRule {
                     )
             ));
         }
-        if (crossingResultRepository.hasUnresolvedForOperation(operation.id)) {
+        if (crossingResults.stream().anyMatch(c -> c.status == CrossingStatus.DISCREPANCY)) {
             return ValidationResult.failure(List.of(
                     new ValidationResult.ValidationError(
                             "CROSSING_UNRESOLVED",
@@ -2,23 +2,17 @@ package com.janus.compliance.domain.service.rules;
 
 import com.janus.compliance.domain.model.ValidationResult;
 import com.janus.compliance.domain.service.ComplianceRule;
+import com.janus.compliance.domain.service.ValidationContext;
 import com.janus.declaration.domain.model.DeclarationType;
-import com.janus.declaration.domain.repository.DeclarationRepository;
-import com.janus.document.domain.model.Document;
-import com.janus.operation.domain.model.Operation;
 import com.janus.operation.domain.model.OperationCategory;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.inject.Inject;
 import java.util.List;
 
 @ApplicationScoped
 public class DeclarationNumberRequiredRule implements ComplianceRule {
 
-    @Inject
-    DeclarationRepository declarationRepository;
-
     @Override
     public String ruleCode() {
         return "DECLARATION_NUMBER_REQUIRED";
@@ -30,8 +24,8 @@ public class DeclarationNumberRequiredRule implements ComplianceRule {
     }
 
     @Override
-    public ValidationResult validate(Operation operation, List<Document> documents) {
-        var declarations = declarationRepository.findByOperationId(operation.id);
+    public ValidationResult validate(ValidationContext context) {
+        var declarations = context.declarations();
         var preliminary = declarations.stream()
                 .filter(d -> d.declarationType == DeclarationType.PRELIMINARY)
                 .findFirst();
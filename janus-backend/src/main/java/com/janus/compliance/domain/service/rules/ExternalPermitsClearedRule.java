@@ -2,22 +2,17 @@ package com.janus.compliance.domain.service.rules;
 
 import com.janus.compliance.domain.model.ValidationResult;
 import com.janus.compliance.domain.service.ComplianceRule;
-import com.janus.document.domain.model.Document;
-import com.janus.operation.domain.model.Operation;
+import com.janus.compliance.domain.service.ValidationContext;
 import com.janus.operation.domain.model.OperationCategory;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
-import com.janus.valuation.domain.repository.ExternalPermitRepository;
+import com.janus.valuation.domain.model.ExternalPermitStatus;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.inject.Inject;
 import java.util.List;
 
 @ApplicationScoped
 public class ExternalPermitsClearedRule implements ComplianceRule {
 
-    @Inject
-    ExternalPermitRepository permitRepository;
-
     @Override
     public String ruleCode() { return "EXTERNAL_PERMITS_CLEARED"; }
 
@@ -27,8 +22,8 @@ public class ExternalPermitsClearedRule implements ComplianceRule {
     }
 
     @Override
-    public ValidationResult validate(Operation operation, List<Document> documents) {
-        if (permitRepository.hasBlockingPermits(operation.id)) {
+    public ValidationResult validate(ValidationContext context) {
+        if (context.permits().stream().anyMatch(p -> p.status == ExternalPermitStatus.EN_TRAMITE)) {
             return ValidationResult.failure(List.of(
                     new ValidationResult.ValidationError(
                             "PERMITS_PENDING",
@@ -2,10 +2,9 @@ package com.janus.compliance.domain.service.rules;
 
 import com.janus.compliance.domain.model.ValidationResult;
 import com.janus.compliance.domain.service.ComplianceRule;
-import com.janus.document.domain.model.Document;
+import com.janus.compliance.domain.service.ValidationContext;
 import com.janus.document.domain.model.DocumentType;
 import com.janus.operation.domain.model.OperationCategory;
-import com.janus.operation.domain.model.Operation;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -23,8 +22,8 @@ public class HighValueAdditionalDocRule implements ComplianceRule {
     }
 
     @Override
-    public ValidationResult validate(Operation operation, List<Document> documents) {
-        boolean hasCertificate = documents.stream()
+    public ValidationResult validate(ValidationContext context) {
+        boolean hasCertificate = context.documents().stream()
                 .filter(d -> d.active)
                 .anyMatch(d -> d.documentType == DocumentType.CERTIFICATE);
 
@@ -2,9 +2,8 @@ package com.janus.compliance.domain.service.rules;
 
 import com.janus.compliance.domain.model.ValidationResult;
 import com.janus.compliance.domain.service.ComplianceRule;
-import com.janus.document.domain.model.Document;
+import com.janus.compliance.domain.service.ValidationContext;
 import com.janus.operation.domain.model.OperationCategory;
-import com.janus.operation.domain.model.Operation;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -24,7 +23,8 @@ public class InspectionTypeRequiredRule implements ComplianceRule {
     }
 
     @Override
-    public ValidationResult validate(Operation operation, List<Document> documents) {
+    public ValidationResult validate(ValidationContext context) {
+        var operation = context.operation();
         if (operation.inspectionType == null) {
             return ValidationResult.failure(List.of(
                     new ValidationResult.ValidationError(
@@ -2,23 +2,16 @@ package com.janus.compliance.domain.service.rules;
 
 import com.janus.compliance.domain.model.ValidationResult;
 import com.janus.compliance.domain.service.ComplianceRule;
-import com.janus.document.domain.model.Document;
-import com.janus.document.domain.service.DocumentCompletenessService;
-import com.janus.operation.domain.model.Operation;
+import com.janus.compliance.domain.service.ValidationContext;
 import com.janus.operation.domain.model.OperationCategory;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.inject.Inject;
 import java.util.ArrayList;
-import java.util.List;
 
 @ApplicationScoped
 public class InternalReviewCompleteRule implements ComplianceRule {
 
-    @Inject
-    DocumentCompletenessService completenessService;
-
     @Override
     public String ruleCode() {
         return "INTERNAL_REVIEW_COMPLETE";
@@ -30,12 +23,13 @@ public class InternalReviewCompleteRule implements ComplianceRule {
     }
 
     @Override
-    public ValidationResult validate(Operation operation, List<Document> documents) {
+    public ValidationResult validate(ValidationContext context) {
+        var operation = context.operation();
         var errors = new ArrayList<ValidationResult.ValidationError>();
 
         // Check completeness is 100%
         if (operation.id != null) {
-            var completeness = completenessService.calculate(operation.id);
+            var completeness = context.completeness();
             if (completeness.percentage() < 100) {
                 errors.add(new ValidationResult.ValidationError(
                         "INCOMPLETE_DOCS",
@@ -2,8 +2,7 @@ package com.janus.compliance.domain.service.rules;
 
 import com.janus.compliance.domain.model.ValidationResult;
 import com.janus.compliance.domain.service.ComplianceRule;
-import com.janus.document.domain.model.Document;
-import com.janus.operation.domain.model.Operation;
+import com.janus.compliance.domain.service.ValidationContext;
 import com.janus.operation.domain.model.OperationCategory;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
@@ -26,8 +25,8 @@ public class LiquidationPaidForClosingRule implements ComplianceRule {
     }
 
     @Override
-    public ValidationResult validate(Operation operation, List<Document> documents) {
-        Liquidation liquidation = Liquidation.find("operation.id = ?1", operation.id).firstResult();
+    public ValidationResult validate(ValidationContext context) {
+        Liquidation liquidation = context.liquidation().orElse(null);
 
         if (liquidation == null) {
             return ValidationResult.failure(List.of(
@@ -2,9 +2,8 @@ package com.janus.compliance.domain.service.rules;
 
 import com.janus.compliance.domain.model.ValidationResult;
 import com.janus.compliance.domain.service.ComplianceRule;
-import com.janus.document.domain.model.Document;
+import com.janus.compliance.domain.service.ValidationContext;
 import com.janus.document.domain.model.DocumentType;
-import com.janus.operation.domain.model.Operation;
 import com.janus.operation.domain.model.OperationCategory;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
@@ -23,9 +22,10 @@ public class LocalChargesValidatedRule implements ComplianceRule {
     }
 
     @Override
-    public ValidationResult validate(Operation operation, List<Document> documents) {
+    public ValidationResult validate(ValidationContext context) {
+        var operation = context.operation();
         // Only applies if a LOCAL_CHARGES_RECEIPT document has been uploaded
-        boolean hasLocalChargesDoc = documents.stream()
+        boolean hasLocalChargesDoc = context.documents().stream()
                 .filter(d -> d.active)
                 .anyMatch(d -> d.documentType == DocumentType.LOCAL_CHARGES_RECEIPT);
 
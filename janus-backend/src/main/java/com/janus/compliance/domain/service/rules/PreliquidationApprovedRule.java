@@ -2,23 +2,16 @@ package com.janus.compliance.domain.service.rules;
 
 import com.janus.compliance.domain.model.ValidationResult;
 import com.janus.compliance.domain.service.ComplianceRule;
-import com.janus.declaration.domain.repository.DeclarationRepository;
-import com.janus.document.domain.model.Document;
-import com.janus.operation.domain.model.Operation;
+import com.janus.compliance.domain.service.ValidationContext;
 import com.janus.operation.domain.model.OperationCategory;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.inject.Inject;
 import java.util.ArrayList;
-import java.util.List;
 
 @ApplicationScoped
 public class PreliquidationApprovedRule implements ComplianceRule {
 
-    @Inject
-    DeclarationRepository declarationRepository;
-
     @Override
     public String ruleCode() {
         return "PRELIQUIDATION_APPROVED";
@@ -31,7 +24,8 @@ public class PreliquidationApprovedRule implements ComplianceRule {
     }
 
     @Override
-    public ValidationResult validate(Operation operation, List<Document> documents) {
+    public ValidationResult validate(ValidationContext context) {
+        var operation = context.operation();
         var errors = new ArrayList<ValidationResult.ValidationError>();
 
         if (operation.id == null) {
@@ -42,7 +36,7 @@ public class PreliquidationApprovedRule implements ComplianceRule {
             return ValidationResult.failure(errors);
         }
 
-        var declarations = declarationRepository.findByOperationId(operation.id);
+        var declarations = context.declarations();
         if (declarations.isEmpty()) {
             errors.add(new ValidationResult.ValidationError(
                     "NO_DECLARATION",
@@ -2,17 +2,20 @@ package com.janus.dashboard.api;
 
 import com.janus.dashboard.api.dto.DashboardFilter;
 import com.janus.dashboard.api.dto.DashboardMetrics;
+import com.janus.dashboard.application.DashboardRollupService;
 import com.janus.dashboard.application.DashboardService;
 import com.janus.operation.domain.model.OperationCategory;
 import com.janus.operation.domain.model.TransportMode;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import java.time.LocalDate;
+import java.util.Map;
 
 @Path("/api/dashboard")
 @Produces(MediaType.APPLICATION_JSON)
@@ -21,6 +24,9 @@ public class DashboardResource {
     @Inject
     DashboardService dashboardService;
 
+    @Inject
+    DashboardRollupService dashboardRollupService;
+
     @GET
     @Path("/metrics")
     @RolesAllowed({"ADMIN", "AGENT", "ACCOUNTING"})
@@ -33,4 +39,11 @@ public class DashboardResource {
         var filter = new DashboardFilter(from, to, transportMode, operationCategory, agentUsername);
         return dashboardService.getMetrics(filter);
     }
+
+    @POST
+    @Path("/rollups/rebuild")
+    @RolesAllowed({"ADMIN"})
+    public Map<String, Integer> rebuildRollups() {
+        return Map.of("buckets", dashboardRollupService.rebuild());
+    }
 }
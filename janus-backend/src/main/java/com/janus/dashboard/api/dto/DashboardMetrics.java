@@ -7,6 +7,7 @@ public record DashboardMetrics(
         Map<String, Long> operationsByStatus,
         long overdueCount,
         Map<String, Double> averageTimePerStage,
+        Map<String, StagePercentiles> stagePercentiles,
         double rejectionRate,
         List<AgentProductivity> productivityByAgent
 ) {
@@ -16,4 +17,12 @@ public record DashboardMetrics(
             long operationsHandled,
             long operationsClosed
     ) {}
+
+    /** Stage durations in hours. */
+    public record StagePercentiles(
+            long samples,
+            double p50,
+            double p90,
+            double p99
+    ) {}
 }
@@ -0,0 +1,286 @@
+package com.janus.dashboard.application;
+
+import com.janus.dashboard.domain.model.DashboardRollup;
+import com.janus.dashboard.domain.model.DashboardRollupKey;
+import com.janus.dashboard.domain.model.DashboardRollupLock;
+import com.janus.dashboard.domain.repository.DashboardRollupRepository;
+import com.janus.operation.domain.model.Operation;
+import com.janus.operation.domain.model.OperationCategory;
+import com.janus.operation.domain.model.OperationStatus;
+import com.janus.operation.domain.model.TransportMode;
+import com.janus.shared.infrastructure.metrics.QuantileSketch;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceException;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.jboss.logging.Logger;
+
+/**
+ * Keeps dashboard_rollups in step with operations. Callers report creates, deletes,
+ * dimension changes and status changes inside their own transaction; the changes are
+ * summed per bucket and applied together just before that transaction commits, so the
+ * counters commit or roll back with the operations and bucket rows are locked only
+ * briefly, once each, in a fixed order. Missing rows are created in a short separate
+ * transaction when first reported, to keep concurrent first writers from failing each
+ * other, and are never deleted. Updates hold a shared lock on {@link DashboardRollupLock}
+ * and a rebuild an exclusive one, so a rebuild only counts committed operations and no
+ * update lands in the middle of it.
+ */
+@ApplicationScoped
+public class DashboardRollupService {
+
+    private static final Logger LOG = Logger.getLogger(DashboardRollupService.class);
+
+    @Inject
+    DashboardRollupRepository rollupRepository;
+
+    @Inject
+    EntityManager em;
+
+    @Inject
+    TransactionSynchronizationRegistry txRegistry;
+
+    @Inject
+    Event<PendingChanges> pendingChangesEvent;
+
+    void onStart(@Observes StartupEvent event) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            if (rollupRepository.count() == 0
+                    && em.createQuery("SELECT COUNT(o) FROM Operation o", Long.class).getSingleResult() > 0) {
+                LOG.infof("Built %d dashboard rollup rows from existing operations", rebuildRollups());
+            }
+        });
+    }
+
+    public void operationCreated(Operation op) {
+        pendingDelta(DashboardRollupKey.of(op)).operationCount++;
+    }
+
+    public void operationDeleted(Operation op) {
+        pendingDelta(DashboardRollupKey.of(op)).operationCount--;
+    }
+
+    /**
+     * Moves the operation between buckets after an edit of its transport mode, category
+     * or agent. {@code before} is the key captured before the edit.
+     */
+    public void operationChanged(DashboardRollupKey before, Operation op) {
+        var after = DashboardRollupKey.of(op);
+        if (!before.equals(after)) {
+            pendingDelta(before).operationCount--;
+            pendingDelta(after).operationCount++;
+        }
+    }
+
+    /**
+     * Records a status change. {@code stageMinutes} is the time the operation spent in its
+     * previous status, or null when that stage has no recorded start.
+     */
+    public void statusChanged(DashboardRollupKey before, Operation op, Long stageMinutes) {
+        var exited = pendingDelta(before);
+        exited.operationCount--;
+        if (stageMinutes != null) {
+            exited.stageMinutes.add(stageMinutes);
+        }
+        pendingDelta(DashboardRollupKey.of(op)).operationCount++;
+    }
+
+    void applyPendingChanges(@Observes(during = TransactionPhase.BEFORE_COMPLETION) PendingChanges pending) {
+        var sorted = new TreeMap<DashboardRollupKey, BucketDelta>(DashboardRollupKey.LOCK_ORDER);
+        pending.byBucket.forEach((key, delta) -> {
+            if (delta.operationCount != 0 || !delta.stageMinutes.isEmpty()) {
+                sorted.put(key, delta);
+            }
+        });
+        if (sorted.isEmpty()) {
+            return;
+        }
+        lockRollups(LockModeType.PESSIMISTIC_READ);
+        sorted.forEach((key, delta) -> {
+            var bucket = rollupRepository.findByKeyForUpdate(key).orElseThrow();
+            bucket.operationCount += delta.operationCount;
+            if (!delta.stageMinutes.isEmpty()) {
+                var sketch = QuantileSketch.fromBytes(bucket.stageSketch);
+                for (var minutes : delta.stageMinutes) {
+                    bucket.stageExitCount++;
+                    bucket.stageMinutesTotal += minutes;
+                    sketch.add(minutes);
+                }
+                bucket.stageSketch = sketch.toBytes();
+            }
+        });
+        // Other before-completion work may already have flushed the session
+        rollupRepository.flush();
+    }
+
+    /**
+     * Recomputes all rollup rows from operations and status history, waiting for
+     * in-flight updates to commit and holding off new ones until done. Intended for the
+     * initial backfill and for repairing drift.
+     */
+    @Transactional
+    public int rebuild() {
+        return rebuildRollups();
+    }
+
+    private int rebuildRollups() {
+        var lock = lockRollups(LockModeType.PESSIMISTIC_WRITE);
+        var rollups = new HashMap<DashboardRollupKey, DashboardRollup>();
+        var sketches = new HashMap<DashboardRollupKey, QuantileSketch>();
+
+        var counts = em.createQuery("SELECT cast(o.createdAt as LocalDate), o.status, o.transportMode,"
+                        + " o.operationCategory, ag.id, COUNT(o)"
+                        + " FROM Operation o LEFT JOIN o.assignedAgent ag"
+                        + " GROUP BY cast(o.createdAt as LocalDate), o.status, o.transportMode,"
+                        + " o.operationCategory, ag.id", Object[].class)
+                .getResultList();
+        for (var row : counts) {
+            var key = new DashboardRollupKey((LocalDate) row[0], (OperationStatus) row[1],
+                    (TransportMode) row[2], (OperationCategory) row[3], agentId(row[4]));
+            rollups.computeIfAbsent(key, DashboardRollupService::newRollup).operationCount += ((Number) row[5]).longValue();
+        }
+
+        // Stage durations go to the bucket the operation was in when it left the stage, as
+        // recorded on the history entry; entries closed before that was recorded fall back
+        // to the operation's current dimensions
+        try (var stages = em.createQuery("SELECT o.createdAt, sh.newStatus, sh.exitTransportMode,"
+                        + " sh.exitOperationCategory, sh.exitAgentId, o.transportMode, o.operationCategory, ag.id,"
+                        + " sh.durationMinutes"
+                        + " FROM StatusHistory sh JOIN sh.operation o LEFT JOIN o.assignedAgent ag"
+                        + " WHERE sh.durationMinutes IS NOT NULL", Object[].class)
+                .getResultStream()) {
+            stages.forEach(row -> {
+                var recorded = row[2] != null;
+                var key = new DashboardRollupKey(((LocalDateTime) row[0]).toLocalDate(), (OperationStatus) row[1],
+                        (TransportMode) (recorded ? row[2] : row[5]),
+                        (OperationCategory) (recorded ? row[3] : row[6]),
+                        agentId(recorded ? row[4] : row[7]));
+                long minutes = (Long) row[8];
+                var rollup = rollups.computeIfAbsent(key, DashboardRollupService::newRollup);
+                rollup.stageExitCount++;
+                rollup.stageMinutesTotal += minutes;
+                sketches.computeIfAbsent(key, k -> new QuantileSketch()).add(minutes);
+            });
+        }
+
+        sketches.forEach((key, sketch) -> rollups.get(key).stageSketch = sketch.toBytes());
+
+        // Buckets are reset in place rather than deleted, since updates expect the rows
+        // they created earlier in their transaction to still exist
+        var existing = new HashMap<DashboardRollupKey, DashboardRollup>();
+        rollupRepository.listAll().forEach(row -> existing.put(keyOf(row), row));
+        var missing = rollups.keySet().stream().filter(key -> !existing.containsKey(key)).toList();
+        createBuckets(missing);
+        missing.forEach(key -> existing.put(key, rollupRepository.findByKey(key).orElseThrow()));
+        existing.forEach((key, row) -> {
+            var rebuilt = rollups.get(key);
+            row.operationCount = rebuilt != null ? rebuilt.operationCount : 0;
+            row.stageExitCount = rebuilt != null ? rebuilt.stageExitCount : 0;
+            row.stageMinutesTotal = rebuilt != null ? rebuilt.stageMinutesTotal : 0;
+            row.stageSketch = rebuilt != null ? rebuilt.stageSketch : null;
+        });
+        lock.rebuiltAt = LocalDateTime.now();
+        return rollups.size();
+    }
+
+    private BucketDelta pendingDelta(DashboardRollupKey key) {
+        var pending = (PendingChanges) txRegistry.getResource(PendingChanges.class);
+        if (pending == null) {
+            pending = new PendingChanges();
+            txRegistry.putResource(PendingChanges.class, pending);
+            // Observed before completion, by which time the transaction has added the rest
+            pendingChangesEvent.fire(pending);
+        }
+        var delta = pending.byBucket.get(key);
+        if (delta == null) {
+            // Created up front, while this transaction holds no rollup locks: on databases
+            // without shared row locks the creating transaction would otherwise wait on it
+            if (rollupRepository.findByKey(key).isEmpty()) {
+                createBucket(key);
+            }
+            delta = new BucketDelta();
+            pending.byBucket.put(key, delta);
+        }
+        return delta;
+    }
+
+    private DashboardRollupLock lockRollups(LockModeType mode) {
+        var lock = em.find(DashboardRollupLock.class, DashboardRollupLock.ID, mode);
+        if (lock == null) {
+            throw new IllegalStateException("dashboard_rollup_lock row is missing");
+        }
+        return lock;
+    }
+
+    private void createBuckets(List<DashboardRollupKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                keys.forEach(key -> rollupRepository.persist(newRollup(key)));
+                rollupRepository.flush();
+            });
+        } catch (PersistenceException e) {
+            // Some were created concurrently; fall back to one at a time
+            keys.forEach(this::createBucket);
+        }
+    }
+
+    private void createBucket(DashboardRollupKey key) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                if (rollupRepository.findByKey(key).isEmpty()) {
+                    rollupRepository.persist(newRollup(key));
+                    rollupRepository.flush();
+                }
+            });
+        } catch (PersistenceException e) {
+            // Another transaction created the bucket concurrently; the row exists now
+            LOG.debugf("Dashboard rollup bucket %s created concurrently", key);
+        }
+    }
+
+    /** Rollup changes reported by one transaction, summed per bucket. */
+    static final class PendingChanges {
+        final Map<DashboardRollupKey, BucketDelta> byBucket = new HashMap<>();
+    }
+
+    static final class BucketDelta {
+        long operationCount;
+        final List<Long> stageMinutes = new ArrayList<>();
+    }
+
+    private static DashboardRollup newRollup(DashboardRollupKey key) {
+        var rollup = new DashboardRollup();
+        rollup.bucketDate = key.bucketDate();
+        rollup.status = key.status();
+        rollup.transportMode = key.transportMode();
+        rollup.operationCategory = key.operationCategory();
+        rollup.agentId = key.agentId();
+        return rollup;
+    }
+
+    private static DashboardRollupKey keyOf(DashboardRollup row) {
+        return new DashboardRollupKey(row.bucketDate, row.status, row.transportMode, row.operationCategory, row.agentId);
+    }
+
+    private static long agentId(Object value) {
+        return value != null ? ((Number) value).longValue() : DashboardRollupKey.UNASSIGNED_AGENT;
+    }
+}
@@ -3,46 +3,53 @@ package com.janus.dashboard.application;
 import com.janus.dashboard.api.dto.DashboardFilter;
 import com.janus.dashboard.api.dto.DashboardMetrics;
 import com.janus.operation.domain.model.OperationStatus;
+import com.janus.shared.infrastructure.metrics.QuantileSketch;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import org.jboss.logging.Logger;
 
+/**
+ * Dashboard metrics. Counts, stage durations and productivity are read from the
+ * pre-aggregated dashboard_rollups table, with stage percentiles merged from per-bucket
+ * sketches; only the overdue count, which depends on the
+ * current time, is computed against operations.
+ */
 @ApplicationScoped
 public class DashboardService {
 
-    private static final Logger LOG = Logger.getLogger(DashboardService.class);
-
     @Inject
     EntityManager em;
 
     public DashboardMetrics getMetrics(DashboardFilter filter) {
+        var operationsByStatus = getOperationsByStatus(filter);
         return new DashboardMetrics(
-                getOperationsByStatus(filter),
+                operationsByStatus,
                 getOverdueCount(filter),
                 getAverageTimePerStage(filter),
-                getRejectionRate(filter),
+                getStagePercentiles(filter),
+                getRejectionRate(operationsByStatus),
                 getProductivityByAgent(filter)
         );
     }
 
     private Map<String, Long> getOperationsByStatus(DashboardFilter filter) {
-        var jpql = "SELECT o.status, COUNT(o) FROM Operation o WHERE 1=1"
-                + buildFilterConditions(filter)
-                + " GROUP BY o.status";
+        var jpql = "SELECT r.status, SUM(r.operationCount) FROM DashboardRollup r WHERE 1=1"
+                + buildRollupConditions(filter)
+                + " GROUP BY r.status";
         var query = em.createQuery(jpql, Object[].class);
-        applyFilterParams(query, filter);
+        applyRollupParams(query, filter);
 
         var result = new LinkedHashMap<String, Long>();
         for (var status : OperationStatus.values()) {
             result.put(status.name(), 0L);
         }
         for (var row : query.getResultList()) {
-            result.put(((OperationStatus) row[0]).name(), (Long) row[1]);
+            result.put(((OperationStatus) row[0]).name(), ((Number) row[1]).longValue());
         }
         return result;
     }
@@ -58,76 +65,68 @@ public class DashboardService {
         return query.getSingleResult();
     }
 
-    @SuppressWarnings("unchecked")
     private Map<String, Double> getAverageTimePerStage(DashboardFilter filter) {
-        try {
-            var jpql = "SELECT sh.newStatus, sh.changedAt, sh.operation.id,"
-                    + " (SELECT MIN(sh2.changedAt) FROM StatusHistory sh2"
-                    + " WHERE sh2.operation = sh.operation AND sh2.changedAt > sh.changedAt)"
-                    + " FROM StatusHistory sh"
-                    + " WHERE sh.newStatus NOT IN (com.janus.operation.domain.model.OperationStatus.CLOSED,"
-                    + " com.janus.operation.domain.model.OperationStatus.CANCELLED)";
-            var query = em.createQuery(jpql);
-            var rows = (List<Object[]>) query.getResultList();
-
-            var sumByStatus = new LinkedHashMap<OperationStatus, Double>();
-            var countByStatus = new LinkedHashMap<OperationStatus, Long>();
-
-            for (var row : rows) {
-                var status = (OperationStatus) row[0];
-                var startTime = (java.time.LocalDateTime) row[1];
-                var endTime = (java.time.LocalDateTime) row[3];
-                if (endTime == null) continue;
-
-                double hours = java.time.Duration.between(startTime, endTime).toMinutes() / 60.0;
-                sumByStatus.merge(status, hours, Double::sum);
-                countByStatus.merge(status, 1L, Long::sum);
-            }
-
-            var result = new LinkedHashMap<String, Double>();
-            for (var entry : sumByStatus.entrySet()) {
-                long cnt = countByStatus.getOrDefault(entry.getKey(), 1L);
-                result.put(entry.getKey().name(), entry.getValue() / cnt);
-            }
-            return result;
-        } catch (Exception e) {
-            LOG.error("Failed to compute average time per stage", e);
-            return Map.of();
+        var jpql = "SELECT r.status, SUM(r.stageMinutesTotal), SUM(r.stageExitCount) FROM DashboardRollup r"
+                + " WHERE r.stageExitCount > 0"
+                + buildRollupConditions(filter)
+                + " GROUP BY r.status";
+        var query = em.createQuery(jpql, Object[].class);
+        applyRollupParams(query, filter);
+
+        var result = new LinkedHashMap<String, Double>();
+        for (var row : query.getResultList()) {
+            long minutes = ((Number) row[1]).longValue();
+            long exits = ((Number) row[2]).longValue();
+            result.put(((OperationStatus) row[0]).name(), minutes / 60.0 / exits);
         }
+        return result;
     }
 
-    private double getRejectionRate(DashboardFilter filter) {
-        var totalJpql = "SELECT COUNT(o) FROM Operation o WHERE 1=1" + buildFilterConditions(filter);
-        var cancelledJpql = "SELECT COUNT(o) FROM Operation o WHERE o.status ="
-                + " com.janus.operation.domain.model.OperationStatus.CANCELLED"
-                + buildFilterConditions(filter);
+    private Map<String, DashboardMetrics.StagePercentiles> getStagePercentiles(DashboardFilter filter) {
+        var jpql = "SELECT r.status, r.stageSketch FROM DashboardRollup r"
+                + " WHERE r.stageExitCount > 0"
+                + buildRollupConditions(filter);
+        var query = em.createQuery(jpql, Object[].class);
+        applyRollupParams(query, filter);
 
-        var totalQuery = em.createQuery(totalJpql, Long.class);
-        applyFilterParams(totalQuery, filter);
-        long total = totalQuery.getSingleResult();
+        var sketches = new EnumMap<OperationStatus, QuantileSketch>(OperationStatus.class);
+        for (var row : query.getResultList()) {
+            sketches.computeIfAbsent((OperationStatus) row[0], s -> new QuantileSketch())
+                    .merge(QuantileSketch.fromBytes((byte[]) row[1]));
+        }
 
-        if (total == 0) return 0.0;
+        var result = new LinkedHashMap<String, DashboardMetrics.StagePercentiles>();
+        sketches.forEach((status, sketch) -> result.put(status.name(), new DashboardMetrics.StagePercentiles(
+                sketch.count(),
+                sketch.quantile(0.50) / 60.0,
+                sketch.quantile(0.90) / 60.0,
+                sketch.quantile(0.99) / 60.0
+        )));
+        return result;
+    }
 
-        var cancelledQuery = em.createQuery(cancelledJpql, Long.class);
-        applyFilterParams(cancelledQuery, filter);
-        long cancelled = cancelledQuery.getSingleResult();
+    private double getRejectionRate(Map<String, Long> operationsByStatus) {
+        long total = operationsByStatus.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) return 0.0;
 
+        long cancelled = operationsByStatus.getOrDefault(OperationStatus.CANCELLED.name(), 0L);
         return (cancelled * 100.0) / total;
     }
 
-    @SuppressWarnings("unchecked")
     private List<DashboardMetrics.AgentProductivity> getProductivityByAgent(DashboardFilter filter) {
-        var jpql = "SELECT u.username, u.fullName, COUNT(o),"
-                + " SUM(CASE WHEN o.status = com.janus.operation.domain.model.OperationStatus.CLOSED"
-                + " THEN 1 ELSE 0 END)"
-                + " FROM Operation o JOIN o.assignedAgent u WHERE 1=1"
-                + buildFilterConditions(filter)
-                + " GROUP BY u.username, u.fullName ORDER BY COUNT(o) DESC";
-        var query = em.createQuery(jpql);
-        applyFilterParams(query, filter);
+        var jpql = "SELECT u.username, u.fullName, SUM(r.operationCount),"
+                + " SUM(CASE WHEN r.status = com.janus.operation.domain.model.OperationStatus.CLOSED"
+                + " THEN r.operationCount ELSE 0 END)"
+                + " FROM DashboardRollup r, User u WHERE u.id = r.agentId"
+                + buildRollupConditions(filter)
+                + " GROUP BY u.username, u.fullName"
+                + " HAVING SUM(r.operationCount) > 0"
+                + " ORDER BY SUM(r.operationCount) DESC";
+        var query = em.createQuery(jpql, Object[].class);
+        applyRollupParams(query, filter);
 
         var result = new ArrayList<DashboardMetrics.AgentProductivity>();
-        for (var row : (List<Object[]>) query.getResultList()) {
+        for (var row : query.getResultList()) {
             result.add(new DashboardMetrics.AgentProductivity(
                     (String) row[0], (String) row[1],
                     ((Number) row[2]).longValue(), ((Number) row[3]).longValue()
@@ -136,6 +135,26 @@ public class DashboardService {
         return result;
     }
 
+    private String buildRollupConditions(DashboardFilter filter) {
+        var sb = new StringBuilder();
+        if (filter.from() != null) sb.append(" AND r.bucketDate >= :fromDate");
+        if (filter.to() != null) sb.append(" AND r.bucketDate <= :toDate");
+        if (filter.transportMode() != null) sb.append(" AND r.transportMode = :transportMode");
+        if (filter.operationCategory() != null) sb.append(" AND r.operationCategory = :operationCategory");
+        if (filter.agentUsername() != null) {
+            sb.append(" AND r.agentId IN (SELECT au.id FROM User au WHERE au.username = :agentUsername)");
+        }
+        return sb.toString();
+    }
+
+    private void applyRollupParams(jakarta.persistence.Query query, DashboardFilter filter) {
+        if (filter.from() != null) query.setParameter("fromDate", filter.from());
+        if (filter.to() != null) query.setParameter("toDate", filter.to());
+        if (filter.transportMode() != null) query.setParameter("transportMode", filter.transportMode());
+        if (filter.operationCategory() != null) query.setParameter("operationCategory", filter.operationCategory());
+        if (filter.agentUsername() != null) query.setParameter("agentUsername", filter.agentUsername());
+    }
+
     private String buildFilterConditions(DashboardFilter filter) {
         var sb = new StringBuilder();
         if (filter.from() != null) sb.append(" AND o.createdAt >= :fromDate");
@@ -0,0 +1,57 @@
+package com.janus.dashboard.domain.model;
+
+import com.janus.operation.domain.model.OperationCategory;
+import com.janus.operation.domain.model.OperationStatus;
+import com.janus.operation.domain.model.TransportMode;
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated dashboard counters for one (creation day, current status, transport mode,
+ * category, agent) bucket. operationCount is the number of operations currently in the
+ * bucket; stageExitCount and stageMinutesTotal accumulate the time those operations spent
+ * in the bucket's status before moving on, with their distribution kept in stageSketch
+ * (a serialized QuantileSketch of minutes). agentId is 0 for unassigned operations.
+ */
+@Entity
+@Table(name = "dashboard_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_dashboard_rollups_bucket",
+        columnNames = {"bucket_date", "status", "transport_mode", "operation_category", "agent_id"}))
+public class DashboardRollup extends PanacheEntity {
+
+    @Column(name = "bucket_date", nullable = false)
+    public LocalDate bucketDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    public OperationStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transport_mode", nullable = false)
+    public TransportMode transportMode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation_category", nullable = false)
+    public OperationCategory operationCategory;
+
+    @Column(name = "agent_id", nullable = false)
+    public long agentId;
+
+    @Column(name = "operation_count", nullable = false)
+    public long operationCount;
+
+    @Column(name = "stage_exit_count", nullable = false)
+    public long stageExitCount;
+
+    @Column(name = "stage_minutes_total", nullable = false)
+    public long stageMinutesTotal;
+
+    @Column(name = "stage_sketch", length = 65536)
+    public byte[] stageSketch;
+}
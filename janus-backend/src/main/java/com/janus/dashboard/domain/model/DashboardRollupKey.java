@@ -0,0 +1,43 @@
+package com.janus.dashboard.domain.model;
+
+import com.janus.operation.domain.model.Operation;
+import com.janus.operation.domain.model.OperationCategory;
+import com.janus.operation.domain.model.OperationStatus;
+import com.janus.operation.domain.model.TransportMode;
+import java.time.LocalDate;
+import java.util.Comparator;
+
+public record DashboardRollupKey(
+        LocalDate bucketDate,
+        OperationStatus status,
+        TransportMode transportMode,
+        OperationCategory operationCategory,
+        long agentId
+) {
+    public static final long UNASSIGNED_AGENT = 0L;
+
+    /**
+     * Order in which bucket rows are locked. A transaction locks all the buckets it changes
+     * in one pass just before it commits, so concurrent writers cannot deadlock on them.
+     */
+    public static final Comparator<DashboardRollupKey> LOCK_ORDER = Comparator
+            .comparing(DashboardRollupKey::bucketDate)
+            .thenComparing(DashboardRollupKey::status)
+            .thenComparing(DashboardRollupKey::transportMode)
+            .thenComparing(DashboardRollupKey::operationCategory)
+            .thenComparingLong(DashboardRollupKey::agentId);
+
+    public static DashboardRollupKey of(Operation op) {
+        return new DashboardRollupKey(
+                op.createdAt.toLocalDate(),
+                op.status,
+                op.transportMode,
+                op.operationCategory,
+                op.assignedAgent != null ? op.assignedAgent.id : UNASSIGNED_AGENT
+        );
+    }
+
+    public DashboardRollupKey withStatus(OperationStatus newStatus) {
+        return new DashboardRollupKey(bucketDate, newStatus, transportMode, operationCategory, agentId);
+    }
+}
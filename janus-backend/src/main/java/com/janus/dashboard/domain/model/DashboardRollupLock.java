@@ -0,0 +1,24 @@
+package com.janus.dashboard.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * The single row guarding {@link DashboardRollup}: counter updates hold a shared lock on it
+ * and a rebuild holds an exclusive one, so a rebuild never interleaves with updates.
+ */
+@Entity
+@Table(name = "dashboard_rollup_lock")
+public class DashboardRollupLock {
+
+    public static final int ID = 1;
+
+    @Id
+    public Integer id;
+
+    @Column(name = "rebuilt_at")
+    public LocalDateTime rebuiltAt;
+}
@@ -0,0 +1,27 @@
+package com.janus.dashboard.domain.repository;
+
+import com.janus.dashboard.domain.model.DashboardRollup;
+import com.janus.dashboard.domain.model.DashboardRollupKey;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+
+@ApplicationScoped
+public class DashboardRollupRepository implements PanacheRepository<DashboardRollup> {
+
+    private static final String KEY_CLAUSE = "bucketDate = ?1 AND status = ?2 AND transportMode = ?3"
+            + " AND operationCategory = ?4 AND agentId = ?5";
+
+    public Optional<DashboardRollup> findByKey(DashboardRollupKey key) {
+        return find(KEY_CLAUSE, key.bucketDate(), key.status(), key.transportMode(),
+                key.operationCategory(), key.agentId()).firstResultOptional();
+    }
+
+    public Optional<DashboardRollup> findByKeyForUpdate(DashboardRollupKey key) {
+        return find(KEY_CLAUSE, key.bucketDate(), key.status(), key.transportMode(),
+                key.operationCategory(), key.agentId())
+                .withLock(LockModeType.PESSIMISTIC_WRITE)
+                .firstResultOptional();
+    }
+}
@@ -19,6 +19,7 @@ import com.janus.declaration.domain.service.CrossingEngine;
 import com.janus.declaration.domain.service.PreliquidationService;
 import com.janus.notification.application.NotificationService;
 import com.janus.operation.api.dto.ChangeStatusRequest;
+import com.janus.operation.application.OperationSearchIndexService;
 import com.janus.operation.application.OperationService;
 import com.janus.operation.domain.model.Operation;
 import com.janus.operation.domain.model.OperationStatus;
@@ -71,6 +72,9 @@ public class DeclarationService {
     @Inject
     OperationService operationService;
 
+    @Inject
+    OperationSearchIndexService operationSearchIndexService;
+
     @Inject
     ExchangeRateService exchangeRateService;
 
@@ -139,6 +143,7 @@ public class DeclarationService {
         }
 
         declarationRepository.persist(declaration);
+        operationSearchIndexService.reindex(operation);
 
         auditEvent.fire(new AuditEvent(
                 username, AuditAction.CREATE, "Declaration", declaration.id, operationId,
@@ -182,6 +187,7 @@ public class DeclarationService {
         declaration.taxableBase = declaration.cifValue;
 
         invalidateCrossingIfFinal(declaration, operationId);
+        operationSearchIndexService.reindex(declaration.operation);
 
         auditEvent.fire(new AuditEvent(
                 username, AuditAction.UPDATE, "Declaration", declarationId, operationId,
@@ -421,6 +427,7 @@ public class DeclarationService {
     public Declaration registerDua(Long operationId, Long declarationId, String duaNumber, String username) {
         var declaration = findById(operationId, declarationId);
         declaration.declarationNumber = duaNumber;
+        operationSearchIndexService.reindex(declaration.operation);
 
         auditEvent.fire(new AuditEvent(
                 username, AuditAction.UPDATE, "Declaration", declarationId, operationId,
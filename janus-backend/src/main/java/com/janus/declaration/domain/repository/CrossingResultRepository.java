@@ -4,6 +4,8 @@ import com.janus.declaration.domain.model.CrossingResult;
 import com.janus.declaration.domain.model.CrossingStatus;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
@@ -13,6 +15,14 @@ public class CrossingResultRepository implements PanacheRepository<CrossingResul
         return find("operation.id = ?1 ORDER BY createdAt DESC", operationId).firstResultOptional();
     }
 
+    public List<CrossingResult> listByOperationId(Long operationId) {
+        return list("operation.id = ?1 ORDER BY createdAt DESC", operationId);
+    }
+
+    public List<CrossingResult> listByOperationIds(Collection<Long> operationIds) {
+        return list("operation.id IN ?1 ORDER BY createdAt DESC", operationIds);
+    }
+
     public boolean hasUnresolvedForOperation(Long operationId) {
         return count("operation.id = ?1 AND status = ?2", operationId, CrossingStatus.DISCREPANCY) > 0;
     }
@@ -4,6 +4,7 @@ import com.janus.declaration.domain.model.Declaration;
 import com.janus.declaration.domain.model.DeclarationType;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,10 @@ public class DeclarationRepository implements PanacheRepository<Declaration> {
         return list("operation.id = ?1 ORDER BY createdAt DESC", operationId);
     }
 
+    public List<Declaration> findByOperationIds(Collection<Long> operationIds) {
+        return list("operation.id IN ?1 ORDER BY createdAt DESC", operationIds);
+    }
+
     public Optional<Declaration> findByOperationAndType(Long operationId, DeclarationType type) {
         return find("operation.id = ?1 AND declarationType = ?2", operationId, type).firstResultOptional();
     }
@@ -0,0 +1,49 @@
+package com.janus.document.api;
+
+import com.janus.document.api.dto.CompletenessResponse;
+import com.janus.document.application.DocumentService;
+import com.janus.shared.infrastructure.exception.BusinessException;
+import com.janus.shared.infrastructure.security.SecurityHelper;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.SecurityContext;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Path("/api/operations/completeness")
+@Produces(MediaType.APPLICATION_JSON)
+public class DocumentCompletenessResource {
+
+    private static final int MAX_OPERATIONS = 200;
+
+    @Inject
+    DocumentService documentService;
+
+    @Inject
+    SecurityHelper securityHelper;
+
+    /**
+     * Completeness of a page of operations keyed by operation id. Unknown operations, and
+     * for customers those of other accounts, are left out.
+     */
+    @GET
+    @RolesAllowed({"ADMIN", "AGENT", "ACCOUNTING", "CUSTOMER"})
+    public Map<Long, CompletenessResponse> list(@QueryParam("operationId") List<Long> operationIds,
+                                                @Context SecurityContext sec) {
+        if (operationIds.size() > MAX_OPERATIONS) {
+            throw new BusinessException("TOO_MANY_OPERATIONS",
+                    "At most " + MAX_OPERATIONS + " operations can be requested at once");
+        }
+        var result = new LinkedHashMap<Long, CompletenessResponse>();
+        documentService.getCompleteness(operationIds, securityHelper.getAccountIdFilter(sec))
+                .forEach((id, completeness) -> result.put(id, CompletenessResponse.from(completeness)));
+        return result;
+    }
+}
@@ -4,9 +4,13 @@ import com.janus.document.api.dto.CompletenessResponse;
 import com.janus.document.api.dto.DocumentResponse;
 import com.janus.document.api.dto.DocumentVersionResponse;
 import com.janus.document.application.DocumentService;
+import com.janus.document.application.DossierService;
+import com.janus.document.domain.model.Document;
 import com.janus.document.domain.model.DocumentType;
+import com.janus.document.domain.model.DocumentVersion;
 import com.janus.document.infrastructure.storage.StorageService;
 import com.janus.operation.application.OperationService;
+import com.janus.shared.api.FileDownloads;
 import com.janus.shared.infrastructure.security.SecurityHelper;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
@@ -15,6 +19,7 @@ import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
@@ -22,11 +27,14 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.List;
+import java.util.Set;
 import org.jboss.resteasy.reactive.RestForm;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 
@@ -37,6 +45,9 @@ public class DocumentResource {
     @Inject
     DocumentService documentService;
 
+    @Inject
+    DossierService dossierService;
+
     @Inject
     StorageService storageService;
 
@@ -53,17 +64,10 @@ public class DocumentResource {
                                        @QueryParam("includeDeleted") @DefaultValue("false") boolean includeDeleted,
                                        @Context SecurityContext sec) {
         securityHelper.enforceCustomerAccess(sec, operationService.findById(operationId));
-        var documents = (includeDeleted && sec.isUserInRole("ADMIN"))
-                ? documentService.findAllByOperationId(operationId)
-                : documentService.findByOperationId(operationId);
+        var documents = documentService.findWithLatestVersionByOperationId(operationId,
+                includeDeleted && sec.isUserInRole("ADMIN"));
         return documents.stream()
-                .map(doc -> {
-                    var latestVersion = documentService.getLatestVersionOrNull(doc.id);
-                    if (latestVersion != null) {
-                        return DocumentResponse.from(doc, latestVersion.originalName, latestVersion.fileSize, latestVersion.uploadedAt);
-                    }
-                    return DocumentResponse.from(doc);
-                })
+                .map(DocumentResource::toResponse)
                 .toList();
     }
 
@@ -94,24 +98,19 @@ public class DocumentResource {
                     "CARRIER role can only upload RECEPTION_RECEIPT documents");
         }
         try {
-            var inputStream = Files.newInputStream(file.uploadedFile());
             var effectiveName = (originalName != null && !originalName.isBlank()) ? originalName : file.fileName();
             var doc = documentService.upload(
                     operationId,
                     documentType,
-                    inputStream,
+                    file.uploadedFile(),
                     effectiveName,
                     file.contentType(),
                     Files.size(file.uploadedFile()),
                     sec.getUserPrincipal().getName(),
                     changeReason
             );
-            var latestVersion = documentService.getLatestVersionOrNull(doc.id);
-            var response = latestVersion != null
-                    ? DocumentResponse.from(doc, latestVersion.originalName, latestVersion.fileSize, latestVersion.uploadedAt)
-                    : DocumentResponse.from(doc);
             return Response.status(Response.Status.CREATED)
-                    .entity(response)
+                    .entity(toResponse(doc))
                     .build();
         } catch (IOException e) {
             throw new RuntimeException("Upload failed", e);
@@ -124,6 +123,9 @@ public class DocumentResource {
     @RolesAllowed({"ADMIN", "AGENT", "ACCOUNTING", "CUSTOMER"})
     public Response downloadLatest(@PathParam("operationId") Long operationId,
                                     @PathParam("id") Long id,
+                                    @HeaderParam("Range") String range,
+                                    @HeaderParam("If-Range") String ifRange,
+                                    @Context Request request,
                                     @Context SecurityContext sec) {
         securityHelper.enforceCustomerAccess(sec, operationService.findById(operationId));
         if (sec.isUserInRole("ADMIN")) {
@@ -132,15 +134,25 @@ public class DocumentResource {
             documentService.findById(id);
         }
         var version = documentService.getLatestVersion(id);
-        var path = storageService.resolve(version.filePath);
-        try {
-            return Response.ok(Files.newInputStream(path))
-                    .header("Content-Disposition", "attachment; filename=\"" + version.originalName + "\"")
-                    .header("Content-Type", version.mimeType)
-                    .build();
-        } catch (Exception e) {
-            throw new RuntimeException("Download failed", e);
-        }
+        return serveVersion(version, range, ifRange, request);
+    }
+
+    @GET
+    @Path("/dossier")
+    @Produces("application/zip")
+    @RolesAllowed({"ADMIN", "AGENT", "ACCOUNTING", "CUSTOMER"})
+    public Response downloadDossier(@PathParam("operationId") Long operationId,
+                                    @QueryParam("versionId") List<Long> versionIds,
+                                    @QueryParam("includePhotos") @DefaultValue("true") boolean includePhotos,
+                                    @Context SecurityContext sec) {
+        var operation = operationService.findById(operationId);
+        securityHelper.enforceCustomerAccess(sec, operation);
+        var entries = dossierService.listEntries(operationId, Set.copyOf(versionIds), includePhotos);
+        return Response.ok((StreamingOutput) output -> dossierService.write(entries, output))
+                .type("application/zip")
+                .header("Content-Disposition",
+                        "attachment; filename=\"" + operation.referenceNumber + "-dossier.zip\"")
+                .build();
     }
 
     @GET
@@ -163,19 +175,14 @@ public class DocumentResource {
     public Response downloadVersion(@PathParam("operationId") Long operationId,
                                      @PathParam("id") Long id,
                                      @PathParam("versionNumber") int versionNumber,
+                                     @HeaderParam("Range") String range,
+                                     @HeaderParam("If-Range") String ifRange,
+                                     @Context Request request,
                                      @Context SecurityContext sec) {
         securityHelper.enforceCustomerAccess(sec, operationService.findById(operationId));
         var includeDeleted = sec.isUserInRole("ADMIN");
         var version = documentService.getVersion(id, versionNumber, includeDeleted);
-        var path = storageService.resolve(version.filePath);
-        try {
-            return Response.ok(Files.newInputStream(path))
-                    .header("Content-Disposition", "attachment; filename=\"" + version.originalName + "\"")
-                    .header("Content-Type", version.mimeType)
-                    .build();
-        } catch (Exception e) {
-            throw new RuntimeException("Download failed", e);
-        }
+        return serveVersion(version, range, ifRange, request);
     }
 
     @DELETE
@@ -186,6 +193,20 @@ public class DocumentResource {
         return Response.noContent().build();
     }
 
+    private static DocumentResponse toResponse(Document doc) {
+        var latest = doc.latestVersion;
+        return latest != null
+                ? DocumentResponse.from(doc, latest.originalName, latest.fileSize, latest.uploadedAt)
+                : DocumentResponse.from(doc);
+    }
+
+    private Response serveVersion(DocumentVersion version, String range, String ifRange, Request request) {
+        // Versions are immutable; those stored before checksums were recorded fall back to their id
+        var etag = version.sha256 != null ? version.sha256 : "version-" + version.id;
+        return FileDownloads.serve(request, range, ifRange, storageService.resolve(version.filePath), etag,
+                version.uploadedAt, version.originalName, version.mimeType);
+    }
+
     @GET
     @Path("/completeness")
     @RolesAllowed({"ADMIN", "AGENT", "ACCOUNTING", "CUSTOMER"})
@@ -9,6 +9,7 @@ public record DocumentVersionResponse(
         String originalName,
         long fileSize,
         String mimeType,
+        String sha256,
         String uploadedByUsername,
         String changeReason,
         LocalDateTime uploadedAt
@@ -20,6 +21,7 @@ public record DocumentVersionResponse(
                 v.originalName,
                 v.fileSize,
                 v.mimeType,
+                v.sha256,
                 v.uploadedBy != null ? v.uploadedBy.username : null,
                 v.changeReason,
                 v.uploadedAt
@@ -14,6 +14,7 @@ import com.janus.document.domain.service.DocumentCompletenessService;
 import com.janus.document.domain.service.DocumentValidationService;
 import com.janus.document.infrastructure.storage.StorageService;
 import com.janus.operation.application.OperationService;
+import com.janus.operation.domain.model.OperationChanged;
 import com.janus.operation.domain.service.StatusTransitionService;
 import com.janus.shared.infrastructure.exception.BusinessException;
 import com.janus.shared.infrastructure.exception.NotFoundException;
@@ -23,7 +24,8 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
-import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -61,6 +63,9 @@ public class DocumentService {
     @Inject
     Event<AuditEvent> auditEvent;
 
+    @Inject
+    Event<OperationChanged> operationChangedEvent;
+
     public List<Document> findByOperationId(Long operationId) {
         return documentRepository.findByOperationId(operationId);
     }
@@ -69,6 +74,12 @@ public class DocumentService {
         return documentRepository.findAllByOperationId(operationId);
     }
 
+    public List<Document> findWithLatestVersionByOperationId(Long operationId, boolean includeDeleted) {
+        return includeDeleted
+                ? documentRepository.findAllWithLatestVersionByOperationId(operationId)
+                : documentRepository.findWithLatestVersionByOperationId(operationId);
+    }
+
     public Document findByIdIncludingDeleted(Long id) {
         return documentRepository.findByIdOptional(id)
                 .orElseThrow(() -> new NotFoundException("Document", id));
@@ -82,7 +93,7 @@ public class DocumentService {
 
     @Transactional
     public Document upload(Long operationId, DocumentType documentType,
-                           InputStream fileStream, String originalName,
+                           Path file, String originalName,
                            String mimeType, long fileSize, String username,
                            String changeReason) {
         var operation = operationService.findById(operationId);
@@ -93,44 +104,45 @@ public class DocumentService {
                 .map(config -> config.allowMultiple)
                 .orElse(false);
 
-        var document = allowMultiple
+        var existing = allowMultiple
                 ? documentRepository.findByOperationAndTypeAndName(operationId, documentType, originalName)
-                        .orElseGet(() -> {
-                            var doc = new Document();
-                            doc.operation = operation;
-                            doc.documentType = documentType;
-                            doc.status = DocumentStatus.PENDING;
-                            documentRepository.persist(doc);
-                            return doc;
-                        })
-                : documentRepository.findByOperationAndType(operationId, documentType)
-                        .orElseGet(() -> {
-                            var doc = new Document();
-                            doc.operation = operation;
-                            doc.documentType = documentType;
-                            doc.status = DocumentStatus.PENDING;
-                            documentRepository.persist(doc);
-                            return doc;
-                        });
+                : documentRepository.findByOperationAndType(operationId, documentType);
+        var document = existing
+                .map(doc -> {
+                    documentRepository.refreshForUpdate(doc);
+                    return doc;
+                })
+                .orElseGet(() -> {
+                    var doc = new Document();
+                    doc.operation = operation;
+                    doc.documentType = documentType;
+                    doc.status = DocumentStatus.PENDING;
+                    documentRepository.persist(doc);
+                    return doc;
+                });
 
         var storedName = UUID.randomUUID() + "_" + originalName;
-        var filePath = storageService.store(fileStream, storedName, operation.referenceNumber);
+        var stored = storageService.store(file, storedName, operation.referenceNumber);
 
         var version = new DocumentVersion();
         version.document = document;
-        version.versionNumber = documentVersionRepository.getNextVersionNumber(document.id);
+        version.versionNumber = ++document.versionCount;
         version.originalName = originalName;
         version.storedName = storedName;
-        version.filePath = filePath;
-        version.fileSize = fileSize;
+        version.filePath = stored.filePath();
+        version.fileSize = stored.size();
+        version.sha256 = stored.sha256();
         version.mimeType = mimeType;
         version.changeReason = changeReason;
 
         userRepository.findByUsername(username).ifPresent(u -> version.uploadedBy = u);
 
         documentVersionRepository.persist(version);
+        document.latestVersion = version;
 
         document.status = validationService.determineStatus(mimeType, fileSize);
+        completenessService.refreshPresence(operationId);
+        operationChangedEvent.fire(new OperationChanged(operationId));
 
         var auditAction = version.versionNumber > 1 ? AuditAction.DOCUMENT_REPLACED : AuditAction.UPLOAD;
         auditEvent.fire(new AuditEvent(
@@ -199,6 +211,10 @@ public class DocumentService {
         }
 
         document.active = false;
+        if (document.operation != null) {
+            completenessService.refreshPresence(document.operation.id);
+            operationChangedEvent.fire(new OperationChanged(document.operation.id));
+        }
 
         auditEvent.fire(new AuditEvent(
                 username, AuditAction.DELETE, "Document", documentId,
@@ -208,7 +224,11 @@ public class DocumentService {
     }
 
     public DocumentCompletenessService.CompletenessResult getCompleteness(Long operationId) {
-        operationService.findById(operationId);
         return completenessService.calculate(operationId);
     }
+
+    public Map<Long, DocumentCompletenessService.CompletenessResult> getCompleteness(Collection<Long> operationIds,
+                                                                                     Long accountId) {
+        return completenessService.calculateAll(operationIds, accountId);
+    }
 }
@@ -0,0 +1,137 @@
+package com.janus.document.application;
+
+import com.janus.document.domain.model.DocumentVersion;
+import com.janus.document.domain.repository.DocumentRepository;
+import com.janus.document.domain.repository.DocumentVersionRepository;
+import com.janus.document.infrastructure.storage.StorageService;
+import com.janus.inspection.domain.repository.InspectionPhotoRepository;
+import com.janus.operation.application.OperationService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.jboss.logging.Logger;
+
+/**
+ * Builds the ZIP dossier of an operation: one version of every active document plus the
+ * inspection photos. Entries are resolved up front in a short transaction and the files
+ * are then streamed into the archive one buffer at a time, so heap use does not depend
+ * on the size of the dossier.
+ */
+@ApplicationScoped
+public class DossierService {
+
+    private static final Logger LOG = Logger.getLogger(DossierService.class);
+
+    @Inject
+    OperationService operationService;
+
+    @Inject
+    DocumentRepository documentRepository;
+
+    @Inject
+    DocumentVersionRepository documentVersionRepository;
+
+    @Inject
+    InspectionPhotoRepository inspectionPhotoRepository;
+
+    @Inject
+    StorageService storageService;
+
+    public record DossierEntry(String name, Path path, String mimeType) {}
+
+    /**
+     * For each active document, the version listed in {@code versionIds} or otherwise the
+     * latest one, followed by the active inspection photos when requested.
+     */
+    @Transactional
+    public List<DossierEntry> listEntries(Long operationId, Set<Long> versionIds, boolean includePhotos) {
+        operationService.findById(operationId);
+        var activeDocuments = documentRepository.findByOperationId(operationId).stream()
+                .collect(Collectors.toMap(doc -> doc.id, Function.identity()));
+
+        var chosen = documentVersionRepository.findByOperationId(operationId).stream()
+                .filter(v -> activeDocuments.containsKey(v.document.id))
+                .collect(Collectors.toMap(v -> v.document.id, Function.identity(),
+                        (a, b) -> preferred(a, b, versionIds)));
+
+        var names = new HashSet<String>();
+        var entries = new ArrayList<DossierEntry>();
+        chosen.values().stream()
+                .sorted(Comparator.comparing((DocumentVersion v) -> v.document.documentType.name())
+                        .thenComparing(v -> v.originalName))
+                .forEach(v -> entries.add(new DossierEntry(
+                        uniqueName(names, "documents/" + v.document.documentType + "/" + safeName(v.originalName)),
+                        storageService.resolve(v.filePath), v.mimeType)));
+
+        if (includePhotos) {
+            for (var photo : inspectionPhotoRepository.findByOperationId(operationId)) {
+                entries.add(new DossierEntry(uniqueName(names, "inspection/" + safeName(photo.originalName)),
+                        storageService.resolve(photo.filePath), photo.mimeType));
+            }
+        }
+        return entries;
+    }
+
+    public void write(List<DossierEntry> entries, OutputStream output) throws IOException {
+        var zip = new ZipOutputStream(output);
+        for (var entry : entries) {
+            // PDFs and images are already compressed; deflating them again only costs CPU
+            zip.setLevel(isCompressed(entry.mimeType()) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+            try {
+                var zipEntry = new ZipEntry(entry.name());
+                zipEntry.setLastModifiedTime(Files.getLastModifiedTime(entry.path()));
+                zip.putNextEntry(zipEntry);
+                Files.copy(entry.path(), zip);
+                zip.closeEntry();
+            } catch (NoSuchFileException e) {
+                LOG.warnf("Dossier entry %s skipped: file %s is missing", entry.name(), entry.path());
+            }
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    private static DocumentVersion preferred(DocumentVersion a, DocumentVersion b, Set<Long> versionIds) {
+        boolean aSelected = versionIds.contains(a.id);
+        boolean bSelected = versionIds.contains(b.id);
+        if (aSelected != bSelected) {
+            return aSelected ? a : b;
+        }
+        return a.versionNumber >= b.versionNumber ? a : b;
+    }
+
+    private static boolean isCompressed(String mimeType) {
+        return mimeType != null
+                && (mimeType.equals("application/pdf") || mimeType.startsWith("image/") || mimeType.contains("zip"));
+    }
+
+    private static String safeName(String name) {
+        return name.replace('/', '_').replace('\\', '_');
+    }
+
+    private static String uniqueName(Set<String> names, String name) {
+        var candidate = name;
+        int dot = name.lastIndexOf('.');
+        for (int i = 2; !names.add(candidate); i++) {
+            candidate = dot > name.lastIndexOf('/')
+                    ? name.substring(0, dot) + " (" + i + ")" + name.substring(dot)
+                    : name + " (" + i + ")";
+        }
+        return candidate;
+    }
+}
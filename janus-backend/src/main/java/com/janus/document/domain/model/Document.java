@@ -7,7 +7,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 
 @Entity
@@ -27,4 +29,11 @@ public class Document extends BaseEntity {
 
     @Column(nullable = false)
     public boolean active = true;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "latest_version_id")
+    public DocumentVersion latestVersion;
+
+    @Column(name = "version_count", nullable = false)
+    public int versionCount;
 }
@@ -0,0 +1,26 @@
+package com.janus.document.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Which document types an operation has active documents for, as a
+ * {@link DocumentTypeMask}. Kept up to date on document upload and soft delete.
+ */
+@Entity
+@Table(name = "operation_document_presence")
+public class DocumentPresence {
+
+    @Id
+    @Column(name = "operation_id")
+    public Long operationId;
+
+    @Column(name = "present_types", nullable = false)
+    public long presentTypes;
+
+    @Column(name = "updated_at", nullable = false)
+    public LocalDateTime updatedAt;
+}
@@ -1,5 +1,9 @@
 package com.janus.document.domain.model;
 
+/**
+ * Ordinals are stored as bits of completeness masks (see {@link DocumentTypeMask}); new types
+ * must be appended.
+ */
 public enum DocumentType {
     BL,
     COMMERCIAL_INVOICE,
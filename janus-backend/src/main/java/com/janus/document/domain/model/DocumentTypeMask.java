@@ -0,0 +1,31 @@
+package com.janus.document.domain.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Sets of {@link DocumentType}s packed into a long, one bit per type ordinal.
+ */
+public final class DocumentTypeMask {
+
+    private DocumentTypeMask() {}
+
+    public static long bit(DocumentType type) {
+        return 1L << type.ordinal();
+    }
+
+    public static long of(Collection<DocumentType> types) {
+        long mask = 0;
+        for (var type : types) {
+            mask |= bit(type);
+        }
+        return mask;
+    }
+
+    public static List<DocumentType> toList(long mask) {
+        return Arrays.stream(DocumentType.values())
+                .filter(type -> (mask & bit(type)) != 0)
+                .toList();
+    }
+}
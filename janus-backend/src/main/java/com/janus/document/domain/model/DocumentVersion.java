@@ -32,6 +32,9 @@ public class DocumentVersion extends BaseEntity {
     @Column(name = "file_size")
     public long fileSize;
 
+    @Column(length = 64)
+    public String sha256;
+
     @Column(name = "mime_type")
     public String mimeType;
 
@@ -0,0 +1,18 @@
+package com.janus.document.domain.model;
+
+import com.janus.operation.domain.model.TransportMode;
+
+/**
+ * An operation's document presence with what is needed to judge it: its transport mode
+ * and, for customer access checks, its account.
+ */
+public record OperationPresence(
+        Long operationId,
+        TransportMode transportMode,
+        Long accountId,
+        Long presentTypes
+) {
+    public long presentMask() {
+        return presentTypes != null ? presentTypes : 0L;
+    }
+}
@@ -0,0 +1,32 @@
+package com.janus.document.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * A content-addressed file, shared by every document version and inspection photo with
+ * the same content. It is only removed from disk once nothing references it.
+ */
+@Entity
+@Table(name = "stored_blobs")
+public class StoredBlob {
+
+    @Id
+    @Column(length = 64)
+    public String sha256;
+
+    @Column(name = "file_size", nullable = false)
+    public long size;
+
+    @Column(name = "ref_count", nullable = false)
+    public int refCount;
+
+    @Column(name = "created_at", nullable = false)
+    public LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    public LocalDateTime updatedAt;
+}
@@ -0,0 +1,43 @@
+package com.janus.document.domain.repository;
+
+import com.janus.document.domain.model.DocumentPresence;
+import com.janus.document.domain.model.OperationPresence;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@ApplicationScoped
+public class DocumentPresenceRepository implements PanacheRepositoryBase<DocumentPresence, Long> {
+
+    private static final String PRESENCE_SELECT = "SELECT new com.janus.document.domain.model.OperationPresence("
+            + "o.id, o.transportMode, a.id, p.presentTypes) FROM Operation o LEFT JOIN o.account a"
+            + " LEFT JOIN DocumentPresence p ON p.operationId = o.id";
+
+    @Inject
+    EntityManager em;
+
+    public Optional<DocumentPresence> findForUpdate(Long operationId) {
+        return findByIdOptional(operationId, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    public Optional<OperationPresence> findByOperationId(Long operationId) {
+        return em.createQuery(PRESENCE_SELECT + " WHERE o.id = :operationId", OperationPresence.class)
+                .setParameter("operationId", operationId)
+                .getResultStream()
+                .findFirst();
+    }
+
+    public List<OperationPresence> findByOperationIds(Collection<Long> operationIds) {
+        if (operationIds.isEmpty()) {
+            return List.of();
+        }
+        return em.createQuery(PRESENCE_SELECT + " WHERE o.id IN :operationIds", OperationPresence.class)
+                .setParameter("operationIds", operationIds)
+                .getResultList();
+    }
+}
@@ -4,16 +4,54 @@ import com.janus.document.domain.model.Document;
 import com.janus.document.domain.model.DocumentType;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
 public class DocumentRepository implements PanacheRepository<Document> {
 
+    @Inject
+    EntityManager em;
+
     public List<Document> findByOperationId(Long operationId) {
         return list("operation.id = ?1 AND active = true", operationId);
     }
 
+    /**
+     * Active documents of the operation with their latest version, in one query.
+     */
+    public List<Document> findWithLatestVersionByOperationId(Long operationId) {
+        return list("FROM Document d LEFT JOIN FETCH d.latestVersion WHERE d.operation.id = ?1 AND d.active = true",
+                operationId);
+    }
+
+    public List<Document> findAllWithLatestVersionByOperationId(Long operationId) {
+        return list("FROM Document d LEFT JOIN FETCH d.latestVersion WHERE d.operation.id = ?1", operationId);
+    }
+
+    /**
+     * Reloads the document under a row lock, so concurrent uploads number their versions
+     * one after the other.
+     */
+    public void refreshForUpdate(Document document) {
+        em.refresh(document, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    public List<DocumentType> findPresentTypes(Long operationId) {
+        return em.createQuery("SELECT DISTINCT d.documentType FROM Document d"
+                        + " WHERE d.operation.id = :operationId AND d.active = true", DocumentType.class)
+                .setParameter("operationId", operationId)
+                .getResultList();
+    }
+
+    public List<Document> findByOperationIds(Collection<Long> operationIds) {
+        return list("operation.id IN ?1 AND active = true", operationIds);
+    }
+
     public Optional<Document> findByOperationAndType(Long operationId, DocumentType type) {
         return find("operation.id = ?1 AND documentType = ?2 AND active = true", operationId, type)
                 .firstResultOptional();
@@ -3,12 +3,17 @@ package com.janus.document.domain.repository;
 import com.janus.document.domain.model.DocumentVersion;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
 public class DocumentVersionRepository implements PanacheRepository<DocumentVersion> {
 
+    @Inject
+    EntityManager em;
+
     public List<DocumentVersion> findByDocumentId(Long documentId) {
         return list("document.id = ?1 ORDER BY versionNumber DESC", documentId);
     }
@@ -21,14 +26,18 @@ public class DocumentVersionRepository implements PanacheRepository<DocumentVers
         return list("document.operation.id = ?1 ORDER BY uploadedAt ASC", operationId);
     }
 
-    public long deleteByOperationId(Long operationId) {
-        return delete("document.id IN (SELECT d.id FROM Document d WHERE d.operation.id = ?1)", operationId);
+    public List<String> findFilePathsByOperationId(Long operationId) {
+        return em.createQuery("SELECT v.filePath FROM DocumentVersion v WHERE v.document.operation.id = :operationId",
+                        String.class)
+                .setParameter("operationId", operationId)
+                .getResultList();
     }
 
-    public int getNextVersionNumber(Long documentId) {
-        return findByDocumentId(documentId).stream()
-                .mapToInt(v -> v.versionNumber)
-                .max()
-                .orElse(0) + 1;
+    public long deleteByOperationId(Long operationId) {
+        // Documents point at their latest version, so the pointers go first
+        em.createQuery("UPDATE Document d SET d.latestVersion = null WHERE d.operation.id = :operationId")
+                .setParameter("operationId", operationId)
+                .executeUpdate();
+        return delete("document.id IN (SELECT d.id FROM Document d WHERE d.operation.id = ?1)", operationId);
     }
 }
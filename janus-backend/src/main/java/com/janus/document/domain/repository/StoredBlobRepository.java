@@ -0,0 +1,30 @@
+package com.janus.document.domain.repository;
+
+import com.janus.document.domain.model.StoredBlob;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@ApplicationScoped
+public class StoredBlobRepository implements PanacheRepositoryBase<StoredBlob, String> {
+
+    @Inject
+    EntityManager em;
+
+    public Optional<StoredBlob> findForUpdate(String sha256) {
+        return findByIdOptional(sha256, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    public List<String> findUnreferencedSince(LocalDateTime cutoff, int limit) {
+        return em.createQuery("SELECT b.sha256 FROM StoredBlob b WHERE b.refCount <= 0 AND b.updatedAt < :cutoff"
+                        + " ORDER BY b.updatedAt", String.class)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,21 +1,35 @@
 package com.janus.document.domain.service;
 
-import com.janus.compliance.domain.repository.ComplianceRuleConfigRepository;
+import com.janus.compliance.domain.model.ComplianceConfigSnapshot;
+import com.janus.compliance.domain.service.ComplianceConfigCache;
+import com.janus.document.domain.model.DocumentPresence;
 import com.janus.document.domain.model.DocumentType;
+import com.janus.document.domain.model.DocumentTypeMask;
+import com.janus.document.domain.model.OperationPresence;
+import com.janus.document.domain.repository.DocumentPresenceRepository;
 import com.janus.document.domain.repository.DocumentRepository;
 import com.janus.operation.domain.model.TransportMode;
-import com.janus.operation.domain.model.Operation;
-import com.janus.operation.domain.repository.OperationRepository;
 import com.janus.shared.infrastructure.exception.NotFoundException;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import java.util.ArrayList;
+import jakarta.persistence.PersistenceException;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * Completeness compares an operation's present document types, kept as a bitmask in
+ * {@link DocumentPresence}, with the mandatory types for its transport mode. Mandatory
+ * masks are cached per transport mode and rebuilt when {@link ComplianceConfigCache}
+ * holds a new configuration snapshot.
+ */
 @ApplicationScoped
 public class DocumentCompletenessService {
 
@@ -29,68 +43,85 @@ public class DocumentCompletenessService {
     DocumentRepository documentRepository;
 
     @Inject
-    OperationRepository operationRepository;
+    DocumentPresenceRepository presenceRepository;
 
     @Inject
-    ComplianceRuleConfigRepository configRepository;
+    ComplianceConfigCache configCache;
+
+    private volatile MandatoryMasks mandatoryMasks;
 
     public CompletenessResult calculate(Long operationId) {
-        var operation = operationRepository.findByIdOptional(operationId)
+        var presence = presenceRepository.findByOperationId(operationId)
                 .orElseThrow(() -> new NotFoundException("Operation", operationId));
+        return evaluate(presence);
+    }
 
-        var mandatory = getEffectiveMandatoryDocuments(operation.transportMode);
-
-        if (mandatory.isEmpty()) {
-            return new CompletenessResult(100, List.of(), "GREEN");
-        }
-
-        var presentTypes = new HashSet<DocumentType>();
-        var docs = documentRepository.findByOperationId(operationId);
-        docs.forEach(d -> presentTypes.add(d.documentType));
-
-        var missing = new ArrayList<DocumentType>();
-        for (var doc : mandatory) {
-            if (!presentTypes.contains(doc)) {
-                missing.add(doc);
-            }
-        }
+    /**
+     * Completeness of every existing operation among {@code operationIds}, read in one
+     * query. When {@code accountId} is given, operations of other accounts are left out.
+     */
+    public Map<Long, CompletenessResult> calculateAll(Collection<Long> operationIds, Long accountId) {
+        return presenceRepository.findByOperationIds(operationIds).stream()
+                .filter(presence -> accountId == null || accountId.equals(presence.accountId()))
+                .collect(Collectors.toMap(OperationPresence::operationId, this::evaluate));
+    }
 
-        int total = mandatory.size();
-        int present = total - missing.size();
-        int percentage = total > 0 ? (int) ((present * 100.0) / total) : 100;
-
-        String color;
-        if (percentage == 100) {
-            color = "GREEN";
-        } else if (percentage >= 50) {
-            color = "YELLOW";
-        } else {
-            color = "RED";
-        }
+    public CompletenessResult evaluate(OperationPresence presence) {
+        return CompletenessResult.of(presence.presentMask(), mandatoryMask(presence.transportMode()));
+    }
 
-        return new CompletenessResult(percentage, missing, color);
+    /**
+     * Re-derives the operation's present document types. Callers run inside the
+     * transaction that changed its documents; the presence row lock serialises concurrent
+     * changes, so each one sees the others' committed documents.
+     */
+    public void refreshPresence(Long operationId) {
+        var presence = presenceRepository.findForUpdate(operationId).orElseGet(() -> {
+            ensurePresence(operationId);
+            return presenceRepository.findForUpdate(operationId).orElseThrow();
+        });
+        presence.presentTypes = DocumentTypeMask.of(documentRepository.findPresentTypes(operationId));
+        presence.updatedAt = LocalDateTime.now();
     }
 
     /**
      * Aggregates mandatory documents from all enabled compliance rules.
      */
-    private Set<DocumentType> getEffectiveMandatoryDocuments(TransportMode transportMode) {
+    public Set<DocumentType> getEffectiveMandatoryDocuments(TransportMode transportMode) {
+        return new HashSet<>(DocumentTypeMask.toList(mandatoryMask(transportMode)));
+    }
+
+    private long mandatoryMask(TransportMode transportMode) {
+        if (transportMode == null) {
+            return DocumentTypeMask.of(DEFAULT_MANDATORY);
+        }
+        var config = configCache.current();
+        var masks = mandatoryMasks;
+        if (masks == null || masks.config() != config) {
+            masks = new MandatoryMasks(config, new ConcurrentHashMap<>());
+            mandatoryMasks = masks;
+        }
+        return masks.byMode().computeIfAbsent(transportMode,
+                mode -> DocumentTypeMask.of(loadMandatoryDocuments(config, mode)));
+    }
+
+    private Set<DocumentType> loadMandatoryDocuments(ComplianceConfigSnapshot config, TransportMode transportMode) {
         var mandatory = new HashSet<DocumentType>();
 
-        if (configRepository.isRuleEnabled("COMPLETENESS_REQUIRED")) {
-            mandatory.addAll(getMandatoryFromConfig(transportMode));
+        if (config.isRuleEnabled("COMPLETENESS_REQUIRED")) {
+            mandatory.addAll(getMandatoryFromConfig(config, transportMode));
         }
 
-        if (configRepository.isRuleEnabled("HIGH_VALUE_ADDITIONAL_DOC") && transportMode == TransportMode.MARITIME) {
+        if (config.isRuleEnabled("HIGH_VALUE_ADDITIONAL_DOC") && transportMode == TransportMode.MARITIME) {
             mandatory.add(DocumentType.CERTIFICATE);
         }
 
         return mandatory;
     }
 
-    private Set<DocumentType> getMandatoryFromConfig(TransportMode transportMode) {
+    private Set<DocumentType> getMandatoryFromConfig(ComplianceConfigSnapshot config, TransportMode transportMode) {
         var key = "mandatory_documents_" + transportMode.name();
-        return configRepository.getParamValue("COMPLETENESS_REQUIRED", key)
+        return config.getParamValue("COMPLETENESS_REQUIRED", key)
                 .map(value -> Arrays.stream(value.split(","))
                         .map(String::trim)
                         .map(DocumentType::valueOf)
@@ -98,9 +129,46 @@ public class DocumentCompletenessService {
                 .orElse(DEFAULT_MANDATORY);
     }
 
+    private void ensurePresence(Long operationId) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                if (presenceRepository.findByIdOptional(operationId).isEmpty()) {
+                    var presence = new DocumentPresence();
+                    presence.operationId = operationId;
+                    presence.updatedAt = LocalDateTime.now();
+                    presenceRepository.persist(presence);
+                    presenceRepository.flush();
+                }
+            });
+        } catch (PersistenceException e) {
+            // Created concurrently by another document change
+        }
+    }
+
+    private record MandatoryMasks(ComplianceConfigSnapshot config, Map<TransportMode, Long> byMode) {}
+
     public record CompletenessResult(
             int percentage,
             List<DocumentType> missingDocuments,
             String color
-    ) {}
+    ) {
+        static CompletenessResult of(long presentMask, long mandatoryMask) {
+            int total = Long.bitCount(mandatoryMask);
+            if (total == 0) {
+                return new CompletenessResult(100, List.of(), "GREEN");
+            }
+            long missing = mandatoryMask & ~presentMask;
+            int percentage = (int) (((total - Long.bitCount(missing)) * 100.0) / total);
+
+            String color;
+            if (percentage == 100) {
+                color = "GREEN";
+            } else if (percentage >= 50) {
+                color = "YELLOW";
+            } else {
+                color = "RED";
+            }
+            return new CompletenessResult(percentage, DocumentTypeMask.toList(missing), color);
+        }
+    }
 }
@@ -0,0 +1,231 @@
+package com.janus.document.infrastructure.storage;
+
+import com.janus.cluster.application.ClusterCoordinator;
+import com.janus.document.domain.model.StoredBlob;
+import com.janus.document.domain.repository.StoredBlobRepository;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import jakarta.transaction.Transactional;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Stores files once per distinct content under {@code blobs/<2 hex>/<sha256>}. Every store
+ * adds a reference to the blob and every delete removes one, inside the caller's
+ * transaction. Versions and photos are only removed when their operation is deleted,
+ * which releases their references in the same transaction, so the count matches the
+ * committed document versions and inspection photos. Files are never removed on delete: a collector removes blobs that
+ * have had no references for the grace period, holding the blob row lock so a concurrent
+ * upload of the same content either keeps the blob alive or recreates it.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "janus.storage.backend", stringValue = "content-addressed", enableIfMissing = true)
+public class ContentAddressedStorageService implements StorageService {
+
+    private static final Logger LOG = Logger.getLogger(ContentAddressedStorageService.class);
+    private static final String LEASE_NAME = "storage-gc";
+    private static final String BLOB_DIR = "blobs";
+    private static final String STAGING_DIR = ".staging";
+    private static final int GC_BATCH = 100;
+
+    @Inject
+    StoredBlobRepository blobRepository;
+
+    @Inject
+    ClusterCoordinator cluster;
+
+    @ConfigProperty(name = "janus.storage.path", defaultValue = "./storage")
+    String storagePath;
+
+    @ConfigProperty(name = "janus.storage.gc-grace", defaultValue = "1h")
+    Duration gcGrace;
+
+    @Override
+    @Transactional
+    public String store(InputStream inputStream, String fileName, String operationRef) {
+        try {
+            var staged = staging();
+            return addReference(StorageFiles.write(inputStream, staged), staged).filePath();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file: " + fileName, e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public StoredFile store(Path source, String fileName, String operationRef) {
+        try {
+            var staged = staging();
+            return addReference(StorageFiles.moveOrCopy(source, staged), staged);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file: " + fileName, e);
+        }
+    }
+
+    @Override
+    public Path resolve(String filePath) {
+        return Paths.get(filePath);
+    }
+
+    /**
+     * Drops one reference to the blob at {@code filePath}. Files stored before blobs were
+     * introduced are not shared and are deleted directly.
+     */
+    @Override
+    @Transactional
+    public void delete(String filePath) {
+        var path = Paths.get(filePath);
+        if (!path.startsWith(blobRoot())) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                LOG.warnf("Failed to delete file: %s", filePath);
+            }
+            return;
+        }
+        blobRepository.findForUpdate(path.getFileName().toString()).ifPresent(blob -> {
+            blob.refCount = Math.max(blob.refCount - 1, 0);
+            blob.updatedAt = LocalDateTime.now();
+        });
+    }
+
+    public int referenceCount(String sha256) {
+        return QuarkusTransaction.requiringNew().call(() -> blobRepository.findByIdOptional(sha256)
+                .map(blob -> blob.refCount)
+                .orElse(0));
+    }
+
+    @Scheduled(every = "${janus.storage.gc-every:1h}", identity = "storage-gc")
+    void scheduledCollect() {
+        try {
+            var removed = collectGarbage();
+            if (removed > 0) {
+                LOG.infof("Removed %d unreferenced stored files", removed);
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Stored file garbage collection failed", e);
+        }
+    }
+
+    /**
+     * Removes blobs that have had no references for the grace period, and staging files
+     * left behind by interrupted uploads. Returns the number of blobs removed.
+     */
+    public int collectGarbage() {
+        var token = cluster.acquire(LEASE_NAME);
+        if (token.isEmpty()) return 0;
+
+        var cutoff = LocalDateTime.now().minus(gcGrace);
+        int removed = 0;
+        for (var sha256 : QuarkusTransaction.requiringNew()
+                .call(() -> blobRepository.findUnreferencedSince(cutoff, GC_BATCH))) {
+            boolean deleted = QuarkusTransaction.requiringNew().call(() -> {
+                cluster.checkFencing(LEASE_NAME, token.getAsLong());
+                var blob = blobRepository.findForUpdate(sha256).orElse(null);
+                if (blob == null || blob.refCount > 0 || !blob.updatedAt.isBefore(cutoff)) {
+                    return false;
+                }
+                Files.deleteIfExists(blobPath(sha256));
+                blobRepository.delete(blob);
+                return true;
+            });
+            if (deleted) removed++;
+        }
+        deleteStaleStaging(cutoff);
+        return removed;
+    }
+
+    /**
+     * Counts a new reference to the staged content and moves it into place. The blob row is
+     * created in its own transaction so concurrent uploads of the same content do not
+     * conflict, then locked for the increment; the file is moved while the lock is held.
+     */
+    private StoredFile addReference(StoredFile staged, Path stagedPath) throws IOException {
+        var sha256 = staged.sha256();
+        ensureBlob(sha256, staged.size());
+        var blob = blobRepository.findForUpdate(sha256).orElseGet(() -> {
+            // Collected between creation and lock
+            var created = newBlob(sha256, staged.size());
+            blobRepository.persist(created);
+            return created;
+        });
+        blob.refCount++;
+        blob.updatedAt = LocalDateTime.now();
+
+        var target = blobPath(sha256);
+        Files.createDirectories(target.getParent());
+        if (Files.exists(target)) {
+            Files.delete(stagedPath);
+        } else {
+            Files.move(stagedPath, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+        LOG.infof("File stored: %s (%d references)", target, blob.refCount);
+        return new StoredFile(target.toString(), staged.size(), sha256);
+    }
+
+    private void ensureBlob(String sha256, long size) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                if (blobRepository.findByIdOptional(sha256).isEmpty()) {
+                    blobRepository.persist(newBlob(sha256, size));
+                    blobRepository.flush();
+                }
+            });
+        } catch (PersistenceException e) {
+            // Created concurrently by another upload of the same content
+        }
+    }
+
+    private static StoredBlob newBlob(String sha256, long size) {
+        var now = LocalDateTime.now();
+        var blob = new StoredBlob();
+        blob.sha256 = sha256;
+        blob.size = size;
+        blob.createdAt = now;
+        blob.updatedAt = now;
+        return blob;
+    }
+
+    private void deleteStaleStaging(LocalDateTime cutoff) {
+        var dir = blobRoot().resolve(STAGING_DIR);
+        if (!Files.isDirectory(dir)) return;
+        var cutoffMillis = cutoff.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        try (var files = Files.list(dir)) {
+            for (var file : files.toList()) {
+                if (Files.getLastModifiedTime(file).toMillis() < cutoffMillis) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warnf(e, "Failed to clean up staging directory %s", dir);
+        }
+    }
+
+    private Path staging() throws IOException {
+        var dir = blobRoot().resolve(STAGING_DIR);
+        Files.createDirectories(dir);
+        return dir.resolve(UUID.randomUUID().toString());
+    }
+
+    private Path blobPath(String sha256) {
+        return blobRoot().resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private Path blobRoot() {
+        return Paths.get(storagePath, BLOB_DIR);
+    }
+}
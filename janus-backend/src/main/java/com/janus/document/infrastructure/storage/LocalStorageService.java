@@ -1,5 +1,6 @@
 package com.janus.document.infrastructure.storage;
 
+import io.quarkus.arc.properties.IfBuildProperty;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.io.IOException;
 import java.io.InputStream;
@@ -10,7 +11,11 @@ import java.nio.file.StandardCopyOption;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+/**
+ * Stores each file under its operation folder with the name it was given.
+ */
 @ApplicationScoped
+@IfBuildProperty(name = "janus.storage.backend", stringValue = "local")
 public class LocalStorageService implements StorageService {
 
     private static final Logger LOG = Logger.getLogger(LocalStorageService.class);
@@ -32,6 +37,24 @@ public class LocalStorageService implements StorageService {
         }
     }
 
+    /**
+     * Moves the file into place when source and storage share a filesystem, hashing it in
+     * a single read of the moved file. Otherwise it is copied through one buffer that feeds
+     * the digest on the way, so the content is still read only once.
+     */
+    @Override
+    public StoredFile store(Path source, String fileName, String operationRef) {
+        try {
+            var dir = Paths.get(storagePath, operationRef);
+            Files.createDirectories(dir);
+            var stored = StorageFiles.moveOrCopy(source, dir.resolve(fileName));
+            LOG.infof("File stored: %s", stored.filePath());
+            return stored;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file: " + fileName, e);
+        }
+    }
+
     @Override
     public Path resolve(String filePath) {
         return Paths.get(filePath);
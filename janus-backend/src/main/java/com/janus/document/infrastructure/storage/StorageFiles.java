@@ -0,0 +1,91 @@
+package com.janus.document.infrastructure.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * File placement shared by the storage backends. Content is hashed while it is read, so
+ * every file is read once whether it is moved, copied or written from a stream.
+ */
+final class StorageFiles {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private StorageFiles() {}
+
+    /**
+     * Moves {@code source} to {@code target} when both share a filesystem, otherwise copies
+     * it and deletes the source.
+     */
+    static StoredFile moveOrCopy(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            return hash(target);
+        } catch (AtomicMoveNotSupportedException e) {
+            StoredFile stored;
+            try (var in = FileChannel.open(source, StandardOpenOption.READ)) {
+                stored = copyAndHash(in, target);
+            }
+            Files.deleteIfExists(source);
+            return stored;
+        }
+    }
+
+    static StoredFile write(InputStream inputStream, Path target) throws IOException {
+        return copyAndHash(Channels.newChannel(inputStream), target);
+    }
+
+    static StoredFile hash(Path file) throws IOException {
+        var digest = sha256();
+        var buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long size = 0;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int read;
+            while ((read = channel.read(buffer)) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+                size += read;
+            }
+        }
+        return new StoredFile(file.toString(), size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private static StoredFile copyAndHash(ReadableByteChannel in, Path target) throws IOException {
+        var digest = sha256();
+        var buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long size = 0;
+        try (var out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    size += out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        return new StoredFile(target.toString(), size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -7,6 +7,12 @@ public interface StorageService {
 
     String store(InputStream inputStream, String fileName, String operationRef);
 
+    /**
+     * Takes ownership of {@code source}, typically an upload already spooled to disk, and
+     * places it in storage without streaming it through the JVM where possible.
+     */
+    StoredFile store(Path source, String fileName, String operationRef);
+
     Path resolve(String filePath);
 
     void delete(String filePath);
@@ -0,0 +1,6 @@
+package com.janus.document.infrastructure.storage;
+
+/**
+ * A file placed in storage, with the size and hex SHA-256 digest of its content.
+ */
+public record StoredFile(String filePath, long size, String sha256) {}
@@ -1,5 +1,6 @@
 package com.janus.exchangerate.infrastructure;
 
+import com.janus.cluster.application.ClusterCoordinator;
 import com.janus.exchangerate.application.ExchangeRateService;
 import io.quarkus.scheduler.Scheduled;
 import jakarta.annotation.PostConstruct;
@@ -15,10 +16,14 @@ import java.time.LocalTime;
 public class ExchangeRateScheduler {
 
     private static final Logger LOG = Logger.getLogger(ExchangeRateScheduler.class);
+    private static final String LEASE_NAME = "exchange-rate-auto-fetch";
 
     @Inject
     ExchangeRateService exchangeRateService;
 
+    @Inject
+    ClusterCoordinator cluster;
+
     @ConfigProperty(name = "janus.exchange-rate.auto-fetch.enabled", defaultValue = "false")
     boolean autoFetchEnabled;
 
@@ -31,7 +36,6 @@ public class ExchangeRateScheduler {
     private volatile boolean runtimeEnabled;
     private volatile int scheduledHour;
     private volatile int scheduledMinute;
-    private volatile LocalDate lastFetchDate;
 
     @PostConstruct
     void init() {
@@ -46,12 +50,15 @@ public class ExchangeRateScheduler {
 
         var now = LocalTime.now();
         if (now.getHour() == scheduledHour && now.getMinute() == scheduledMinute) {
-            var today = LocalDate.now();
-            if (today.equals(lastFetchDate)) return;
+            // One fetch per day and scheduled time across all nodes; a new time can run again today
+            var runKey = String.format("%s@%02d:%02d", LocalDate.now(), scheduledHour, scheduledMinute);
 
             try {
+                var token = cluster.acquire(LEASE_NAME);
+                if (token.isEmpty() || cluster.hasRun(LEASE_NAME, runKey)) return;
+
                 exchangeRateService.fetchExternalRate("system");
-                lastFetchDate = today;
+                cluster.recordRun(LEASE_NAME, token.getAsLong(), runKey);
                 LOG.infof("Scheduled exchange rate fetch completed at %02d:%02d", scheduledHour, scheduledMinute);
             } catch (Exception e) {
                 LOG.error("Scheduled exchange rate fetch failed", e);
@@ -78,6 +85,5 @@ public class ExchangeRateScheduler {
     public void setScheduledTime(int hour, int minute) {
         this.scheduledHour = hour;
         this.scheduledMinute = minute;
-        this.lastFetchDate = null; // reset so it can run again today if time changes
     }
 }
@@ -11,6 +11,7 @@ import com.janus.inspection.application.InspectionService;
 import com.janus.inspection.domain.model.ChargeType;
 import com.janus.operation.api.dto.SetInspectionTypeRequest;
 import com.janus.operation.application.OperationService;
+import com.janus.shared.api.FileDownloads;
 import com.janus.shared.infrastructure.security.SecurityHelper;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
@@ -19,6 +20,7 @@ import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
@@ -27,6 +29,7 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
 import java.io.IOException;
@@ -108,6 +111,9 @@ public class InspectionResource {
     @RolesAllowed({"ADMIN", "AGENT", "ACCOUNTING", "CUSTOMER"})
     public Response downloadPhoto(@PathParam("operationId") Long operationId,
                                    @PathParam("photoId") Long photoId,
+                                   @HeaderParam("Range") String range,
+                                   @HeaderParam("If-Range") String ifRange,
+                                   @Context Request request,
                                    @Context SecurityContext sec) {
         securityHelper.enforceCustomerAccess(sec, operationService.findById(operationId));
         var photos = inspectionService.getPhotos(operationId);
@@ -116,15 +122,9 @@ public class InspectionResource {
                 .findFirst()
                 .orElseThrow(() -> new jakarta.ws.rs.NotFoundException("Inspection photo not found"));
 
-        var path = storageService.resolve(photo.filePath);
-        try {
-            return Response.ok(Files.newInputStream(path))
-                    .header("Content-Disposition", "attachment; filename=\"" + photo.originalName + "\"")
-                    .header("Content-Type", photo.mimeType)
-                    .build();
-        } catch (Exception e) {
-            throw new RuntimeException("Download failed", e);
-        }
+        // Photos are never modified after upload, so the id identifies the content
+        return FileDownloads.serve(request, range, ifRange, storageService.resolve(photo.filePath),
+                "photo-" + photo.id, photo.createdAt, photo.originalName, photo.mimeType);
     }
 
     // ── Expense endpoints ────────────────────────────────────────────────
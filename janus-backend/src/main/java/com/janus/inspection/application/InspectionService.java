@@ -18,6 +18,7 @@ import com.janus.inspection.domain.repository.ServiceConfigRepository;
 import com.janus.inspection.domain.repository.InspectionExpenseRepository;
 import com.janus.inspection.domain.repository.InspectionPhotoRepository;
 import com.janus.notification.application.NotificationService;
+import com.janus.notification.domain.model.NotificationCategory;
 import com.janus.payment.application.LiquidationService;
 import com.janus.payment.domain.model.Liquidation;
 import com.janus.payment.domain.model.LiquidationStatus;
@@ -166,14 +167,14 @@ public class InspectionService {
 
         // Notify customer
         if (operation.account != null && operation.account.email != null) {
-            notificationService.send(operationId, operation.account.email,
+            notificationService.sendCoalesced(NotificationCategory.INSPECTION_PHOTO, operationId, operation.account.email,
                     "Inspection Photo Uploaded - " + operation.referenceNumber,
                     "An inspection photo has been uploaded for operation " + operation.referenceNumber
                             + ". Please log in to the Janus platform for more details.");
         }
 
         // Internal notification
-        notificationService.send(operationId, inspectionPhotoEmail,
+        notificationService.sendCoalesced(NotificationCategory.INSPECTION_PHOTO, operationId, inspectionPhotoEmail,
                 "Inspection Photo Uploaded - " + operation.referenceNumber,
                 "An inspection photo (" + originalName + ") has been uploaded for operation "
                         + operation.referenceNumber + " by " + username + ".");
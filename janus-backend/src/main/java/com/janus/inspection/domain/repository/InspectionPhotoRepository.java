@@ -12,6 +12,13 @@ public class InspectionPhotoRepository implements PanacheRepository<InspectionPh
         return list("operation.id = ?1 and active = true", operationId);
     }
 
+    public List<String> findFilePathsByOperationId(Long operationId) {
+        return getEntityManager()
+                .createQuery("SELECT p.filePath FROM InspectionPhoto p WHERE p.operation.id = :operationId", String.class)
+                .setParameter("operationId", operationId)
+                .getResultList();
+    }
+
     public long deleteByOperationId(Long operationId) {
         return delete("operation.id", operationId);
     }
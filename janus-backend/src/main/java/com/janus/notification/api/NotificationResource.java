@@ -0,0 +1,25 @@
+package com.janus.notification.api;
+
+import com.janus.notification.api.dto.NotificationMetricsResponse;
+import com.janus.notification.application.NotificationDispatcher;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+@Path("/api/notifications")
+@Produces(MediaType.APPLICATION_JSON)
+public class NotificationResource {
+
+    @Inject
+    NotificationDispatcher notificationDispatcher;
+
+    @GET
+    @Path("/metrics")
+    @RolesAllowed({"ADMIN"})
+    public NotificationMetricsResponse getMetrics() {
+        return notificationDispatcher.metrics();
+    }
+}
@@ -0,0 +1,15 @@
+package com.janus.notification.api.dto;
+
+import java.time.LocalDateTime;
+
+public record NotificationMetricsResponse(
+        long pending,
+        long failed,
+        LocalDateTime oldestPendingAt,
+        int activeRecipients,
+        long deliveredSinceStart,
+        long retriesSinceStart,
+        long failuresSinceStart,
+        long coalescedSinceStart,
+        long averageDeliveryMillis
+) {}
@@ -0,0 +1,261 @@
+package com.janus.notification.application;
+
+import com.janus.cluster.application.ClusterCoordinator;
+import com.janus.notification.api.dto.NotificationMetricsResponse;
+import com.janus.notification.domain.model.Notification;
+import com.janus.notification.domain.model.NotificationQueued;
+import com.janus.notification.domain.model.NotificationStatus;
+import com.janus.notification.domain.repository.NotificationRepository;
+import com.janus.notification.infrastructure.EmailNotificationAdapter;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Delivers queued notifications on a fixed pool of virtual threads. Each recipient is
+ * drained by one worker at a time in id order, and a failed delivery blocks that
+ * recipient's later notifications until its retry succeeds or gives up, so every
+ * recipient receives mail in the order it was queued. Coalesced notifications wait out
+ * their digest window without blocking others and then go out as one email together
+ * with every pending notification of the same category for that recipient. Retries back off exponentially
+ * with jitter; after the last attempt the notification is marked FAILED. Only the holder
+ * of the notification-dispatcher lease delivers, so each notification is sent by one
+ * node; a crash between sending and recording the result can send it again.
+ */
+@ApplicationScoped
+public class NotificationDispatcher {
+
+    private static final Logger LOG = Logger.getLogger(NotificationDispatcher.class);
+    private static final String LEASE_NAME = "notification-dispatcher";
+    private static final int ERROR_MESSAGE_LENGTH = 255;
+
+    @Inject
+    NotificationRepository notificationRepository;
+
+    @Inject
+    EmailNotificationAdapter emailAdapter;
+
+    @Inject
+    ClusterCoordinator cluster;
+
+    @ConfigProperty(name = "janus.notifications.workers", defaultValue = "4")
+    int workerCount;
+
+    @ConfigProperty(name = "janus.notifications.batch-size", defaultValue = "100")
+    int batchSize;
+
+    @ConfigProperty(name = "janus.notifications.max-attempts", defaultValue = "6")
+    int maxAttempts;
+
+    @ConfigProperty(name = "janus.notifications.retry-base", defaultValue = "30s")
+    Duration retryBase;
+
+    @ConfigProperty(name = "janus.notifications.retry-max", defaultValue = "1h")
+    Duration retryMax;
+
+    private ExecutorService workers;
+    private final Set<String> activeRecipients = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pollRequested = new AtomicBoolean();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong deliveryNanos = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        workers = Executors.newFixedThreadPool(workerCount, Thread.ofVirtual().name("notification-worker-", 0).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    void onQueued(@Observes(during = TransactionPhase.AFTER_SUCCESS) NotificationQueued event) {
+        wake();
+    }
+
+    @Scheduled(every = "${janus.notifications.poll-every:10s}", identity = "notification-dispatcher")
+    void scheduledPoll() {
+        wake();
+    }
+
+    /**
+     * Requests a poll of the outbox; requests arriving while one is pending are coalesced.
+     */
+    public void wake() {
+        if (!pollRequested.getAndSet(true)) {
+            workers.execute(this::poll);
+        }
+    }
+
+    private void poll() {
+        pollRequested.set(false);
+        try {
+            if (cluster.acquire(LEASE_NAME).isEmpty()) {
+                return;
+            }
+            var recipients = QuarkusTransaction.requiringNew().call(
+                    () -> notificationRepository.findDueRecipients(LocalDateTime.now(), batchSize));
+            for (var recipient : recipients) {
+                if (activeRecipients.add(recipient)) {
+                    workers.execute(() -> drain(recipient));
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Failed to poll the notification outbox", e);
+        }
+    }
+
+    private void drain(String recipient) {
+        try {
+            while (true) {
+                var pending = QuarkusTransaction.requiringNew().call(
+                        () -> notificationRepository.findPending(recipient, batchSize));
+                var next = pending.stream().filter(n -> !isHeldForDigest(n)).findFirst();
+                if (next.isEmpty() || !isDue(next.get())) {
+                    return;
+                }
+                var head = next.get();
+                var batch = head.category == null ? List.of(head)
+                        : pending.stream().filter(n -> n.category == head.category).toList();
+                if (!deliver(batch)) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Failed to deliver notifications to %s", recipient);
+        } finally {
+            activeRecipients.remove(recipient);
+        }
+    }
+
+    private static boolean isDue(Notification notification) {
+        return notification.nextAttemptAt == null || !notification.nextAttemptAt.isAfter(LocalDateTime.now());
+    }
+
+    private static boolean isHeldForDigest(Notification notification) {
+        return notification.category != null && notification.attempts == 0 && !isDue(notification);
+    }
+
+    /**
+     * Sends the notifications as one email, a digest when there are several, and records
+     * the outcome on all of them.
+     */
+    private boolean deliver(List<Notification> notifications) {
+        var first = notifications.get(0);
+        var subject = notifications.size() == 1 ? first.subject : digestSubject(notifications);
+        var body = notifications.size() == 1 ? first.body : digestBody(notifications);
+        var ids = notifications.stream().map(n -> n.id).toList();
+
+        long start = System.nanoTime();
+        try {
+            emailAdapter.send(first.recipientEmail, subject, body);
+        } catch (Exception e) {
+            recordFailure(ids, e);
+            return false;
+        }
+        deliveryNanos.addAndGet(System.nanoTime() - start);
+        delivered.incrementAndGet();
+        coalesced.addAndGet(notifications.size() - 1);
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            var now = LocalDateTime.now();
+            for (var id : ids) {
+                var sent = notificationRepository.findById(id);
+                sent.status = NotificationStatus.SENT;
+                sent.sentAt = now;
+                sent.attempts++;
+                sent.errorMessage = null;
+            }
+        });
+        return true;
+    }
+
+    private static String digestSubject(List<Notification> notifications) {
+        return notifications.get(0).category.digestTitle() + " - " + notifications.size() + " updates";
+    }
+
+    private static String digestBody(List<Notification> notifications) {
+        var body = new StringBuilder("You have ").append(notifications.size()).append(" updates:\n");
+        for (var notification : notifications) {
+            body.append("\n").append(notification.subject).append("\n")
+                    .append(notification.body.strip()).append("\n");
+        }
+        return body.toString();
+    }
+
+    private void recordFailure(List<Long> notificationIds, Exception error) {
+        var message = String.valueOf(error.getMessage());
+        var errorMessage = message.length() > ERROR_MESSAGE_LENGTH
+                ? message.substring(0, ERROR_MESSAGE_LENGTH) : message;
+        QuarkusTransaction.requiringNew().run(() -> {
+            LocalDateTime retryAt = null;
+            for (var id : notificationIds) {
+                var notification = notificationRepository.findById(id);
+                notification.attempts++;
+                notification.errorMessage = errorMessage;
+                if (notification.attempts >= maxAttempts) {
+                    notification.status = NotificationStatus.FAILED;
+                    failed.incrementAndGet();
+                    LOG.errorf("Giving up on notification %d to %s after %d attempts: %s",
+                            id, notification.recipientEmail, notification.attempts, message);
+                } else {
+                    if (retryAt == null) {
+                        retryAt = LocalDateTime.now().plus(backoff(notification.attempts));
+                    }
+                    notification.nextAttemptAt = retryAt;
+                    retried.incrementAndGet();
+                    LOG.warnf("Failed to send notification %d to %s (attempt %d), retrying at %s: %s",
+                            id, notification.recipientEmail, notification.attempts, retryAt, message);
+                }
+            }
+        });
+    }
+
+    private Duration backoff(int attempts) {
+        var delay = retryBase.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (delay.compareTo(retryMax) > 0) {
+            delay = retryMax;
+        }
+        // Up to 20% jitter so recipients failing together do not retry in lockstep
+        return delay.plusMillis(ThreadLocalRandom.current().nextLong(delay.toMillis() / 5 + 1));
+    }
+
+    /**
+     * Outbox backlog from the database plus this node's delivery counters since startup.
+     */
+    public NotificationMetricsResponse metrics() {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            long deliveredCount = delivered.get();
+            return new NotificationMetricsResponse(
+                    notificationRepository.countByStatus(NotificationStatus.PENDING),
+                    notificationRepository.countByStatus(NotificationStatus.FAILED),
+                    notificationRepository.findOldestPendingCreatedAt().orElse(null),
+                    activeRecipients.size(),
+                    deliveredCount,
+                    retried.get(),
+                    failed.get(),
+                    coalesced.get(),
+                    deliveredCount == 0 ? 0 : deliveryNanos.get() / deliveredCount / 1_000_000);
+        });
+    }
+}
@@ -1,25 +1,36 @@
 package com.janus.notification.application;
 
 import com.janus.notification.domain.model.Notification;
+import com.janus.notification.domain.model.NotificationCategory;
+import com.janus.notification.domain.model.NotificationQueued;
 import com.janus.notification.domain.model.NotificationStatus;
 import com.janus.notification.domain.repository.NotificationRepository;
-import com.janus.notification.infrastructure.EmailNotificationAdapter;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import org.jboss.logging.Logger;
+import java.util.List;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+/**
+ * Queues notifications in the caller's transaction. Delivery happens after commit in
+ * NotificationDispatcher, so mail server latency never holds a request or transaction.
+ * Coalesced notifications are held for the digest window and sent together with the
+ * recipient's other pending notifications of the same category as one digest.
+ */
 @ApplicationScoped
 public class NotificationService {
 
-    private static final Logger LOG = Logger.getLogger(NotificationService.class);
-
     @Inject
     NotificationRepository notificationRepository;
 
     @Inject
-    EmailNotificationAdapter emailAdapter;
+    Event<NotificationQueued> notificationQueuedEvent;
+
+    @ConfigProperty(name = "janus.notifications.digest-window", defaultValue = "5m")
+    Duration digestWindow;
 
     @Transactional
     public void sendStatusChangeNotification(Long operationId, String recipientEmail,
@@ -31,27 +42,46 @@ public class NotificationService {
                 Please log in to the Janus platform for more details.
                 """.formatted(operationRef, newStatus);
 
-        send(operationId, recipientEmail, subject, body);
+        sendCoalesced(NotificationCategory.STATUS_CHANGE, operationId, recipientEmail, subject, body);
+    }
+
+    @Transactional
+    public void sendBulkStatusChangeNotification(String recipientEmail, List<String> operationRefs, String newStatus) {
+        var subject = operationRefs.size() + " operations - Status Update";
+        var body = """
+                The following operations have been updated to status: %s.
+
+                %s
+
+                Please log in to the Janus platform for more details.
+                """.formatted(newStatus, String.join("\n", operationRefs));
+
+        sendCoalesced(NotificationCategory.STATUS_CHANGE, null, recipientEmail, subject, body);
     }
 
     @Transactional
     public void send(Long operationId, String recipientEmail, String subject, String body) {
+        queue(null, operationId, recipientEmail, subject, body, LocalDateTime.now());
+    }
+
+    @Transactional
+    public void sendCoalesced(NotificationCategory category, Long operationId, String recipientEmail,
+                              String subject, String body) {
+        queue(category, operationId, recipientEmail, subject, body, LocalDateTime.now().plus(digestWindow));
+    }
+
+    private void queue(NotificationCategory category, Long operationId, String recipientEmail,
+                       String subject, String body, LocalDateTime sendAt) {
         var notification = new Notification();
         notification.operationId = operationId;
         notification.recipientEmail = recipientEmail;
         notification.subject = subject;
         notification.body = body;
-
-        try {
-            emailAdapter.send(recipientEmail, subject, body);
-            notification.status = NotificationStatus.SENT;
-            notification.sentAt = LocalDateTime.now();
-        } catch (Exception e) {
-            LOG.errorf("Failed to send notification to %s: %s", recipientEmail, e.getMessage());
-            notification.status = NotificationStatus.FAILED;
-            notification.errorMessage = e.getMessage();
-        }
+        notification.category = category;
+        notification.status = NotificationStatus.PENDING;
+        notification.nextAttemptAt = sendAt;
 
         notificationRepository.persist(notification);
+        notificationQueuedEvent.fire(new NotificationQueued(notification.id));
     }
 }
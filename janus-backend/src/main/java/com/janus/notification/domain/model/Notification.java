@@ -35,6 +35,17 @@ public class Notification extends PanacheEntity {
     @Column(name = "error_message")
     public String errorMessage;
 
+    @Column(nullable = false)
+    public int attempts;
+
+    @Column(name = "next_attempt_at")
+    public LocalDateTime nextAttemptAt;
+
+    // Null for notifications that are sent on their own
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    public NotificationCategory category;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     public LocalDateTime createdAt;
 
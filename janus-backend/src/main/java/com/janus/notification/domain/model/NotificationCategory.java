@@ -0,0 +1,20 @@
+package com.janus.notification.domain.model;
+
+/**
+ * Kinds of notifications that are coalesced per recipient into a single digest email.
+ */
+public enum NotificationCategory {
+    STATUS_CHANGE("Status Updates"),
+    INSPECTION_PHOTO("Inspection Photos"),
+    ALERT("Operation Alerts");
+
+    private final String digestTitle;
+
+    NotificationCategory(String digestTitle) {
+        this.digestTitle = digestTitle;
+    }
+
+    public String digestTitle() {
+        return digestTitle;
+    }
+}
@@ -0,0 +1,6 @@
+package com.janus.notification.domain.model;
+
+/**
+ * Fired when a notification is written to the outbox; observers act after commit.
+ */
+public record NotificationQueued(Long notificationId) {}
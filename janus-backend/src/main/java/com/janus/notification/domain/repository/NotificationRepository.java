@@ -1,14 +1,56 @@
 package com.janus.notification.domain.repository;
 
 import com.janus.notification.domain.model.Notification;
+import com.janus.notification.domain.model.NotificationStatus;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @ApplicationScoped
 public class NotificationRepository implements PanacheRepository<Notification> {
 
+    @Inject
+    EntityManager em;
+
     public List<Notification> findByOperationId(Long operationId) {
         return list("operationId ORDER BY createdAt DESC", operationId);
     }
+
+    /**
+     * Recipients with a due pending notification, most overdue first. Later notifications
+     * of a recipient wait behind an earlier one that is backing off; digest entries still
+     * inside their window do not hold anything back.
+     */
+    public List<String> findDueRecipients(LocalDateTime now, int limit) {
+        return em.createQuery("SELECT n.recipientEmail FROM Notification n"
+                        + " WHERE n.status = :pending AND n.nextAttemptAt <= :now"
+                        + " AND NOT EXISTS (SELECT 1 FROM Notification e WHERE e.recipientEmail = n.recipientEmail"
+                        + " AND e.status = :pending AND e.id < n.id AND (e.category IS NULL OR e.attempts > 0))"
+                        + " ORDER BY n.nextAttemptAt", String.class)
+                .setParameter("pending", NotificationStatus.PENDING)
+                .setParameter("now", now)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<Notification> findPending(String recipientEmail, int limit) {
+        return find("recipientEmail = ?1 AND status = ?2 ORDER BY id", recipientEmail, NotificationStatus.PENDING)
+                .page(0, limit)
+                .list();
+    }
+
+    public long countByStatus(NotificationStatus status) {
+        return count("status", status);
+    }
+
+    public Optional<LocalDateTime> findOldestPendingCreatedAt() {
+        return Optional.ofNullable(em.createQuery("SELECT MIN(n.createdAt) FROM Notification n WHERE n.status = :pending",
+                        LocalDateTime.class)
+                .setParameter("pending", NotificationStatus.PENDING)
+                .getSingleResult());
+    }
 }
@@ -1,12 +1,17 @@
 package com.janus.operation.api;
 
+import com.janus.operation.api.dto.BulkChangeStatusRequest;
+import com.janus.operation.api.dto.BulkChangeStatusResponse;
 import com.janus.operation.api.dto.ChangeStatusRequest;
 import com.janus.operation.api.dto.CreateOperationRequest;
+import com.janus.operation.api.dto.OperationReadinessResponse;
 import com.janus.operation.api.dto.OperationResponse;
 import com.janus.operation.api.dto.StatusHistoryResponse;
+import com.janus.operation.application.OperationReadinessService;
 import com.janus.operation.application.OperationService;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.service.StatusTransitionService;
+import com.janus.shared.api.dto.CursorPageResponse;
 import com.janus.shared.api.dto.PageResponse;
 import com.janus.shared.infrastructure.security.SecurityHelper;
 import jakarta.annotation.security.RolesAllowed;
@@ -39,6 +44,9 @@ public class OperationResource {
     @Inject
     OperationService operationService;
 
+    @Inject
+    OperationReadinessService operationReadinessService;
+
     @Inject
     StatusTransitionService statusTransitionService;
 
@@ -62,14 +70,33 @@ public class OperationResource {
         return operationService.listPaginated(status, accountId, search, page, size);
     }
 
+    @GET
+    @Path("/cursor")
+    @Transactional
+    @RolesAllowed({"ADMIN", "AGENT", "ACCOUNTING", "CUSTOMER"})
+    public CursorPageResponse<OperationResponse> listByCursor(
+            @QueryParam("status") OperationStatus status,
+            @QueryParam("accountId") Long accountId,
+            @QueryParam("search") String search,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("size") @DefaultValue("10") int size,
+            @QueryParam("includeTotal") @DefaultValue("false") boolean includeTotal,
+            @Context SecurityContext sec) {
+        var accountIdFilter = securityHelper.getAccountIdFilter(sec);
+        if (accountIdFilter != null) {
+            accountId = accountIdFilter;
+        }
+        return operationService.listByCursor(status, accountId, search, cursor, size, includeTotal);
+    }
+
     @GET
     @Path("/{id}")
     @Transactional
     @RolesAllowed({"ADMIN", "AGENT", "ACCOUNTING", "CUSTOMER", "CARRIER"})
     public OperationResponse getById(@PathParam("id") Long id, @Context SecurityContext sec) {
-        var op = operationService.findById(id);
-        securityHelper.enforceCustomerAccess(sec, op);
-        return OperationResponse.from(op);
+        var response = operationService.findResponseById(id);
+        securityHelper.enforceCustomerAccess(sec, response.accountId());
+        return response;
     }
 
     @POST
@@ -101,6 +128,14 @@ public class OperationResource {
         return Response.ok().build();
     }
 
+    @POST
+    @Path("/bulk/change-status")
+    @RolesAllowed({"ADMIN", "AGENT"})
+    public BulkChangeStatusResponse changeStatusBulk(@Valid BulkChangeStatusRequest request,
+                                                     @Context SecurityContext sec) {
+        return operationService.changeStatusBulk(request, sec.getUserPrincipal().getName(), null);
+    }
+
     @DELETE
     @Path("/{id}")
     @RolesAllowed({"ADMIN"})
@@ -117,8 +152,16 @@ public class OperationResource {
                                                    @Valid com.janus.operation.api.dto.BlOriginalAvailableRequest body,
                                                    @Context SecurityContext sec) {
         var value = body.blAvailability();
-        var op = operationService.updateBlAvailability(id, value, sec.getUserPrincipal().getName());
-        return OperationResponse.from(op);
+        operationService.updateBlAvailability(id, value, sec.getUserPrincipal().getName());
+        return operationService.findResponseById(id);
+    }
+
+    @GET
+    @Path("/readiness")
+    @Transactional
+    @RolesAllowed({"ADMIN", "SUPERVISOR", "AGENT"})
+    public List<OperationReadinessResponse> getReadiness(@QueryParam("status") OperationStatus status) {
+        return operationReadinessService.board(status);
     }
 
     @GET
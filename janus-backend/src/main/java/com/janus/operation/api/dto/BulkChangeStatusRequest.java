@@ -0,0 +1,13 @@
+package com.janus.operation.api.dto;
+
+import com.janus.operation.domain.model.OperationStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BulkChangeStatusRequest(
+        @NotEmpty @Size(max = 500) List<@NotNull Long> operationIds,
+        @NotNull OperationStatus newStatus,
+        String comment
+) {}
@@ -0,0 +1,25 @@
+package com.janus.operation.api.dto;
+
+import java.util.List;
+
+public record BulkChangeStatusResponse(
+        int succeeded,
+        int failed,
+        List<Result> results
+) {
+    public record Result(Long operationId, boolean success, String errorCode, String error) {
+
+        public static Result ok(Long operationId) {
+            return new Result(operationId, true, null, null);
+        }
+
+        public static Result failure(Long operationId, String errorCode, String error) {
+            return new Result(operationId, false, errorCode, error);
+        }
+    }
+
+    public static BulkChangeStatusResponse of(List<Result> results) {
+        int succeeded = (int) results.stream().filter(Result::success).count();
+        return new BulkChangeStatusResponse(succeeded, results.size() - succeeded, results);
+    }
+}
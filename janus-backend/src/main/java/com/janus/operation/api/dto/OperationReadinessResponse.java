@@ -0,0 +1,18 @@
+package com.janus.operation.api.dto;
+
+import com.janus.compliance.domain.model.ValidationResult;
+import com.janus.operation.domain.model.OperationStatus;
+import java.util.List;
+
+public record OperationReadinessResponse(
+        Long operationId,
+        String referenceNumber,
+        OperationStatus status,
+        List<TransitionReadiness> transitions
+) {
+    public record TransitionReadiness(
+            OperationStatus targetStatus,
+            boolean ready,
+            List<ValidationResult.ValidationError> blockers
+    ) {}
+}
@@ -59,6 +59,35 @@ public record OperationResponse(
         BigDecimal volume,
         BigDecimal declaredValue
 ) {
+    /**
+     * Projection constructor used by OperationRepository's JPQL constructor expression;
+     * derives blOriginalAvailable the same way as {@link #from(Operation)}.
+     */
+    public OperationResponse(
+            Long id, String referenceNumber, Long accountId, String accountName,
+            OperationType operationType, TransportMode transportMode, CargoType cargoType,
+            OperationCategory operationCategory, OperationStatus status,
+            Long assignedAgentId, String assignedAgentName, String blNumber, String containerNumber,
+            LocalDateTime estimatedArrival, BlAvailability blAvailability, String notes,
+            LocalDateTime arrivalDate, LocalDateTime closedAt, InspectionType inspectionType,
+            LocalDateTime inspectionSetAt, String incoterm, BlType blType, String childBlNumber,
+            Boolean localChargesValidated, LocalDateTime valuationFinalizedAt,
+            Long arrivalPortId, String arrivalPortCode, String arrivalPortName,
+            Long originPortId, String originPortCode, String originPortName,
+            Long warehouseId, String warehouseCode, String warehouseName,
+            Long partnerId, String partnerName, LocalDateTime createdAt, LocalDateTime updatedAt,
+            Integer pieces, BigDecimal grossWeight, BigDecimal volumetricWeight, BigDecimal volume,
+            BigDecimal declaredValue) {
+        this(id, referenceNumber, accountId, accountName, operationType, transportMode, cargoType,
+                operationCategory, status, assignedAgentId, assignedAgentName, blNumber, containerNumber,
+                estimatedArrival, blAvailability, blAvailability != BlAvailability.NOT_AVAILABLE, notes,
+                arrivalDate, closedAt, inspectionType, inspectionSetAt, incoterm, blType, childBlNumber,
+                localChargesValidated, valuationFinalizedAt, arrivalPortId, arrivalPortCode, arrivalPortName,
+                originPortId, originPortCode, originPortName, warehouseId, warehouseCode, warehouseName,
+                partnerId, partnerName, createdAt, updatedAt, pieces, grossWeight, volumetricWeight, volume,
+                declaredValue);
+    }
+
     public static OperationResponse from(Operation op) {
         return new OperationResponse(
                 op.id,
@@ -11,7 +11,9 @@ public record StatusHistoryResponse(
         String changedByUsername,
         String comment,
         LocalDateTime changedAt,
-        String ipAddress
+        String ipAddress,
+        LocalDateTime exitedAt,
+        Long durationMinutes
 ) {
     public static StatusHistoryResponse from(StatusHistory h) {
         return new StatusHistoryResponse(
@@ -21,7 +23,9 @@ public record StatusHistoryResponse(
                 h.changedBy != null ? h.changedBy.username : null,
                 h.comment,
                 h.changedAt,
-                h.ipAddress
+                h.ipAddress,
+                h.exitedAt,
+                h.durationMinutes
         );
     }
 }
@@ -0,0 +1,49 @@
+package com.janus.operation.application;
+
+import com.janus.operation.domain.model.OperationStatus;
+import com.janus.operation.domain.repository.OperationRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Short-lived cache of filtered operation counts so cursor pages that ask for a
+ * total do not re-run the full COUNT on every request.
+ */
+@ApplicationScoped
+public class OperationCountCache {
+
+    private static final int MAX_ENTRIES = 1000;
+
+    @Inject
+    OperationRepository operationRepository;
+
+    @ConfigProperty(name = "janus.operations.count-cache-seconds", defaultValue = "30")
+    long ttlSeconds;
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public long count(OperationStatus status, Long accountId, String search, Collection<Long> searchIds) {
+        var key = status + "|" + accountId + "|" + (search == null ? "" : search.toLowerCase());
+        var now = System.currentTimeMillis();
+        var cached = counts.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.value();
+        }
+        var value = operationRepository.countFiltered(status, accountId, search, searchIds);
+        if (counts.size() >= MAX_ENTRIES) {
+            counts.clear();
+        }
+        counts.put(key, new CachedCount(value, now + ttlSeconds * 1000));
+        return value;
+    }
+
+    public void invalidate() {
+        counts.clear();
+    }
+
+    private record CachedCount(long value, long expiresAt) {}
+}
@@ -0,0 +1,188 @@
+package com.janus.operation.application;
+
+import com.janus.audit.domain.model.AuditEvent;
+import com.janus.compliance.domain.model.ComplianceConfigSnapshot;
+import com.janus.compliance.domain.service.ComplianceConfigCache;
+import com.janus.compliance.domain.service.ComplianceValidationService;
+import com.janus.operation.api.dto.OperationReadinessResponse;
+import com.janus.operation.api.dto.OperationReadinessResponse.TransitionReadiness;
+import com.janus.operation.domain.model.OperationChanged;
+import com.janus.operation.domain.model.OperationStatus;
+import com.janus.operation.domain.repository.OperationRepository;
+import com.janus.operation.domain.service.StatusTransitionService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * What blocks each open operation's next transitions, found by dry-running the compliance
+ * rules for every allowed target except CANCELLED, which status changes never validate.
+ * Results are cached per operation and dropped when the operation or anything audited
+ * against it changes on this node, or when the compliance configuration snapshot changes;
+ * entries expire after the TTL so operation changes made on other nodes are picked up.
+ * Cache misses are evaluated in chunks on bounded workers, each chunk in its own
+ * transaction with its data batch-loaded.
+ */
+@ApplicationScoped
+public class OperationReadinessService {
+
+    @Inject
+    OperationRepository operationRepository;
+
+    @Inject
+    ComplianceValidationService complianceValidationService;
+
+    @Inject
+    StatusTransitionService statusTransitionService;
+
+    @Inject
+    ComplianceConfigCache configCache;
+
+    @ConfigProperty(name = "janus.readiness.workers", defaultValue = "4")
+    int workerCount;
+
+    @ConfigProperty(name = "janus.readiness.chunk-size", defaultValue = "500")
+    int chunkSize;
+
+    @ConfigProperty(name = "janus.readiness.ttl", defaultValue = "5m")
+    Duration ttl;
+
+    private ExecutorService workers;
+
+    // Only operations the board has evaluated have entries. Evaluations start by making
+    // sure one exists; invalidations then turn it into an entry without readiness whose
+    // version rejects results of evaluations that started before it
+    private final Map<Long, CachedReadiness> cache = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        workers = Executors.newFixedThreadPool(workerCount, Thread.ofVirtual().name("readiness-worker-", 0).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Readiness of every open operation, or of those in {@code status} when given,
+     * ordered by operation id.
+     */
+    public List<OperationReadinessResponse> board(OperationStatus status) {
+        var open = operationRepository.findOpen(status);
+        var startedAt = System.nanoTime();
+        var config = configCache.current();
+        cache.values().removeIf(entry -> isExpired(entry, startedAt));
+
+        var readinessById = new HashMap<Long, OperationReadinessResponse>();
+        var versions = new HashMap<Long, Long>();
+        for (var operation : open) {
+            var cached = cache.get(operation.id());
+            if (cached != null && cached.readiness() != null && cached.config() == config
+                    && cached.readiness().status() == operation.status()) {
+                readinessById.put(operation.id(), cached.readiness());
+            } else {
+                var entry = cache.compute(operation.id(), (id, current) ->
+                        current != null ? current : new CachedReadiness(null, 0L, null, startedAt));
+                versions.put(operation.id(), entry.version());
+            }
+        }
+
+        for (var readiness : evaluate(new ArrayList<>(versions.keySet()))) {
+            var operationId = readiness.operationId();
+            var version = versions.get(operationId);
+            cache.computeIfPresent(operationId, (id, current) ->
+                    current.version() == version && configCache.current() == config
+                            ? new CachedReadiness(readiness, version, config, startedAt)
+                            : current);
+            readinessById.put(operationId, readiness);
+        }
+
+        return open.stream()
+                .map(operation -> readinessById.get(operation.id()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    void onOperationChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) OperationChanged event) {
+        invalidate(event.operationId());
+    }
+
+    void onAudited(@Observes(during = TransactionPhase.AFTER_SUCCESS) AuditEvent event) {
+        if (event.operationId() != null) {
+            invalidate(event.operationId());
+        }
+    }
+
+    private void invalidate(Long operationId) {
+        var now = System.nanoTime();
+        cache.computeIfPresent(operationId, (id, current) ->
+                new CachedReadiness(null, current.version() + 1, null, now));
+    }
+
+    private boolean isExpired(CachedReadiness entry, long now) {
+        // An evaluation still running when its entry expires is older than the TTL itself,
+        // so dropping invalidation markers here cannot let a stale result look fresh
+        return now - entry.at() > ttl.toNanos();
+    }
+
+    private List<OperationReadinessResponse> evaluate(List<Long> operationIds) {
+        var futures = new ArrayList<Future<List<OperationReadinessResponse>>>();
+        for (int i = 0; i < operationIds.size(); i += chunkSize) {
+            var chunk = List.copyOf(operationIds.subList(i, Math.min(i + chunkSize, operationIds.size())));
+            futures.add(workers.submit(() -> QuarkusTransaction.requiringNew().call(() -> evaluateChunk(chunk))));
+        }
+        var results = new ArrayList<OperationReadinessResponse>(operationIds.size());
+        try {
+            for (var future : futures) {
+                results.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while evaluating operation readiness", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new RuntimeException("Failed to evaluate operation readiness", e.getCause());
+        }
+        return results;
+    }
+
+    private List<OperationReadinessResponse> evaluateChunk(List<Long> operationIds) {
+        var operations = operationRepository.list("id IN ?1", operationIds);
+        var contexts = complianceValidationService.contextsFor(operations);
+        var results = new ArrayList<OperationReadinessResponse>(operations.size());
+        for (var operation : operations) {
+            var targets = statusTransitionService.getAllowedTransitions(operation.status).stream()
+                    .filter(target -> target != OperationStatus.CANCELLED)
+                    .sorted()
+                    .toList();
+            var transitions = complianceValidationService.validateTargets(contexts.get(operation.id), targets)
+                    .entrySet().stream()
+                    .map(e -> new TransitionReadiness(e.getKey(), e.getValue().passed(), e.getValue().errors()))
+                    .toList();
+            results.add(new OperationReadinessResponse(
+                    operation.id, operation.referenceNumber, operation.status, transitions));
+        }
+        return results;
+    }
+
+    private record CachedReadiness(OperationReadinessResponse readiness, long version,
+                                   ComplianceConfigSnapshot config, long at) {}
+}
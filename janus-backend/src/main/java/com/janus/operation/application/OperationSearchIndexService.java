@@ -0,0 +1,179 @@
+package com.janus.operation.application;
+
+import com.janus.declaration.domain.repository.DeclarationRepository;
+import com.janus.operation.domain.model.Operation;
+import com.janus.operation.domain.model.OperationSearchEntry;
+import com.janus.operation.domain.model.OperationSearchIndexed;
+import com.janus.operation.domain.repository.OperationRepository;
+import com.janus.operation.domain.repository.OperationSearchEntryRepository;
+import com.janus.shared.infrastructure.search.TrigramIndex;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Maintains the operation_search_index table. In "database" mode lookups go through the
+ * table (trigram GIN index on PostgreSQL); in "memory" mode an in-process trigram index
+ * mirrors the table and resolves search terms to operation ids.
+ */
+@ApplicationScoped
+public class OperationSearchIndexService {
+
+    private static final Logger LOG = Logger.getLogger(OperationSearchIndexService.class);
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    @Inject
+    OperationRepository operationRepository;
+
+    @Inject
+    OperationSearchEntryRepository searchEntryRepository;
+
+    @Inject
+    DeclarationRepository declarationRepository;
+
+    @Inject
+    Event<OperationSearchIndexed> indexedEvent;
+
+    @ConfigProperty(name = "janus.search.mode", defaultValue = "memory")
+    String mode;
+
+    @ConfigProperty(name = "janus.search.max-candidates", defaultValue = "1000")
+    int maxCandidates;
+
+    private final TrigramIndex memoryIndex = new TrigramIndex();
+
+    void onStart(@Observes StartupEvent event) {
+        backfillMissingEntries();
+        if (isMemoryMode()) {
+            loadMemoryIndex();
+        }
+    }
+
+    /**
+     * Resolves a search term to matching operation ids using the in-memory index. Returns
+     * empty when the database should evaluate the term instead (database mode, or too
+     * many matches to pass as an id list).
+     */
+    public Optional<Set<Long>> findMatchingIds(String search) {
+        if (!isMemoryMode()) {
+            return Optional.empty();
+        }
+        return memoryIndex.search(normalizeTerm(search), maxCandidates);
+    }
+
+    public static String normalizeTerm(String search) {
+        return search.trim().toLowerCase();
+    }
+
+    @Transactional
+    public void reindex(Operation op) {
+        var declarationNumbers = declarationRepository.findByOperationId(op.id).stream()
+                .map(d -> d.declarationNumber);
+        var text = Stream.concat(
+                        Stream.of(op.referenceNumber,
+                                op.account != null ? op.account.name : null,
+                                op.account != null ? op.account.taxId : null,
+                                op.blNumber),
+                        declarationNumbers)
+                .filter(Objects::nonNull)
+                .map(String::toLowerCase)
+                .collect(Collectors.joining("\n"));
+
+        var entry = searchEntryRepository.findById(op.id);
+        if (entry == null) {
+            entry = new OperationSearchEntry();
+            entry.operationId = op.id;
+            entry.searchText = text;
+            searchEntryRepository.persist(entry);
+        } else if (!text.equals(entry.searchText)) {
+            entry.searchText = text;
+        } else {
+            return;
+        }
+        indexedEvent.fire(new OperationSearchIndexed(op.id, text));
+    }
+
+    @Transactional
+    public void reindex(Long operationId) {
+        operationRepository.findByIdOptional(operationId).ifPresent(this::reindex);
+    }
+
+    @Transactional
+    public void reindexAccount(Long accountId) {
+        operationRepository.findByAccountId(accountId).forEach(this::reindex);
+    }
+
+    @Transactional
+    public void remove(Long operationId) {
+        if (searchEntryRepository.deleteById(operationId)) {
+            indexedEvent.fire(new OperationSearchIndexed(operationId, null));
+        }
+    }
+
+    void onIndexed(@Observes(during = TransactionPhase.AFTER_SUCCESS) OperationSearchIndexed event) {
+        if (!isMemoryMode()) {
+            return;
+        }
+        if (event.searchText() == null) {
+            memoryIndex.remove(event.operationId());
+        } else {
+            memoryIndex.put(event.operationId(), event.searchText());
+        }
+    }
+
+    private boolean isMemoryMode() {
+        return "memory".equalsIgnoreCase(mode);
+    }
+
+    private void backfillMissingEntries() {
+        long indexed = 0;
+        while (true) {
+            var batch = QuarkusTransaction.requiringNew().call(() -> {
+                var missing = operationRepository.find(
+                        "FROM Operation o WHERE NOT EXISTS "
+                                + "(SELECT 1 FROM OperationSearchEntry s WHERE s.operationId = o.id) ORDER BY o.id")
+                        .page(0, BACKFILL_BATCH_SIZE)
+                        .list();
+                missing.forEach(this::reindex);
+                return missing.size();
+            });
+            indexed += batch;
+            if (batch < BACKFILL_BATCH_SIZE) {
+                break;
+            }
+        }
+        if (indexed > 0) {
+            LOG.infof("Backfilled search index for %d operations", indexed);
+        }
+    }
+
+    private void loadMemoryIndex() {
+        memoryIndex.clear();
+        long lastId = 0;
+        while (true) {
+            final long after = lastId;
+            var batch = QuarkusTransaction.requiringNew().call(
+                    () -> searchEntryRepository.findAfterId(after, BACKFILL_BATCH_SIZE));
+            for (var entry : batch) {
+                memoryIndex.put(entry.operationId, entry.searchText);
+                lastId = entry.operationId;
+            }
+            if (batch.size() < BACKFILL_BATCH_SIZE) {
+                break;
+            }
+        }
+        LOG.infof("Loaded %d operations into the in-memory search index", memoryIndex.size());
+    }
+}
@@ -5,22 +5,30 @@ import com.janus.audit.domain.model.AuditAction;
 import com.janus.audit.domain.model.AuditEvent;
 import com.janus.account.domain.repository.AccountRepository;
 import com.janus.comment.domain.repository.OperationCommentRepository;
+import com.janus.dashboard.application.DashboardRollupService;
+import com.janus.dashboard.domain.model.DashboardRollupKey;
 import com.janus.declaration.domain.repository.CrossingDiscrepancyRepository;
 import com.janus.declaration.domain.repository.CrossingResultRepository;
 import com.janus.declaration.domain.repository.DeclarationRepository;
 import com.janus.declaration.domain.repository.TariffLineRepository;
 import com.janus.document.domain.repository.DocumentRepository;
 import com.janus.document.domain.repository.DocumentVersionRepository;
+import com.janus.document.infrastructure.storage.StorageService;
 import com.janus.inspection.domain.repository.InspectionExpenseRepository;
 import com.janus.inspection.domain.repository.InspectionPhotoRepository;
 import com.janus.notification.application.NotificationService;
+import com.janus.operation.api.dto.BulkChangeStatusRequest;
+import com.janus.operation.api.dto.BulkChangeStatusResponse;
 import com.janus.operation.api.dto.ChangeStatusRequest;
 import com.janus.operation.api.dto.CreateOperationRequest;
 import com.janus.operation.api.dto.OperationResponse;
 import com.janus.operation.domain.model.BlAvailability;
+import com.janus.shared.api.dto.CursorPageResponse;
+import com.janus.shared.api.dto.KeysetCursor;
 import com.janus.shared.api.dto.PageResponse;
 import com.janus.operation.domain.model.BlType;
 import com.janus.operation.domain.model.Operation;
+import com.janus.operation.domain.model.OperationChanged;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.StatusHistory;
 import com.janus.operation.domain.model.CargoType;
@@ -30,7 +38,9 @@ import com.janus.port.domain.repository.PortRepository;
 import com.janus.operation.domain.repository.OperationRepository;
 import com.janus.operation.domain.repository.StatusHistoryRepository;
 import com.janus.operation.domain.service.AnalystAssignmentService;
+import com.janus.operation.domain.service.ReferenceNumberAllocator;
 import com.janus.operation.domain.service.StatusTransitionService;
+import com.janus.compliance.domain.model.ValidationResult;
 import com.janus.compliance.domain.service.ComplianceValidationService;
 import com.janus.shared.infrastructure.exception.BusinessException;
 import com.janus.shared.infrastructure.exception.NotFoundException;
@@ -42,9 +52,16 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class OperationService {
@@ -67,6 +84,9 @@ public class OperationService {
     @Inject
     AnalystAssignmentService analystAssignmentService;
 
+    @Inject
+    ReferenceNumberAllocator referenceNumberAllocator;
+
     @Inject
     NotificationService notificationService;
 
@@ -109,12 +129,27 @@ public class OperationService {
     @Inject
     InspectionPhotoRepository inspectionPhotoRepository;
 
+    @Inject
+    StorageService storageService;
+
     @Inject
     ExternalPermitRepository externalPermitRepository;
 
+    @Inject
+    OperationCountCache operationCountCache;
+
+    @Inject
+    OperationSearchIndexService operationSearchIndexService;
+
+    @Inject
+    DashboardRollupService dashboardRollupService;
+
     @Inject
     Event<AuditEvent> auditEvent;
 
+    @Inject
+    Event<OperationChanged> operationChangedEvent;
+
     public List<Operation> listAll() {
         return operationRepository.listAll();
     }
@@ -128,12 +163,51 @@ public class OperationService {
     }
 
     public PageResponse<OperationResponse> listPaginated(OperationStatus status, Long accountId, String search, int page, int size) {
-        var operations = operationRepository.findPaginated(status, accountId, search, page, size);
-        var total = operationRepository.countFiltered(status, accountId, search);
-        var content = operations.stream().map(OperationResponse::from).toList();
+        var searchIds = resolveSearchIds(search);
+        if (searchIds != null && searchIds.isEmpty()) {
+            return PageResponse.of(List.of(), page, size, 0);
+        }
+        var content = operationRepository.findPaginated(status, accountId, search, searchIds, page, size);
+        var total = operationRepository.countFiltered(status, accountId, search, searchIds);
         return PageResponse.of(content, page, size, total);
     }
 
+    public CursorPageResponse<OperationResponse> listByCursor(OperationStatus status, Long accountId, String search,
+                                                              String cursor, int size, boolean includeTotal) {
+        size = Math.clamp(size, 1, CursorPageResponse.MAX_SIZE);
+        var position = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+        var searchIds = resolveSearchIds(search);
+        if (searchIds != null && searchIds.isEmpty()) {
+            return CursorPageResponse.of(List.of(), size, null, includeTotal ? 0L : null);
+        }
+        var content = operationRepository.findAfterCursor(status, accountId, search, searchIds,
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                size + 1);
+
+        String nextCursor = null;
+        if (content.size() > size) {
+            content = content.subList(0, size);
+            var last = content.get(size - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+        }
+
+        Long total = includeTotal ? operationCountCache.count(status, accountId, search, searchIds) : null;
+        return CursorPageResponse.of(content, size, nextCursor, total);
+    }
+
+    private Set<Long> resolveSearchIds(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+        return operationSearchIndexService.findMatchingIds(search).orElse(null);
+    }
+
+    public OperationResponse findResponseById(Long id) {
+        return operationRepository.findResponseById(id)
+                .orElseThrow(() -> new NotFoundException("Operation", id));
+    }
+
     public Operation findById(Long id) {
         return operationRepository.findByIdOptional(id)
                 .orElseThrow(() -> new NotFoundException("Operation", id));
@@ -190,7 +264,7 @@ public class OperationService {
                             "The selected partner is not associated with this account"));
         }
 
-        op.referenceNumber = generateReferenceNumber(op.arrivalPort.code);
+        op.referenceNumber = referenceNumberAllocator.next(op.arrivalPort.code);
 
         // Validate childBlNumber (HBL) required for CONSOLIDATED BL
         if (op.blType == BlType.CONSOLIDATED
@@ -204,6 +278,10 @@ public class OperationService {
         }
 
         operationRepository.persist(op);
+        operationCountCache.invalidate();
+        operationSearchIndexService.reindex(op);
+        dashboardRollupService.operationCreated(op);
+        operationChangedEvent.fire(new OperationChanged(op.id));
 
         // Category-specific business logic
         switch (op.operationCategory) {
@@ -258,6 +336,7 @@ public class OperationService {
             throw new BusinessException("CONTAINER_NUMBER_REQUIRED", "Container number is required for MARITIME FCL transport mode");
         }
 
+        var rollupKey = DashboardRollupKey.of(op);
         var previousData = JsonUtil.toJson(Map.of(
                 "transportMode", op.transportMode.name(),
                 "operationCategory", op.operationCategory.name(),
@@ -321,6 +400,10 @@ public class OperationService {
                     .orElseThrow(() -> new NotFoundException("User", request.assignedAgentId()));
         }
 
+        operationSearchIndexService.reindex(op);
+        dashboardRollupService.operationChanged(rollupKey, op);
+        operationChangedEvent.fire(new OperationChanged(op.id));
+
         var newData = JsonUtil.toJson(Map.of(
                 "transportMode", op.transportMode.name(),
                 "operationCategory", op.operationCategory.name(),
@@ -341,6 +424,7 @@ public class OperationService {
         var op = findById(id);
         var previousValue = op.blAvailability;
         op.blAvailability = value;
+        operationChangedEvent.fire(new OperationChanged(op.id));
 
         auditEvent.fire(new AuditEvent(
                 username, AuditAction.UPDATE, "Operation", op.id, op.id,
@@ -349,13 +433,6 @@ public class OperationService {
                 "BL availability changed to " + value
         ));
 
-        // Force initialization of lazy associations for DTO mapping
-        if (op.account != null) { var ignored = op.account.name; }
-        if (op.assignedAgent != null) { var ignored = op.assignedAgent.fullName; }
-        if (op.arrivalPort != null) { var ignored = op.arrivalPort.name; }
-        if (op.originPort != null) { var ignored = op.originPort.name; }
-        if (op.warehouse != null) { var ignored = op.warehouse.name; }
-
         return op;
     }
 
@@ -370,51 +447,151 @@ public class OperationService {
         if (request.newStatus() != OperationStatus.CANCELLED) {
             var complianceResult = complianceValidationService.validate(op, request.newStatus());
             if (!complianceResult.passed()) {
-                var messages = complianceResult.errors().stream()
-                        .map(e -> e.ruleCode() + ": " + e.message())
-                        .toList();
-                throw new BusinessException("COMPLIANCE_VALIDATION_FAILED", "Compliance validation failed: " + String.join("; ", messages));
+                throw new BusinessException("COMPLIANCE_VALIDATION_FAILED", complianceFailureMessage(complianceResult));
             }
         }
 
-        op.status = request.newStatus();
+        var changedBy = username != null ? userRepository.findByUsername(username).orElse(null) : null;
+        applyStatusChange(op, request.newStatus(), request.comment(), username, changedBy, ipAddress,
+                statusHistoryRepository.findOpenStage(op.id).orElse(null));
+
+        notificationService.sendStatusChangeNotification(
+                op.id, op.account.email, op.referenceNumber, request.newStatus().name()
+        );
+    }
+
+    /**
+     * Moves many operations to the same status in one transaction. Operations, documents,
+     * rule toggles and the acting user are loaded once; each operation is reported as
+     * succeeded or failed instead of aborting the whole batch. Customers receive one
+     * notification listing all their changed operations.
+     */
+    @Transactional
+    public BulkChangeStatusResponse changeStatusBulk(BulkChangeStatusRequest request, String username, String ipAddress) {
+        var newStatus = request.newStatus();
+        var ids = new LinkedHashSet<>(request.operationIds());
+        var operationsById = operationRepository.findByIdsWithAccount(ids).stream()
+                .collect(Collectors.toMap(op -> op.id, op -> op));
+
+        var results = new ArrayList<BulkChangeStatusResponse.Result>();
+        var candidates = new ArrayList<Operation>();
+        for (var id : ids) {
+            var op = operationsById.get(id);
+            if (op == null) {
+                results.add(BulkChangeStatusResponse.Result.failure(id, "NOT_FOUND", "Operation not found with id: " + id));
+                continue;
+            }
+            try {
+                statusTransitionService.validateTransition(op.status, newStatus);
+                candidates.add(op);
+            } catch (BusinessException e) {
+                results.add(BulkChangeStatusResponse.Result.failure(id, e.getErrorCode(), e.getMessage()));
+            }
+        }
+
+        var compliance = newStatus != OperationStatus.CANCELLED
+                ? complianceValidationService.validateAll(candidates, newStatus)
+                : Map.<Long, ValidationResult>of();
+        var changedBy = username != null ? userRepository.findByUsername(username).orElse(null) : null;
+        var openStages = statusHistoryRepository.findOpenStagesByOperationIds(
+                candidates.stream().map(op -> op.id).toList());
+        var changedByRecipient = new LinkedHashMap<String, List<Operation>>();
+
+        for (var op : candidates) {
+            var complianceResult = compliance.get(op.id);
+            if (complianceResult != null && !complianceResult.passed()) {
+                results.add(BulkChangeStatusResponse.Result.failure(op.id,
+                        "COMPLIANCE_VALIDATION_FAILED", complianceFailureMessage(complianceResult)));
+                continue;
+            }
+            applyStatusChange(op, newStatus, request.comment(), username, changedBy, ipAddress,
+                    openStages.get(op.id));
+            results.add(BulkChangeStatusResponse.Result.ok(op.id));
+            if (op.account != null && op.account.email != null) {
+                changedByRecipient.computeIfAbsent(op.account.email, k -> new ArrayList<>()).add(op);
+            }
+        }
+
+        changedByRecipient.forEach((recipient, changed) -> {
+            if (changed.size() == 1) {
+                var op = changed.get(0);
+                notificationService.sendStatusChangeNotification(op.id, recipient, op.referenceNumber, newStatus.name());
+            } else {
+                notificationService.sendBulkStatusChangeNotification(recipient,
+                        changed.stream().map(op -> op.referenceNumber).toList(), newStatus.name());
+            }
+        });
+
+        return BulkChangeStatusResponse.of(results);
+    }
+
+    private void applyStatusChange(Operation op, OperationStatus newStatus, String comment,
+                                   String username, User changedBy, String ipAddress,
+                                   StatusHistory openStage) {
+        var previousStatus = op.status;
+        var rollupKey = DashboardRollupKey.of(op);
+        op.status = newStatus;
+        operationCountCache.invalidate();
 
         // Auto-assign least-loaded analyst when transitioning to ANALYST_ASSIGNED
-        if (request.newStatus() == OperationStatus.ANALYST_ASSIGNED && op.assignedAgent == null) {
+        if (newStatus == OperationStatus.ANALYST_ASSIGNED && op.assignedAgent == null) {
             analystAssignmentService.findLeastLoadedAgent().ifPresent(agent -> op.assignedAgent = agent);
         }
 
-        if (request.newStatus() == OperationStatus.CLOSED) {
+        if (newStatus == OperationStatus.CLOSED) {
             op.closedAt = LocalDateTime.now();
         }
 
-        recordStatusChange(op, previousStatus, request.newStatus(), username, request.comment(), ipAddress);
+        var stageMinutes = closeStage(openStage, rollupKey);
+        recordStatusChange(op, previousStatus, newStatus, changedBy, comment, ipAddress);
+        dashboardRollupService.statusChanged(rollupKey, op, stageMinutes);
+        operationChangedEvent.fire(new OperationChanged(op.id));
 
         auditEvent.fire(new AuditEvent(
                 username, AuditAction.STATUS_CHANGE, "Operation", op.id, op.id,
                 JsonUtil.toJson(Map.of("status", previousStatus.name())),
-                JsonUtil.toJson(Map.of("status", request.newStatus().name())),
-                "Status changed from " + previousStatus + " to " + request.newStatus()
+                JsonUtil.toJson(Map.of("status", newStatus.name())),
+                "Status changed from " + previousStatus + " to " + newStatus
         ));
 
         // Fire approval/rejection audit events for specific transitions
-        if (request.newStatus() == OperationStatus.CLOSED) {
+        if (newStatus == OperationStatus.CLOSED) {
             auditEvent.fire(new AuditEvent(
                     username, AuditAction.APPROVAL, "Operation", op.id, op.id,
-                    null, JsonUtil.toJson(Map.of("status", request.newStatus().name())),
-                    "Operation approved: " + op.referenceNumber + " → " + request.newStatus()
+                    null, JsonUtil.toJson(Map.of("status", newStatus.name())),
+                    "Operation approved: " + op.referenceNumber + " → " + newStatus
             ));
-        } else if (request.newStatus() == OperationStatus.CANCELLED) {
+        } else if (newStatus == OperationStatus.CANCELLED) {
             auditEvent.fire(new AuditEvent(
                     username, AuditAction.REJECTION, "Operation", op.id, op.id,
-                    null, JsonUtil.toJson(Map.of("status", request.newStatus().name())),
+                    null, JsonUtil.toJson(Map.of("status", newStatus.name())),
                     "Operation rejected/cancelled: " + op.referenceNumber
             ));
         }
+    }
 
-        notificationService.sendStatusChangeNotification(
-                op.id, op.account.email, op.referenceNumber, request.newStatus().name()
-        );
+    /**
+     * Stamps the exit time and duration on the history entry of the stage being left, so
+     * stage analytics never have to pair history rows at read time, along with the
+     * dashboard bucket the duration is counted in, so a rollup rebuild counts it there too.
+     */
+    private static Long closeStage(StatusHistory openStage, DashboardRollupKey exitedBucket) {
+        if (openStage == null) {
+            return null;
+        }
+        openStage.exitedAt = LocalDateTime.now();
+        openStage.durationMinutes = Duration.between(openStage.changedAt, openStage.exitedAt).toMinutes();
+        openStage.exitTransportMode = exitedBucket.transportMode();
+        openStage.exitOperationCategory = exitedBucket.operationCategory();
+        openStage.exitAgentId = exitedBucket.agentId();
+        return openStage.durationMinutes;
+    }
+
+    private static String complianceFailureMessage(ValidationResult result) {
+        var messages = result.errors().stream()
+                .map(e -> e.ruleCode() + ": " + e.message())
+                .toList();
+        return "Compliance validation failed: " + String.join("; ", messages);
     }
 
     @Transactional
@@ -429,6 +606,12 @@ public class OperationService {
                 null, null, "Operation deleted: " + op.referenceNumber
         ));
 
+        // Release the stored files of the versions and photos removed below, in a fixed
+        // order so concurrent deletes lock shared blobs consistently
+        var filePaths = new ArrayList<String>(documentVersionRepository.findFilePathsByOperationId(id));
+        filePaths.addAll(inspectionPhotoRepository.findFilePathsByOperationId(id));
+        filePaths.stream().filter(Objects::nonNull).sorted().forEach(storageService::delete);
+
         // Delete indirect children first
         crossingDiscrepancyRepository.deleteByOperationId(id);
         crossingResultRepository.deleteByOperationId(id);
@@ -444,8 +627,11 @@ public class OperationService {
         inspectionPhotoRepository.deleteByOperationId(id);
         externalPermitRepository.deleteByOperationId(id);
         statusHistoryRepository.deleteByOperationId(id);
+        operationSearchIndexService.remove(id);
+        dashboardRollupService.operationDeleted(op);
 
         operationRepository.delete(op);
+        operationCountCache.invalidate();
     }
 
     public List<StatusHistory> getHistory(Long operationId) {
@@ -455,23 +641,20 @@ public class OperationService {
 
     private void recordStatusChange(Operation op, OperationStatus previous, OperationStatus newStatus,
                                      String username, String comment, String ipAddress) {
+        var changedBy = username != null ? userRepository.findByUsername(username).orElse(null) : null;
+        recordStatusChange(op, previous, newStatus, changedBy, comment, ipAddress);
+    }
+
+    private void recordStatusChange(Operation op, OperationStatus previous, OperationStatus newStatus,
+                                     User changedBy, String comment, String ipAddress) {
         var history = new StatusHistory();
         history.operation = op;
         history.previousStatus = previous;
         history.newStatus = newStatus;
         history.comment = comment;
         history.ipAddress = ipAddress;
-
-        if (username != null) {
-            userRepository.findByUsername(username).ifPresent(u -> history.changedBy = u);
-        }
+        history.changedBy = changedBy;
 
         statusHistoryRepository.persist(history);
     }
-
-    private String generateReferenceNumber(String portCode) {
-        var now = LocalDateTime.now();
-        var seq = operationRepository.getNextSequence();
-        return String.format("OP-%s-%d%02d-%05d", portCode, now.getYear(), now.getMonthValue(), seq);
-    }
 }
@@ -0,0 +1,10 @@
+package com.janus.operation.domain.model;
+
+/**
+ * Identity and current status of an operation that is neither closed nor cancelled.
+ */
+public record OpenOperation(
+        Long id,
+        String referenceNumber,
+        OperationStatus status
+) {}
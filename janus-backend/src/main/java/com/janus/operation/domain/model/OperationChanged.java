@@ -0,0 +1,7 @@
+package com.janus.operation.domain.model;
+
+/**
+ * Fired when an operation or its documents change in a way that can affect derived state
+ * such as alerts. Observers typically react after the transaction commits.
+ */
+public record OperationChanged(Long operationId) {}
@@ -0,0 +1,22 @@
+package com.janus.operation.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Denormalized, lower-cased search text for an operation (reference number, account
+ * name and tax id, BL number and declaration numbers), kept in sync on writes.
+ */
+@Entity
+@Table(name = "operation_search_index")
+public class OperationSearchEntry {
+
+    @Id
+    @Column(name = "operation_id")
+    public Long operationId;
+
+    @Column(name = "search_text", columnDefinition = "TEXT", nullable = false)
+    public String searchText;
+}
@@ -0,0 +1,9 @@
+package com.janus.operation.domain.model;
+
+/**
+ * Fired when an operation's search text changes. A null searchText means the entry was removed.
+ */
+public record OperationSearchIndexed(
+        Long operationId,
+        String searchText
+) {}
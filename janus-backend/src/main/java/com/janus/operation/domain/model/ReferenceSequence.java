@@ -0,0 +1,34 @@
+package com.janus.operation.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Persistent high-water mark for operation reference numbers, one row per port and month.
+ * nextValue is the first value not yet handed out to any node.
+ */
+@Entity
+@Table(name = "reference_sequences")
+public class ReferenceSequence {
+
+    @Id
+    @Column(name = "sequence_key", length = 64)
+    public String sequenceKey;
+
+    @Column(name = "next_value", nullable = false)
+    public long nextValue;
+
+    @Column(name = "updated_at")
+    public LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+}
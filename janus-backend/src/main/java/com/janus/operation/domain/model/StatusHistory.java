@@ -39,6 +39,28 @@ public class StatusHistory extends PanacheEntity {
     @Column(name = "ip_address")
     public String ipAddress;
 
+    /** When the operation left newStatus; null while this is the current stage. */
+    @Column(name = "exited_at")
+    public LocalDateTime exitedAt;
+
+    @Column(name = "duration_minutes")
+    public Long durationMinutes;
+
+    /**
+     * Dashboard bucket dimensions the operation had when it left newStatus; agent 0 is
+     * unassigned. Null on entries closed before these were recorded.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "exit_transport_mode")
+    public TransportMode exitTransportMode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "exit_operation_category")
+    public OperationCategory exitOperationCategory;
+
+    @Column(name = "exit_agent_id")
+    public Long exitAgentId;
+
     @PrePersist
     public void prePersist() {
         changedAt = LocalDateTime.now();
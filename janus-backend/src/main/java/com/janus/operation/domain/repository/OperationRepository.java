@@ -1,17 +1,39 @@
 package com.janus.operation.domain.repository;
 
+import com.janus.operation.api.dto.OperationResponse;
+import com.janus.operation.domain.model.OpenOperation;
 import com.janus.operation.domain.model.Operation;
 import com.janus.operation.domain.model.OperationStatus;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
-import io.quarkus.panache.common.Page;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @ApplicationScoped
 public class OperationRepository implements PanacheRepository<Operation> {
 
+    private static final String RESPONSE_SELECT = "SELECT new com.janus.operation.api.dto.OperationResponse("
+            + "o.id, o.referenceNumber, a.id, a.name, o.operationType, o.transportMode, o.cargoType, "
+            + "o.operationCategory, o.status, ag.id, ag.fullName, o.blNumber, o.containerNumber, "
+            + "o.estimatedArrival, o.blAvailability, o.notes, o.arrivalDate, o.closedAt, o.inspectionType, "
+            + "o.inspectionSetAt, o.incoterm, o.blType, o.childBlNumber, o.localChargesValidated, "
+            + "o.valuationFinalizedAt, ap.id, ap.code, ap.name, orig.id, orig.code, orig.name, "
+            + "w.id, w.code, w.name, p.id, p.name, o.createdAt, o.updatedAt, "
+            + "o.pieces, o.grossWeight, o.volumetricWeight, o.volume, o.declaredValue) "
+            + "FROM Operation o "
+            + "LEFT JOIN o.account a LEFT JOIN o.assignedAgent ag "
+            + "LEFT JOIN o.arrivalPort ap LEFT JOIN o.originPort orig "
+            + "LEFT JOIN o.warehouse w LEFT JOIN o.partner p";
+
+    @Inject
+    EntityManager em;
+
     public List<Operation> findByStatus(OperationStatus status) {
         return list("status", status);
     }
@@ -20,6 +42,10 @@ public class OperationRepository implements PanacheRepository<Operation> {
         return list("account.id", accountId);
     }
 
+    public List<Operation> findByIdsWithAccount(Collection<Long> ids) {
+        return list("FROM Operation o LEFT JOIN FETCH o.account WHERE o.id IN ?1", ids);
+    }
+
     public long countByStatus(OperationStatus status) {
         return count("status", status);
     }
@@ -28,9 +54,44 @@ public class OperationRepository implements PanacheRepository<Operation> {
         return count("warehouse.id", warehouseId);
     }
 
-    public long getNextSequence() {
-        var max = find("ORDER BY id DESC").firstResultOptional();
-        return max.map(op -> ((Operation) op).id + 1).orElse(1L);
+    /**
+     * Highest numeric suffix among reference numbers starting with the given prefix,
+     * or 0 when none exist. Only used to seed a new reference sequence.
+     */
+    public long findMaxReferenceSuffix(String prefix) {
+        return em.createQuery(
+                        "select o.referenceNumber from Operation o where o.referenceNumber like :prefix "
+                                + "order by length(o.referenceNumber) desc, o.referenceNumber desc",
+                        String.class)
+                .setParameter("prefix", prefix + "%")
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst()
+                .map(ref -> {
+                    try {
+                        return Long.parseLong(ref.substring(prefix.length()));
+                    } catch (NumberFormatException e) {
+                        return 0L;
+                    }
+                })
+                .orElse(0L);
+    }
+
+    /**
+     * Operations that are neither closed nor cancelled, optionally narrowed to one status.
+     */
+    public List<OpenOperation> findOpen(OperationStatus status) {
+        var query = em.createQuery("SELECT new com.janus.operation.domain.model.OpenOperation("
+                                + "o.id, o.referenceNumber, o.status) FROM Operation o "
+                                + "WHERE o.status NOT IN (:closed, :cancelled)"
+                                + (status != null ? " AND o.status = :status" : "") + " ORDER BY o.id",
+                        OpenOperation.class)
+                .setParameter("closed", OperationStatus.CLOSED)
+                .setParameter("cancelled", OperationStatus.CANCELLED);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        return query.getResultList();
     }
 
     public List<Operation> findInactiveSince(LocalDateTime threshold) {
@@ -54,27 +115,66 @@ public class OperationRepository implements PanacheRepository<Operation> {
                 OperationStatus.ANALYST_ASSIGNED);
     }
 
-    public List<Operation> findPaginated(OperationStatus status, Long accountId, String search, int page, int size) {
-        var query = buildFilterQuery(status, accountId, search);
-        var params = buildFilterParams(status, accountId, search);
-        if (query.isEmpty()) {
-            return findAll().page(Page.of(page, size)).list();
+    /**
+     * Search is resolved through operation_search_index; searchIds, when non-null, are the
+     * ids already matched by the in-memory index and replace the LIKE lookup.
+     * Rows are projected straight into OperationResponse, so a page costs one query.
+     */
+    public List<OperationResponse> findPaginated(OperationStatus status, Long accountId, String search,
+                                                 Collection<Long> searchIds, int page, int size) {
+        var query = buildFilterQuery(status, accountId, search, searchIds);
+        var params = buildFilterParams(status, accountId, search, searchIds);
+        var where = query.isEmpty() ? "" : " WHERE " + String.join(" AND ", query);
+        return createResponseQuery(RESPONSE_SELECT + where, params)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    public List<OperationResponse> findAfterCursor(OperationStatus status, Long accountId, String search,
+                                                   Collection<Long> searchIds,
+                                                   LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+        var query = buildFilterQuery(status, accountId, search, searchIds);
+        var params = buildFilterParams(status, accountId, search, searchIds);
+        if (cursorCreatedAt != null && cursorId != null) {
+            int createdAtIndex = params.size() + 1;
+            int idIndex = params.size() + 2;
+            query.add("(o.createdAt < ?" + createdAtIndex
+                    + " OR (o.createdAt = ?" + createdAtIndex + " AND o.id < ?" + idIndex + "))");
+            params.add(cursorCreatedAt);
+            params.add(cursorId);
         }
-        return find("FROM Operation o WHERE " + String.join(" AND ", query), params.toArray())
-                .page(Page.of(page, size))
-                .list();
+        var where = query.isEmpty() ? "" : " WHERE " + String.join(" AND ", query);
+        return createResponseQuery(RESPONSE_SELECT + where + " ORDER BY o.createdAt DESC, o.id DESC", params)
+                .setMaxResults(limit)
+                .getResultList();
     }
 
-    public long countFiltered(OperationStatus status, Long accountId, String search) {
-        var query = buildFilterQuery(status, accountId, search);
-        var params = buildFilterParams(status, accountId, search);
+    public Optional<OperationResponse> findResponseById(Long id) {
+        return createResponseQuery(RESPONSE_SELECT + " WHERE o.id = ?1", List.of(id))
+                .getResultStream()
+                .findFirst();
+    }
+
+    private TypedQuery<OperationResponse> createResponseQuery(String jpql, List<Object> params) {
+        var query = em.createQuery(jpql, OperationResponse.class);
+        for (int i = 0; i < params.size(); i++) {
+            query.setParameter(i + 1, params.get(i));
+        }
+        return query;
+    }
+
+    public long countFiltered(OperationStatus status, Long accountId, String search, Collection<Long> searchIds) {
+        var query = buildFilterQuery(status, accountId, search, searchIds);
+        var params = buildFilterParams(status, accountId, search, searchIds);
         if (query.isEmpty()) {
             return count();
         }
         return count("FROM Operation o WHERE " + String.join(" AND ", query), params.toArray());
     }
 
-    private List<String> buildFilterQuery(OperationStatus status, Long accountId, String search) {
+    private List<String> buildFilterQuery(OperationStatus status, Long accountId, String search,
+                                          Collection<Long> searchIds) {
         var clauses = new ArrayList<String>();
         int paramIndex = 1;
         if (status != null) {
@@ -84,21 +184,25 @@ public class OperationRepository implements PanacheRepository<Operation> {
             clauses.add("o.account.id = ?" + paramIndex++);
         }
         if (search != null && !search.isBlank()) {
-            clauses.add("(LOWER(o.referenceNumber) LIKE ?" + paramIndex
-                    + " OR LOWER(o.account.name) LIKE ?" + paramIndex
-                    + " OR LOWER(o.blNumber) LIKE ?" + paramIndex
-                    + " OR LOWER(o.account.taxId) LIKE ?" + paramIndex
-                    + " OR EXISTS (SELECT 1 FROM Declaration d WHERE d.operation = o AND LOWER(d.declarationNumber) LIKE ?" + paramIndex + "))");
+            if (searchIds != null) {
+                clauses.add("o.id IN ?" + paramIndex);
+            } else {
+                clauses.add("o.id IN (SELECT s.operationId FROM OperationSearchEntry s WHERE s.searchText LIKE ?"
+                        + paramIndex + ")");
+            }
             paramIndex++;
         }
         return clauses;
     }
 
-    private List<Object> buildFilterParams(OperationStatus status, Long accountId, String search) {
+    private List<Object> buildFilterParams(OperationStatus status, Long accountId, String search,
+                                           Collection<Long> searchIds) {
         var params = new ArrayList<>();
         if (status != null) params.add(status);
         if (accountId != null) params.add(accountId);
-        if (search != null && !search.isBlank()) params.add("%" + search.toLowerCase() + "%");
+        if (search != null && !search.isBlank()) {
+            params.add(searchIds != null ? searchIds : "%" + search.trim().toLowerCase() + "%");
+        }
         return params;
     }
 }
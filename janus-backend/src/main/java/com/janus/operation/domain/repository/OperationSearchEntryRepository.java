@@ -0,0 +1,14 @@
+package com.janus.operation.domain.repository;
+
+import com.janus.operation.domain.model.OperationSearchEntry;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.List;
+
+@ApplicationScoped
+public class OperationSearchEntryRepository implements PanacheRepositoryBase<OperationSearchEntry, Long> {
+
+    public List<OperationSearchEntry> findAfterId(Long lastOperationId, int limit) {
+        return find("operationId > ?1 ORDER BY operationId", lastOperationId).page(0, limit).list();
+    }
+}
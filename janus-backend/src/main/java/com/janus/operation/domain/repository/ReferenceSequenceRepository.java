@@ -0,0 +1,15 @@
+package com.janus.operation.domain.repository;
+
+import com.janus.operation.domain.model.ReferenceSequence;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+
+@ApplicationScoped
+public class ReferenceSequenceRepository implements PanacheRepositoryBase<ReferenceSequence, String> {
+
+    public Optional<ReferenceSequence> findForUpdate(String sequenceKey) {
+        return findByIdOptional(sequenceKey, LockModeType.PESSIMISTIC_WRITE);
+    }
+}
@@ -4,7 +4,11 @@ import com.janus.operation.domain.model.StatusHistory;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @ApplicationScoped
 public class StatusHistoryRepository implements PanacheRepository<StatusHistory> {
@@ -13,6 +17,23 @@ public class StatusHistoryRepository implements PanacheRepository<StatusHistory>
         return list("operation.id = ?1 ORDER BY changedAt DESC", operationId);
     }
 
+    public Optional<StatusHistory> findOpenStage(Long operationId) {
+        return find("operation.id = ?1 AND exitedAt IS NULL ORDER BY changedAt DESC, id DESC", operationId)
+                .firstResultOptional();
+    }
+
+    public Map<Long, StatusHistory> findOpenStagesByOperationIds(Collection<Long> operationIds) {
+        var result = new HashMap<Long, StatusHistory>();
+        if (operationIds.isEmpty()) {
+            return result;
+        }
+        // Ascending order so the latest open entry per operation wins
+        for (var history : list("operation.id IN ?1 AND exitedAt IS NULL ORDER BY changedAt, id", operationIds)) {
+            result.put(history.operation.id, history);
+        }
+        return result;
+    }
+
     @Transactional
     public long deleteByOperationId(Long operationId) {
         return delete("operation.id", operationId);
@@ -0,0 +1,100 @@
+package com.janus.operation.domain.service;
+
+import com.janus.operation.domain.model.ReferenceSequence;
+import com.janus.operation.domain.repository.OperationRepository;
+import com.janus.operation.domain.repository.ReferenceSequenceRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Hands out operation reference numbers per (port, month) without scanning operations.
+ * Each node reserves a block of values from reference_sequences under a row lock in its
+ * own short transaction and serves numbers from memory until the block is exhausted.
+ * Values reserved by a node that restarts are skipped, so numbering may contain gaps.
+ * Blocks of past months are dropped when a later month's block is reserved.
+ */
+@ApplicationScoped
+public class ReferenceNumberAllocator {
+
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
+    @Inject
+    ReferenceSequenceRepository sequenceRepository;
+
+    @Inject
+    OperationRepository operationRepository;
+
+    @ConfigProperty(name = "janus.operations.reference-block-size", defaultValue = "20")
+    int blockSize;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public String next(String portCode) {
+        var month = YearMonth.now();
+        var prefix = String.format("OP-%s-%d%02d-", portCode, month.getYear(), month.getMonthValue());
+        return prefix + String.format("%05d", nextValue(prefix, month));
+    }
+
+    private long nextValue(String prefix, YearMonth month) {
+        while (true) {
+            var block = blocks.get(prefix);
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return value;
+                }
+            }
+            synchronized (this) {
+                var current = blocks.get(prefix);
+                if (current == block) {
+                    blocks.values().removeIf(b -> b.month.isBefore(month));
+                    blocks.put(prefix, reserveBlock(prefix, month));
+                }
+            }
+        }
+    }
+
+    private Block reserveBlock(String prefix, YearMonth month) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return QuarkusTransaction.requiringNew().call(() -> {
+                    var sequence = sequenceRepository.findForUpdate(prefix).orElse(null);
+                    if (sequence == null) {
+                        sequence = new ReferenceSequence();
+                        sequence.sequenceKey = prefix;
+                        sequence.nextValue = operationRepository.findMaxReferenceSuffix(prefix) + 1;
+                        sequenceRepository.persist(sequence);
+                    }
+                    long start = sequence.nextValue;
+                    sequence.nextValue = start + blockSize;
+                    sequenceRepository.flush();
+                    return new Block(month, start, start + blockSize);
+                });
+            } catch (PersistenceException e) {
+                // Another node created the row concurrently; retry and lock the existing row
+                if (attempt >= MAX_INSERT_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static final class Block {
+        final YearMonth month;
+        final AtomicLong next;
+        final long end;
+
+        Block(YearMonth month, long start, long end) {
+            this.month = month;
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -8,7 +8,7 @@ import com.janus.payment.api.dto.MakeDefinitiveRequest;
 import com.janus.payment.api.dto.PaymentResponse;
 import com.janus.payment.api.dto.RegisterPaymentRequest;
 import com.janus.payment.application.LiquidationService;
-import com.janus.compliance.domain.repository.ComplianceRuleConfigRepository;
+import com.janus.compliance.domain.service.ComplianceConfigCache;
 import com.janus.shared.infrastructure.security.SecurityHelper;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
@@ -40,7 +40,7 @@ public class LiquidationResource {
     SecurityHelper securityHelper;
 
     @Inject
-    ComplianceRuleConfigRepository complianceRuleConfigRepository;
+    ComplianceConfigCache complianceConfigCache;
 
     @POST
     @RolesAllowed({"ADMIN", "AGENT"})
@@ -125,7 +125,7 @@ public class LiquidationResource {
     @Path("/config")
     @RolesAllowed({"ADMIN", "AGENT", "ACCOUNTING", "CUSTOMER"})
     public Response getLiquidationConfig() {
-        boolean approvalRequired = complianceRuleConfigRepository.isRuleEnabled("LIQUIDATION_APPROVAL_REQUIRED");
+        boolean approvalRequired = complianceConfigCache.current().isRuleEnabled("LIQUIDATION_APPROVAL_REQUIRED");
         return Response.ok(java.util.Map.of("approvalRequired", approvalRequired)).build();
     }
 }
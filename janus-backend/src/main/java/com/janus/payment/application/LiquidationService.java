@@ -12,7 +12,7 @@ import com.janus.payment.domain.model.LiquidationStatus;
 import com.janus.payment.domain.model.Payment;
 import com.janus.audit.domain.model.AuditAction;
 import com.janus.audit.domain.model.AuditEvent;
-import com.janus.compliance.domain.repository.ComplianceRuleConfigRepository;
+import com.janus.compliance.domain.service.ComplianceConfigCache;
 import com.janus.shared.infrastructure.exception.BusinessException;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
@@ -35,7 +35,7 @@ public class LiquidationService {
     Event<AuditEvent> auditEvent;
 
     @Inject
-    ComplianceRuleConfigRepository complianceRuleConfigRepository;
+    ComplianceConfigCache complianceConfigCache;
 
     @Transactional
     public Liquidation generateLiquidation(Long operationId, BigDecimal agencyServiceFee, String username) {
@@ -161,7 +161,7 @@ public class LiquidationService {
                     "No liquidation found for this operation");
         }
 
-        boolean approvalRequired = complianceRuleConfigRepository.isRuleEnabled("LIQUIDATION_APPROVAL_REQUIRED");
+        boolean approvalRequired = complianceConfigCache.current().isRuleEnabled("LIQUIDATION_APPROVAL_REQUIRED");
         if (approvalRequired) {
             if (liquidation.status != LiquidationStatus.APPROVED) {
                 throw new BusinessException("LIQUIDATION_NOT_APPROVED",
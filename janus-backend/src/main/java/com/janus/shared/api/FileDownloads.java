@@ -0,0 +1,136 @@
+package com.janus.shared.api;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import org.jboss.resteasy.reactive.PathPart;
+
+/**
+ * Builds download responses for stored files. Files are handed to the server as paths so
+ * they are sent without copying through the JVM. Responses carry an ETag and
+ * Last-Modified for conditional GETs and honour a single byte range, so interrupted
+ * downloads can resume.
+ */
+public final class FileDownloads {
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    private FileDownloads() {}
+
+    /**
+     * @param etag identifies the file content, e.g. its checksum; it must change whenever
+     *             the bytes behind the download change
+     */
+    public static Response serve(Request request, String range, String ifRange, Path path, String etag,
+                                 LocalDateTime lastModified, String fileName, String mimeType) {
+        long size;
+        try {
+            size = Files.size(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Download failed", e);
+        }
+        var tag = new EntityTag(etag);
+        var modified = Date.from(lastModified.truncatedTo(ChronoUnit.SECONDS)
+                .atZone(ZoneId.systemDefault()).toInstant());
+
+        var notModified = request.evaluatePreconditions(modified, tag);
+        if (notModified != null) {
+            return notModified.tag(tag).lastModified(modified).build();
+        }
+
+        var byteRange = range != null && ifRangeMatches(ifRange, tag, modified) ? ByteRange.parse(range, size) : null;
+        Response.ResponseBuilder builder;
+        if (byteRange == ByteRange.UNSATISFIABLE) {
+            return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header("Content-Range", "bytes */" + size)
+                    .header("Accept-Ranges", "bytes")
+                    .build();
+        } else if (byteRange != null) {
+            builder = Response.status(Response.Status.PARTIAL_CONTENT)
+                    .entity(new PathPart(path, byteRange.start(), byteRange.length()))
+                    .header("Content-Range", "bytes " + byteRange.start() + "-" + byteRange.end() + "/" + size)
+                    .header(HttpHeaders.CONTENT_LENGTH, byteRange.length());
+        } else {
+            builder = Response.ok(path)
+                    .header(HttpHeaders.CONTENT_LENGTH, size);
+        }
+        return builder
+                .tag(tag)
+                .lastModified(modified)
+                .header("Accept-Ranges", "bytes")
+                .header("Cache-Control", "private, no-cache")
+                .header("Content-Disposition", "attachment; filename=\"" + fileName + "\"")
+                .header("Content-Type", mimeType)
+                .build();
+    }
+
+    /**
+     * A range is only served when If-Range is absent or still names the current
+     * representation; otherwise the whole file is sent.
+     */
+    private static boolean ifRangeMatches(String ifRange, EntityTag tag, Date modified) {
+        if (ifRange == null || ifRange.isBlank()) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(tag.toString());
+        }
+        try {
+            var date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return date.equals(modified.toInstant());
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private record ByteRange(long start, long end) {
+
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        long length() {
+            return end - start + 1;
+        }
+
+        /**
+         * Parses a single-range header. Returns null for headers that are malformed or ask
+         * for several ranges, which are answered with the whole file.
+         */
+        static ByteRange parse(String header, long size) {
+            if (!header.startsWith(BYTES_UNIT) || header.contains(",")) {
+                return null;
+            }
+            var spec = header.substring(BYTES_UNIT.length()).trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            try {
+                var first = spec.substring(0, dash).trim();
+                var last = spec.substring(dash + 1).trim();
+                if (first.isEmpty()) {
+                    long suffix = Long.parseLong(last);
+                    if (suffix <= 0 || size == 0) return UNSATISFIABLE;
+                    return new ByteRange(Math.max(size - suffix, 0), size - 1);
+                }
+                long start = Long.parseLong(first);
+                Long requestedEnd = last.isEmpty() ? null : Long.parseLong(last);
+                if (requestedEnd != null && requestedEnd < start) return null;
+                if (start >= size) return UNSATISFIABLE;
+                return new ByteRange(start, requestedEnd == null ? size - 1 : Math.min(requestedEnd, size - 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.janus.shared.api.dto;
+
+import java.util.List;
+
+public record CursorPageResponse<T>(
+    List<T> content,
+    int size,
+    String nextCursor,
+    boolean hasNext,
+    Long totalElements
+) {
+    /** Largest page a cursor request may ask for; larger sizes are clamped to it. */
+    public static final int MAX_SIZE = 200;
+
+    public static <T> CursorPageResponse<T> of(List<T> content, int size, String nextCursor, Long totalElements) {
+        return new CursorPageResponse<>(content, size, nextCursor, nextCursor != null, totalElements);
+    }
+}
@@ -15,6 +15,7 @@ import com.janus.warehouse.bonded.domain.repository.BondedWarehouseRepository;
 import com.janus.port.domain.model.Port;
 import com.janus.port.domain.repository.PortRepository;
 import com.janus.compliance.domain.model.ComplianceRuleConfig;
+import com.janus.compliance.domain.repository.ComplianceConfigVersionRepository;
 import com.janus.compliance.domain.repository.ComplianceRuleConfigRepository;
 import com.janus.user.domain.model.Role;
 import com.janus.user.domain.model.User;
@@ -43,6 +44,9 @@ public class DataSeeder {
     @Inject
     ComplianceRuleConfigRepository complianceRuleConfigRepository;
 
+    @Inject
+    ComplianceConfigVersionRepository complianceConfigVersionRepository;
+
     @Inject
     PortRepository portRepository;
 
@@ -82,6 +86,7 @@ public class DataSeeder {
         if (complianceRuleConfigRepository.count() == 0) {
             LOG.info("Seeding compliance rule configs...");
             seedComplianceRuleConfigs();
+            complianceConfigVersionRepository.increment();
             LOG.info("Compliance rule config seeding complete.");
         }
         ensureComplianceRuleExists("LIQUIDATION_APPROVAL_REQUIRED", "enabled", "true",
@@ -191,6 +196,7 @@ public class DataSeeder {
         if (complianceRuleConfigRepository.findByRuleCodeAndKey(ruleCode, paramKey).isEmpty()) {
             LOG.infof("Seeding missing compliance rule: %s/%s", ruleCode, paramKey);
             createConfig(ruleCode, paramKey, paramValue, description);
+            complianceConfigVersionRepository.increment();
         }
     }
 
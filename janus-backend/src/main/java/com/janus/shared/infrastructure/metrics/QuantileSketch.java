@@ -0,0 +1,113 @@
+package com.janus.shared.infrastructure.metrics;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch for non-negative values. Values are counted in logarithmic
+ * buckets, so any quantile is returned within 1% relative error, and two sketches merge
+ * exactly by adding bucket counts. The serialized form is small enough to store per
+ * day and dimension and combine at read time for arbitrary ranges.
+ */
+public final class QuantileSketch {
+
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final byte FORMAT_VERSION = 1;
+
+    private final TreeMap<Integer, Long> bins = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+
+    public QuantileSketch add(double value) {
+        if (value < 0 || Double.isNaN(value)) {
+            throw new IllegalArgumentException("Sketch values must be non-negative: " + value);
+        }
+        if (value < 1) {
+            zeroCount++;
+        } else {
+            bins.merge((int) Math.ceil(Math.log(value) / LOG_GAMMA), 1L, Long::sum);
+        }
+        count++;
+        return this;
+    }
+
+    public QuantileSketch merge(QuantileSketch other) {
+        other.bins.forEach((index, binCount) -> bins.merge(index, binCount, Long::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the value at quantile {@code q} (0..1), or 0 for an empty sketch.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (Map.Entry<Integer, Long> bin : bins.entrySet()) {
+            seen += bin.getValue();
+            if (seen > rank) {
+                return binValue(bin.getKey());
+            }
+        }
+        return binValue(bins.lastKey());
+    }
+
+    public byte[] toBytes() {
+        var buffer = ByteBuffer.allocate(1 + Long.BYTES + Integer.BYTES + bins.size() * (Integer.BYTES + Long.BYTES));
+        buffer.put(FORMAT_VERSION);
+        buffer.putLong(zeroCount);
+        buffer.putInt(bins.size());
+        bins.forEach((index, binCount) -> {
+            buffer.putInt(index);
+            buffer.putLong(binCount);
+        });
+        return buffer.array();
+    }
+
+    /**
+     * Restores a sketch written by {@link #toBytes()}; null or empty input yields an
+     * empty sketch.
+     */
+    public static QuantileSketch fromBytes(byte[] bytes) {
+        var sketch = new QuantileSketch();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+        var buffer = ByteBuffer.wrap(bytes);
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported sketch format version: " + version);
+        }
+        sketch.zeroCount = buffer.getLong();
+        sketch.count = sketch.zeroCount;
+        int size = buffer.getInt();
+        for (int i = 0; i < size; i++) {
+            int index = buffer.getInt();
+            long binCount = buffer.getLong();
+            sketch.bins.put(index, binCount);
+            sketch.count += binCount;
+        }
+        return sketch;
+    }
+
+    private static double binValue(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+}
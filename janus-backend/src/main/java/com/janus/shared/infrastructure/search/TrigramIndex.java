@@ -0,0 +1,138 @@
+package com.janus.shared.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process trigram index for substring search over short lower-cased documents.
+ * Candidates are the intersection of the posting lists of the term's trigrams and
+ * are verified against the stored text, so results are exact.
+ */
+public class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, String> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long id, String text) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            documents.put(id, text);
+            for (var gram : grams(text)) {
+                postings.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids whose text contains the term, or empty when more than
+     * maxResults documents match and the caller should fall back to a scan.
+     */
+    public Optional<Set<Long>> search(String term, int maxResults) {
+        lock.readLock().lock();
+        try {
+            Iterable<Long> candidates;
+            if (term.length() < GRAM) {
+                candidates = documents.keySet();
+            } else {
+                var lists = new ArrayList<Set<Long>>();
+                for (var gram : grams(term)) {
+                    var ids = postings.get(gram);
+                    if (ids == null) {
+                        return Optional.of(Collections.emptySet());
+                    }
+                    lists.add(ids);
+                }
+                lists.sort(Comparator.comparingInt(Set::size));
+                var smallest = lists.get(0);
+                var others = lists.subList(1, lists.size());
+                var intersection = new ArrayList<Long>(smallest.size());
+                for (var id : smallest) {
+                    if (others.stream().allMatch(s -> s.contains(id))) {
+                        intersection.add(id);
+                    }
+                }
+                candidates = intersection;
+            }
+
+            var result = new HashSet<Long>();
+            for (var id : candidates) {
+                if (documents.get(id).contains(term)) {
+                    result.add(id);
+                    if (result.size() > maxResults) {
+                        return Optional.empty();
+                    }
+                }
+            }
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(Long id) {
+        var previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (var gram : grams(previous)) {
+            var ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static List<String> grams(String text) {
+        var result = new ArrayList<String>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM));
+        }
+        return result;
+    }
+}
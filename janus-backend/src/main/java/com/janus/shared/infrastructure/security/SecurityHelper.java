@@ -31,10 +31,18 @@ public class SecurityHelper {
      * that doesn't belong to their account.
      */
     public void enforceCustomerAccess(SecurityContext sec, Operation operation) {
+        enforceCustomerAccess(sec, operation.account != null ? operation.account.id : null);
+    }
+
+    /**
+     * Same check as {@link #enforceCustomerAccess(SecurityContext, Operation)} for callers
+     * that only hold the operation's account id (e.g. projected responses).
+     */
+    public void enforceCustomerAccess(SecurityContext sec, Long operationAccountId) {
         var user = getUser(sec);
         if (user.hasRole("CUSTOMER")) {
-            if (user.accountId == null || operation.account == null
-                    || !user.accountId.equals(operation.account.id)) {
+            if (user.accountId == null || operationAccountId == null
+                    || !user.accountId.equals(operationAccountId)) {
                 throw new ForbiddenException("Access denied: operation does not belong to your account");
             }
         }
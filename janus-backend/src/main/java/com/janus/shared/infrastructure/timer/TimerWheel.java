@@ -0,0 +1,135 @@
+package com.janus.shared.infrastructure.timer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel keyed by timer identity. Each level has {@code wheelSize}
+ * slots, and a slot on level n spans {@code wheelSize^n} ticks; timers cascade to finer
+ * levels as their slot comes due. Scheduling an existing key replaces its deadline, and
+ * cancelled or replaced entries are discarded lazily when their slot is processed.
+ * Deadlines beyond the top level wait in an overflow set that is re-inserted each time
+ * the top level completes a revolution.
+ */
+public final class TimerWheel<K> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<List<Set<K>>> levels = new ArrayList<>();
+    private final Set<K> overflow = new HashSet<>();
+    private final Map<K, Long> deadlineTicks = new HashMap<>();
+    private long currentTick;
+
+    public TimerWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timer wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        for (int level = 0; level < levelCount; level++) {
+            var slots = new ArrayList<Set<K>>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots.add(new HashSet<>());
+            }
+            levels.add(slots);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules or reschedules {@code key} to expire at {@code deadlineMillis}. Deadlines
+     * not after the current tick expire on the next {@link #advance}.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        deadlineTicks.put(key, deadlineTick);
+        place(key, deadlineTick);
+    }
+
+    public synchronized void cancel(K key) {
+        deadlineTicks.remove(key);
+    }
+
+    public synchronized int size() {
+        return deadlineTicks.size();
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns the keys whose deadline has
+     * passed, in deadline order.
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        var expired = new ArrayList<K>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            var slot = levels.get(0).get((int) (currentTick % wheelSize));
+            for (var key : slot) {
+                var deadline = deadlineTicks.get(key);
+                if (deadline != null && deadline <= currentTick) {
+                    deadlineTicks.remove(key);
+                    expired.add(key);
+                }
+            }
+            slot.clear();
+        }
+        return expired;
+    }
+
+    /**
+     * Re-inserts timers from every coarser slot that starts at the current tick, coarsest
+     * first, so each timer ends up in the finest slot that covers its deadline.
+     */
+    private void cascade() {
+        int topLevel = 0;
+        long span = 1;
+        while (topLevel < levels.size() && currentTick % (span * wheelSize) == 0) {
+            span *= wheelSize;
+            topLevel++;
+        }
+        if (topLevel == levels.size()) {
+            var due = new ArrayList<>(overflow);
+            overflow.clear();
+            due.forEach(this::reinsert);
+            topLevel--;
+            span /= wheelSize;
+        }
+        for (int level = topLevel; level >= 1; level--) {
+            var slot = levels.get(level).get((int) ((currentTick / span) % wheelSize));
+            var due = new ArrayList<>(slot);
+            slot.clear();
+            due.forEach(this::reinsert);
+            span /= wheelSize;
+        }
+    }
+
+    private void reinsert(K key) {
+        var deadline = deadlineTicks.get(key);
+        if (deadline != null) {
+            place(key, deadline);
+        }
+    }
+
+    private void place(K key, long deadlineTick) {
+        long delta = Math.max(deadlineTick - currentTick, 0);
+        long span = 1;
+        for (int level = 0; level < levels.size(); level++) {
+            if (delta < span * wheelSize) {
+                var slotIndex = (int) ((Math.max(deadlineTick, currentTick) / span) % wheelSize);
+                levels.get(level).get(slotIndex).add(key);
+                return;
+            }
+            span *= wheelSize;
+        }
+        overflow.add(key);
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+}
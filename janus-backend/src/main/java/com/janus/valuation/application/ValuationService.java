@@ -2,7 +2,9 @@ package com.janus.valuation.application;
 
 import com.janus.audit.domain.model.AuditAction;
 import com.janus.audit.domain.model.AuditEvent;
+import com.janus.declaration.domain.model.Declaration;
 import com.janus.declaration.domain.repository.DeclarationRepository;
+import com.janus.document.domain.model.Document;
 import com.janus.document.domain.model.DocumentStatus;
 import com.janus.document.domain.model.DocumentType;
 import com.janus.document.domain.repository.DocumentRepository;
@@ -28,6 +30,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.jboss.logging.Logger;
@@ -59,7 +62,7 @@ public class ValuationService {
 
     // ── Permits ──
 
-    public java.util.List<ExternalPermit> getPermits(Long operationId) {
+    public List<ExternalPermit> getPermits(Long operationId) {
         operationService.findById(operationId);
         return permitRepository.findByOperationId(operationId);
     }
@@ -172,8 +175,18 @@ public class ValuationService {
 
     public ValuationChecklistResponse getChecklist(Long operationId) {
         var operation = operationService.findById(operationId);
-        var documents = documentRepository.findByOperationId(operationId);
-        var declarations = declarationRepository.findByOperationId(operationId);
+        return buildChecklist(operation,
+                documentRepository.findByOperationId(operationId),
+                declarationRepository.findByOperationId(operationId),
+                permitRepository.findByOperationId(operationId));
+    }
+
+    /**
+     * Builds the checklist from already loaded data; {@code declarations} are expected
+     * newest first, as {@link DeclarationRepository#findByOperationId} returns them.
+     */
+    public ValuationChecklistResponse buildChecklist(Operation operation, List<Document> documents,
+                                                     List<Declaration> declarations, List<ExternalPermit> permits) {
         var declaration = declarations.isEmpty() ? null : declarations.get(0);
 
         var items = new ArrayList<ValuationChecklistResponse.ChecklistItem>();
@@ -217,8 +230,8 @@ public class ValuationService {
                 incotermSet ? "Incoterm: " + operation.incoterm : "Incoterm not set"));
 
         // 5. External permits cleared
-        boolean hasBlockingPermits = permitRepository.hasBlockingPermits(operationId);
-        boolean hasPermits = permitRepository.hasAnyPermits(operationId);
+        boolean hasBlockingPermits = permits.stream().anyMatch(p -> p.status == ExternalPermitStatus.EN_TRAMITE);
+        boolean hasPermits = !permits.isEmpty();
         boolean permitsPassed = !hasBlockingPermits;
         items.add(new ValuationChecklistResponse.ChecklistItem(
                 "PERMITS_CLEARED", "External permits cleared", permitsPassed,
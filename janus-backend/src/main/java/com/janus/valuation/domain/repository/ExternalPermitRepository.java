@@ -4,6 +4,7 @@ import com.janus.valuation.domain.model.ExternalPermit;
 import com.janus.valuation.domain.model.ExternalPermitStatus;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Collection;
 import java.util.List;
 
 @ApplicationScoped
@@ -13,6 +14,10 @@ public class ExternalPermitRepository implements PanacheRepository<ExternalPermi
         return list("operation.id = ?1", operationId);
     }
 
+    public List<ExternalPermit> findByOperationIds(Collection<Long> operationIds) {
+        return list("operation.id IN ?1", operationIds);
+    }
+
     public long deleteByOperationId(Long operationId) {
         return delete("operation.id", operationId);
     }
@@ -0,0 +1,10 @@
+-- V13: Denormalized search text for operations (resolved in memory on H2)
+
+CREATE TABLE operation_search_index (
+    operation_id BIGINT NOT NULL,
+    search_text TEXT NOT NULL,
+    PRIMARY KEY (operation_id)
+);
+
+ALTER TABLE operation_search_index ADD CONSTRAINT fk_operation_search_index_operation
+    FOREIGN KEY (operation_id) REFERENCES operations(id);
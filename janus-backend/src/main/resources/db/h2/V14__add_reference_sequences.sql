@@ -0,0 +1,8 @@
+-- V14: Per port/month counters for block-allocated operation reference numbers
+
+CREATE TABLE reference_sequences (
+    sequence_key VARCHAR(64) NOT NULL,
+    next_value BIGINT NOT NULL,
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (sequence_key)
+);
@@ -0,0 +1,17 @@
+-- V16: Persist stage exit time and duration on status history entries
+
+ALTER TABLE status_history ADD COLUMN exited_at TIMESTAMP;
+ALTER TABLE status_history ADD COLUMN duration_minutes BIGINT;
+
+CREATE INDEX idx_status_history_operation_changed_at ON status_history (operation_id, changed_at);
+
+-- Backfill in one ordered pass: each entry is closed by the next entry of the same operation
+MERGE INTO status_history sh
+USING (
+    SELECT id, LEAD(changed_at) OVER (PARTITION BY operation_id ORDER BY changed_at, id) AS next_changed_at
+    FROM status_history
+) n
+ON sh.id = n.id
+WHEN MATCHED AND n.next_changed_at IS NOT NULL THEN UPDATE
+SET exited_at = n.next_changed_at,
+    duration_minutes = DATEDIFF('SECOND', sh.changed_at, n.next_changed_at) / 60;
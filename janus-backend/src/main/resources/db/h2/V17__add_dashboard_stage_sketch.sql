@@ -0,0 +1,6 @@
+-- V17: Per-bucket stage duration sketches for dashboard percentiles
+
+ALTER TABLE dashboard_rollups ADD COLUMN stage_sketch VARBINARY(65536);
+
+-- Existing rows have no sketches; clearing them makes startup rebuild the rollups from history
+DELETE FROM dashboard_rollups;
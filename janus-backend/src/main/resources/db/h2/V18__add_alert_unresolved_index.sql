@@ -0,0 +1,3 @@
+-- V18: Index backing the unresolved-alert anti-join of the alert checks
+
+CREATE INDEX idx_alerts_operation_type_status ON alerts (operation_id, alert_type, status);
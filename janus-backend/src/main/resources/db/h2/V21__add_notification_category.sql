@@ -0,0 +1,3 @@
+-- V21: Category of coalesced notifications, sent per recipient as digests
+
+ALTER TABLE notifications ADD COLUMN category VARCHAR(50);
@@ -0,0 +1,3 @@
+-- V23: SHA-256 of each stored document version, computed while the upload is placed in storage
+
+ALTER TABLE document_versions ADD COLUMN sha256 VARCHAR(64);
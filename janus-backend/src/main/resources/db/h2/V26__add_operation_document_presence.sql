@@ -0,0 +1,31 @@
+-- V26: Bitmask of document types with active documents per operation (bit = DocumentType ordinal)
+
+CREATE TABLE operation_document_presence (
+    operation_id BIGINT NOT NULL,
+    present_types BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (operation_id),
+    CONSTRAINT fk_document_presence_operation FOREIGN KEY (operation_id) REFERENCES operations (id) ON DELETE CASCADE
+);
+
+INSERT INTO operation_document_presence (operation_id, present_types, updated_at)
+SELECT o.id,
+       COALESCE((SELECT SUM(CASE t.document_type
+                                WHEN 'BL' THEN 1
+                                WHEN 'COMMERCIAL_INVOICE' THEN 2
+                                WHEN 'PACKING_LIST' THEN 4
+                                WHEN 'CERTIFICATE' THEN 8
+                                WHEN 'PERMIT_CERTIFICATE' THEN 16
+                                WHEN 'LOCAL_CHARGES_RECEIPT' THEN 32
+                                WHEN 'RECEPTION_RECEIPT' THEN 64
+                                WHEN 'LIQUIDATION_DOCUMENT' THEN 128
+                                WHEN 'PAYMENT_RECEIPT' THEN 256
+                                WHEN 'AGENCY_INVOICE' THEN 512
+                                WHEN 'INITIAL_DECLARATION' THEN 1024
+                                WHEN 'FINAL_DECLARATION' THEN 2048
+                                WHEN 'OTHER' THEN 4096
+                                ELSE 0 END)
+                 FROM (SELECT DISTINCT d.document_type FROM documents d
+                       WHERE d.operation_id = o.id AND d.active = TRUE) t), 0),
+       CURRENT_TIMESTAMP
+FROM operations o;
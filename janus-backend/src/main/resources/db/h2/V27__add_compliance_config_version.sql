@@ -0,0 +1,10 @@
+-- V27: Single-row counter bumped on every compliance rule config change, so nodes can
+-- tell when their in-memory copy of the configuration is out of date
+
+CREATE TABLE compliance_config_version (
+    id INTEGER NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO compliance_config_version (id, version) VALUES (1, 1);
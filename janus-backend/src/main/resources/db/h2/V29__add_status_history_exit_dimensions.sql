@@ -0,0 +1,6 @@
+-- V29: Record the dashboard bucket dimensions an operation had when it left each stage, so
+-- a rollup rebuild files stage durations under the same buckets as incremental updates
+
+ALTER TABLE status_history ADD COLUMN exit_transport_mode VARCHAR(50);
+ALTER TABLE status_history ADD COLUMN exit_operation_category VARCHAR(50);
+ALTER TABLE status_history ADD COLUMN exit_agent_id BIGINT;
@@ -0,0 +1,5 @@
+-- V12: Index backing keyset (cursor) pagination of the operations list
+
+CREATE INDEX idx_operations_created_at_id ON operations (created_at DESC, id DESC);
+CREATE INDEX idx_operations_status_created_at_id ON operations (status, created_at DESC, id DESC);
+CREATE INDEX idx_operations_account_created_at_id ON operations (account_id, created_at DESC, id DESC);
@@ -0,0 +1,14 @@
+-- V13: Denormalized search text for operations with a trigram index for LIKE '%term%'
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE TABLE operation_search_index (
+    operation_id BIGINT NOT NULL,
+    search_text TEXT NOT NULL,
+    PRIMARY KEY (operation_id)
+);
+
+ALTER TABLE operation_search_index ADD CONSTRAINT fk_operation_search_index_operation
+    FOREIGN KEY (operation_id) REFERENCES operations(id);
+
+CREATE INDEX idx_operation_search_text_trgm ON operation_search_index USING gin (search_text gin_trgm_ops);
@@ -0,0 +1,17 @@
+-- V15: Pre-aggregated dashboard counters per creation day, status, transport mode, category and agent
+
+create sequence dashboard_rollups_SEQ start with 1 increment by 50;
+
+CREATE TABLE dashboard_rollups (
+    id BIGINT NOT NULL,
+    bucket_date DATE NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    transport_mode VARCHAR(50) NOT NULL,
+    operation_category VARCHAR(50) NOT NULL,
+    agent_id BIGINT NOT NULL,
+    operation_count BIGINT NOT NULL,
+    stage_exit_count BIGINT NOT NULL,
+    stage_minutes_total BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_dashboard_rollups_bucket UNIQUE (bucket_date, status, transport_mode, operation_category, agent_id)
+);
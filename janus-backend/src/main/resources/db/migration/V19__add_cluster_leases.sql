@@ -0,0 +1,18 @@
+-- V19: Scheduler leases with fencing tokens and the registry of live backend nodes
+
+CREATE TABLE scheduler_leases (
+    lease_name VARCHAR(64) NOT NULL,
+    owner_id VARCHAR(64) NOT NULL,
+    fencing_token BIGINT NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    heartbeat_at TIMESTAMP(6) NOT NULL,
+    last_run_key VARCHAR(64),
+    PRIMARY KEY (lease_name)
+);
+
+CREATE TABLE cluster_nodes (
+    node_id VARCHAR(64) NOT NULL,
+    started_at TIMESTAMP(6) NOT NULL,
+    heartbeat_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (node_id)
+);
@@ -0,0 +1,9 @@
+-- V20: Deliver notifications from the notifications table as an outbox with retries
+
+ALTER TABLE notifications ADD COLUMN attempts INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE notifications ADD COLUMN next_attempt_at TIMESTAMP;
+
+UPDATE notifications SET next_attempt_at = created_at WHERE status = 'PENDING';
+
+CREATE INDEX idx_notifications_status_next_attempt ON notifications (status, next_attempt_at);
+CREATE INDEX idx_notifications_recipient_status ON notifications (recipient_email, status, id);
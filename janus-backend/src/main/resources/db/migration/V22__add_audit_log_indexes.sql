@@ -0,0 +1,6 @@
+-- V22: Indexes backing keyset (cursor) pagination and filters of the audit log
+
+CREATE INDEX idx_audit_logs_created_at_id ON audit_logs (created_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_operation_created_at_id ON audit_logs (operation_id, created_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_username_created_at_id ON audit_logs (username, created_at DESC, id DESC);
+CREATE INDEX idx_audit_logs_entity ON audit_logs (entity_name, entity_id);
@@ -0,0 +1,12 @@
+-- V24: Content-addressed files shared by document versions and inspection photos
+
+CREATE TABLE stored_blobs (
+    sha256 VARCHAR(64) NOT NULL,
+    file_size BIGINT NOT NULL,
+    ref_count INT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (sha256)
+);
+
+CREATE INDEX idx_stored_blobs_unreferenced ON stored_blobs (ref_count, updated_at);
@@ -0,0 +1,13 @@
+-- V25: Latest-version pointer and version counter on documents, maintained on upload
+
+ALTER TABLE documents ADD COLUMN version_count INT NOT NULL DEFAULT 0;
+ALTER TABLE documents ADD COLUMN latest_version_id BIGINT;
+
+UPDATE documents SET version_count = COALESCE(
+        (SELECT MAX(v.version_number) FROM document_versions v WHERE v.document_id = documents.id), 0);
+UPDATE documents SET latest_version_id =
+        (SELECT v.id FROM document_versions v
+         WHERE v.document_id = documents.id AND v.version_number = documents.version_count);
+
+ALTER TABLE documents ADD CONSTRAINT fk_documents_latest_version
+    FOREIGN KEY (latest_version_id) REFERENCES document_versions (id);
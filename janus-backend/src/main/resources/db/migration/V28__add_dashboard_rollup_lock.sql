@@ -0,0 +1,10 @@
+-- V28: Single row locked shared by dashboard rollup updates and exclusively by a rollup
+-- rebuild, so a rebuild cannot lose or double-count concurrent updates
+
+CREATE TABLE dashboard_rollup_lock (
+    id INTEGER NOT NULL,
+    rebuilt_at TIMESTAMP,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO dashboard_rollup_lock (id) VALUES (1);
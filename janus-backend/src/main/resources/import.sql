@@ -3,3 +3,7 @@
 
 -- Default charge_type for existing expenses
 UPDATE inspection_expenses SET charge_type = 'EXPENSE', quantity = 1, show_on_documents = true, update_related = false WHERE charge_type IS NULL;
+
+-- Single-row tables that migrations seed
+INSERT INTO dashboard_rollup_lock (id) VALUES (1);
+INSERT INTO compliance_config_version (id, version) VALUES (1, 1);
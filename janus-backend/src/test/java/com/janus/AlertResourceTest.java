@@ -16,6 +16,7 @@ import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @QuarkusTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -135,4 +136,61 @@ class AlertResourceTest {
                 .then()
                 .statusCode(403);
     }
+
+    @Test
+    @Order(9)
+    void testTriggerCheckDoesNotDuplicateUnresolvedAlerts() {
+        // The operation's estimated arrival is in the past and it has no declaration yet
+        for (int run = 0; run < 2; run++) {
+            given()
+                    .auth().basic("admin", "admin123")
+                    .when().post("/api/alerts/trigger-check")
+                    .then()
+                    .statusCode(200);
+        }
+
+        given()
+                .auth().basic("admin", "admin123")
+                .when().get("/api/alerts/operations/{opId}", operationId)
+                .then()
+                .statusCode(200)
+                .body("findAll { it.alertType == 'DECLARATION_DEADLINE' }.size()", is(1))
+                .body("find { it.alertType == 'DECLARATION_DEADLINE' }.messageParams", notNullValue());
+    }
+
+    @Test
+    @Order(10)
+    void testAlertRaisedOnOperationChangeWithoutScan() {
+        var newOperationId = given()
+                .auth().basic("admin", "admin123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"accountId": 1, "operationType": "IMPORT", "transportMode": "AIR", "operationCategory": "CATEGORY_1", "blNumber": "BL-TEST-EVENT", "estimatedArrival": "2025-12-01T10:00:00", "blAvailability": "ORIGINAL", "arrivalPortId": 1}
+                        """)
+                .when().post("/api/operations")
+                .then().statusCode(201)
+                .extract().jsonPath().getLong("id");
+
+        // Checks for changed operations run in the background
+        assertEquals(1, awaitAlerts(newOperationId, "DECLARATION_DEADLINE"));
+    }
+
+    private int awaitAlerts(Long opId, String alertType) {
+        int found = 0;
+        for (int i = 0; i < 50 && found == 0; i++) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            found = given()
+                    .auth().basic("admin", "admin123")
+                    .when().get("/api/alerts/operations/{opId}", opId)
+                    .then()
+                    .statusCode(200)
+                    .extract().jsonPath().getList("findAll { it.alertType == '" + alertType + "' }").size();
+        }
+        return found;
+    }
 }
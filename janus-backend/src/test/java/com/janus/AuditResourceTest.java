@@ -1,18 +1,37 @@
 package com.janus;
 
+import com.janus.audit.application.AuditLogWriter;
+import com.janus.audit.domain.model.AuditAction;
+import com.janus.audit.domain.model.AuditEvent;
+import com.janus.audit.domain.model.AuditLog;
+import com.janus.audit.domain.repository.AuditLogRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 
+import java.time.LocalDateTime;
+
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class AuditResourceTest {
 
+    @Inject
+    AuditLogWriter auditLogWriter;
+
+    @Inject
+    AuditLogRepository auditLogRepository;
+
     // ---- Auth tests ----
 
     @Test
@@ -89,6 +108,174 @@ class AuditResourceTest {
                 .body(notNullValue());
     }
 
+    @Test
+    @Order(12)
+    void testEnqueuedEventIsWrittenInBackground() {
+        auditLogWriter.enqueue(new AuditEvent("audit-writer-test", AuditAction.CREATE, "Port", 1L, null,
+                null, null, "Buffered audit entry"));
+
+        assertEquals(1, awaitAuditRows("audit-writer-test", 1));
+    }
+
+    @Test
+    @Order(13)
+    void testCursorPagination() {
+        for (int i = 1; i <= 3; i++) {
+            auditLogWriter.enqueue(new AuditEvent("audit-cursor-test", AuditAction.UPDATE, "Port", (long) i, null,
+                    null, null, "Cursor entry " + i));
+        }
+        awaitAuditRows("audit-cursor-test", 3);
+
+        var firstPage = given()
+                .auth().basic("admin", "admin123")
+                .queryParam("username", "audit-cursor-test")
+                .queryParam("size", 2)
+                .when().get("/api/audit/cursor")
+                .then()
+                .statusCode(200)
+                .body("content.size()", is(2))
+                .body("hasNext", is(true))
+                .extract().jsonPath();
+
+        given()
+                .auth().basic("admin", "admin123")
+                .queryParam("username", "audit-cursor-test")
+                .queryParam("size", 2)
+                .queryParam("cursor", firstPage.getString("nextCursor"))
+                .when().get("/api/audit/cursor")
+                .then()
+                .statusCode(200)
+                .body("content.size()", is(1))
+                .body("hasNext", is(false));
+    }
+
+    @Test
+    @Order(13)
+    void testCursorPaginationClampsPageSize() {
+        given()
+                .auth().basic("admin", "admin123")
+                .queryParam("size", 100000)
+                .when().get("/api/audit/cursor")
+                .then()
+                .statusCode(200)
+                .body("size", is(200));
+    }
+
+    @Test
+    @Order(14)
+    void testExportNdjson() {
+        var body = given()
+                .auth().basic("admin", "admin123")
+                .queryParam("username", "audit-cursor-test")
+                .when().get("/api/audit/export")
+                .then()
+                .statusCode(200)
+                .extract().asString();
+
+        var lines = body.strip().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"username\":\"audit-cursor-test\""));
+    }
+
+    @Test
+    @Order(15)
+    void testExportCsv() {
+        var body = given()
+                .auth().basic("admin", "admin123")
+                .queryParam("username", "audit-cursor-test")
+                .queryParam("format", "csv")
+                .when().get("/api/audit/export")
+                .then()
+                .statusCode(200)
+                .extract().asString();
+
+        var lines = body.strip().split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("id,createdAt,username"));
+    }
+
+    @Test
+    @Order(16)
+    void testAgentCannotExport() {
+        given()
+                .auth().basic("agent", "agent123")
+                .when().get("/api/audit/export")
+                .then()
+                .statusCode(403);
+    }
+
+    @Test
+    @Order(17)
+    void testArchivedLogsRemainQueryable() {
+        var username = "audit-archive-" + System.nanoTime();
+        QuarkusTransaction.requiringNew().run(() -> {
+            var log = new AuditLog();
+            log.username = username;
+            log.action = AuditAction.UPDATE;
+            log.entityName = "Port";
+            log.entityId = 1L;
+            log.operationId = 1L;
+            log.details = "Archived entry";
+            log.createdAt = LocalDateTime.now().minusDays(200);
+            auditLogRepository.persist(log);
+        });
+
+        given()
+                .auth().basic("admin", "admin123")
+                .when().post("/api/audit/archive")
+                .then()
+                .statusCode(202)
+                .body("started", is(true));
+
+        // The run happens in the background
+        long remaining = 1;
+        for (int i = 0; i < 50 && remaining > 0; i++) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            remaining = QuarkusTransaction.requiringNew().call(() -> auditLogRepository.count("username", username));
+        }
+        assertEquals(0L, remaining);
+
+        given()
+                .auth().basic("admin", "admin123")
+                .queryParam("username", username)
+                .when().get("/api/audit/cursor")
+                .then()
+                .statusCode(200)
+                .body("content.size()", is(1))
+                .body("content[0].details", is("Archived entry"));
+
+        var body = given()
+                .auth().basic("admin", "admin123")
+                .queryParam("username", username)
+                .when().get("/api/audit/export")
+                .then()
+                .statusCode(200)
+                .extract().asString();
+        assertEquals(1, body.strip().split("\n").length);
+
+        given()
+                .auth().basic("agent", "agent123")
+                .when().get("/api/audit/operations/1")
+                .then()
+                .statusCode(200)
+                .body("username", hasItem(username));
+    }
+
+    @Test
+    @Order(18)
+    void testAgentCannotArchive() {
+        given()
+                .auth().basic("agent", "agent123")
+                .when().post("/api/audit/archive")
+                .then()
+                .statusCode(403);
+    }
+
     // ---- By operation tests ----
 
     @Test
@@ -122,4 +309,24 @@ class AuditResourceTest {
                 .then()
                 .statusCode(403);
     }
+
+    private int awaitAuditRows(String username, int expected) {
+        int found = 0;
+        for (int i = 0; i < 50 && found < expected; i++) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            found = given()
+                    .auth().basic("admin", "admin123")
+                    .queryParam("username", username)
+                    .when().get("/api/audit")
+                    .then()
+                    .statusCode(200)
+                    .extract().jsonPath().getList("$").size();
+        }
+        return found;
+    }
 }
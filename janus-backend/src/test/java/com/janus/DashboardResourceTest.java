@@ -1,6 +1,19 @@
 package com.janus;
 
+import com.janus.dashboard.domain.repository.DashboardRollupRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import jakarta.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -8,11 +21,16 @@ import org.junit.jupiter.api.TestMethodOrder;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class DashboardResourceTest {
 
+    @Inject
+    DashboardRollupRepository rollupRepository;
+
     @Test
     @Order(1)
     void testGetMetrics() {
@@ -76,4 +94,174 @@ class DashboardResourceTest {
                 .then()
                 .statusCode(403);
     }
+
+    @Test
+    @Order(7)
+    void testMetricsFollowCreateAndStatusChange() {
+        var before = todayAirMetrics();
+        long draftBefore = before.getLong("operationsByStatus.DRAFT");
+        long cancelledBefore = before.getLong("operationsByStatus.CANCELLED");
+
+        long id = given()
+                .auth().basic("admin", "admin123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"accountId": 1, "operationType": "IMPORT", "transportMode": "AIR", "operationCategory": "CATEGORY_1", "blNumber": "BL-DASH-1", "estimatedArrival": "2025-12-01T10:00:00", "blAvailability": "ORIGINAL", "arrivalPortId": 1}
+                        """)
+                .when().post("/api/operations")
+                .then().statusCode(201)
+                .extract().jsonPath().getLong("id");
+
+        assertEquals(draftBefore + 1, todayAirMetrics().getLong("operationsByStatus.DRAFT"));
+
+        given()
+                .auth().basic("admin", "admin123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"newStatus": "CANCELLED"}
+                        """)
+                .when().post("/api/operations/{id}/change-status", id)
+                .then().statusCode(200);
+
+        var after = todayAirMetrics();
+        assertEquals(draftBefore, after.getLong("operationsByStatus.DRAFT"));
+        assertEquals(cancelledBefore + 1, after.getLong("operationsByStatus.CANCELLED"));
+        assertTrue(after.getLong("stagePercentiles.DRAFT.samples") >= 1);
+        assertTrue(after.getDouble("stagePercentiles.DRAFT.p99") >= after.getDouble("stagePercentiles.DRAFT.p50"));
+    }
+
+    @Test
+    @Order(8)
+    void testRebuildRollupsKeepsMetrics() {
+        var before = todayAirMetrics();
+
+        given()
+                .auth().basic("admin", "admin123")
+                .when().post("/api/dashboard/rollups/rebuild")
+                .then()
+                .statusCode(200)
+                .body("buckets", notNullValue());
+
+        var after = todayAirMetrics();
+        assertEquals(before.getMap("operationsByStatus"), after.getMap("operationsByStatus"));
+        assertEquals(before.getList("productivityByAgent"), after.getList("productivityByAgent"));
+        assertEquals(before.getLong("stagePercentiles.DRAFT.samples"), after.getLong("stagePercentiles.DRAFT.samples"));
+    }
+
+    @Test
+    @Order(9)
+    void testAgentCannotRebuildRollups() {
+        given()
+                .auth().basic("agent", "agent123")
+                .when().post("/api/dashboard/rollups/rebuild")
+                .then()
+                .statusCode(403);
+    }
+
+    @Test
+    @Order(10)
+    void testRebuildMatchesIncrementalRollupsAfterAutoAssignment() {
+        rebuildRollups();
+
+        long id = given()
+                .auth().basic("admin", "admin123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"accountId": 1, "operationType": "IMPORT", "transportMode": "AIR", "operationCategory": "CATEGORY_1", "blNumber": "BL-DASH-ASSIGN", "estimatedArrival": "2025-12-01T10:00:00", "blAvailability": "ORIGINAL", "arrivalPortId": 1}
+                        """)
+                .when().post("/api/operations")
+                .then().statusCode(201)
+                .extract().jsonPath().getLong("id");
+
+        long declarationId = given()
+                .auth().basic("admin", "admin123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"declarationNumber": "PRELIM-DASH", "fobValue": 10000.00}
+                        """)
+                .when().post("/api/operations/{opId}/declarations/preliminary", id)
+                .then().statusCode(201)
+                .extract().jsonPath().getLong("id");
+        given()
+                .auth().basic("admin", "admin123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"comment": "Technical OK"}
+                        """)
+                .when().post("/api/operations/{opId}/declarations/{id}/approve-technical", id, declarationId)
+                .then().statusCode(200);
+        for (var documentType : List.of("BL", "COMMERCIAL_INVOICE", "PACKING_LIST")) {
+            given()
+                    .auth().basic("admin", "admin123")
+                    .multiPart("file", createTempPdf(), "application/pdf")
+                    .multiPart("documentType", documentType)
+                    .when().post("/api/operations/{opId}/documents", id)
+                    .then().statusCode(201);
+        }
+
+        // The stage left by the move to ANALYST_ASSIGNED was spent unassigned
+        for (var status : List.of("DOCUMENTATION_COMPLETE", "IN_REVIEW", "PRELIQUIDATION_REVIEW", "ANALYST_ASSIGNED")) {
+            given()
+                    .auth().basic("admin", "admin123")
+                    .contentType(ContentType.JSON)
+                    .body("""
+                            {"newStatus": "%s"}
+                            """.formatted(status))
+                    .when().post("/api/operations/{id}/change-status", id)
+                    .then().statusCode(200);
+        }
+        given()
+                .auth().basic("admin", "admin123")
+                .when().get("/api/operations/{id}", id)
+                .then().statusCode(200)
+                .body("assignedAgentId", notNullValue());
+
+        var incremental = rollupRows();
+        rebuildRollups();
+        assertEquals(incremental, rollupRows());
+    }
+
+    private static void rebuildRollups() {
+        given()
+                .auth().basic("admin", "admin123")
+                .when().post("/api/dashboard/rollups/rebuild")
+                .then()
+                .statusCode(200);
+    }
+
+    /**
+     * Non-empty rollup rows by bucket: operation count, stage exit count, stage minutes
+     * and sketch.
+     */
+    private Map<String, String> rollupRows() {
+        return QuarkusTransaction.requiringNew().call(() -> rollupRepository.listAll().stream()
+                .filter(row -> row.operationCount != 0 || row.stageExitCount != 0)
+                .collect(Collectors.toMap(
+                        row -> row.bucketDate + "/" + row.status + "/" + row.transportMode + "/"
+                                + row.operationCategory + "/" + row.agentId,
+                        row -> row.operationCount + "/" + row.stageExitCount + "/" + row.stageMinutesTotal + "/"
+                                + Arrays.toString(row.stageSketch))));
+    }
+
+    private static File createTempPdf() {
+        try {
+            var tempFile = File.createTempFile("test-doc", ".pdf");
+            tempFile.deleteOnExit();
+            Files.write(tempFile.toPath(), "%PDF-1.4 test content".getBytes());
+            return tempFile;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static JsonPath todayAirMetrics() {
+        return given()
+                .auth().basic("admin", "admin123")
+                .queryParam("from", LocalDate.now().toString())
+                .queryParam("transportMode", "AIR")
+                .when().get("/api/dashboard/metrics")
+                .then()
+                .statusCode(200)
+                .extract().jsonPath();
+    }
 }
@@ -7,9 +7,11 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.zip.ZipInputStream;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.anyOf;
@@ -17,6 +19,9 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @QuarkusTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -69,7 +74,9 @@ class DocumentResourceTest {
                 .when().get("/api/operations/{operationId}/documents", operationId)
                 .then()
                 .statusCode(200)
-                .body("size()", greaterThanOrEqualTo(1));
+                .body("size()", greaterThanOrEqualTo(1))
+                .body("find { it.id == " + documentId + " }.latestVersionName", is("test-invoice.pdf"))
+                .body("find { it.id == " + documentId + " }.latestVersionSize", is(17));
     }
 
     @Test
@@ -94,7 +101,9 @@ class DocumentResourceTest {
                 .statusCode(200)
                 .body("size()", greaterThanOrEqualTo(1))
                 .body("[0].versionNumber", is(1))
-                .body("[0].originalName", is("test-invoice.pdf"));
+                .body("[0].originalName", is("test-invoice.pdf"))
+                .body("[0].fileSize", is(17))
+                .body("[0].sha256", is("26084f449206454b4070d1cb9033dac539e78e799c67833351876cab673ca26e"));
     }
 
     @Test
@@ -105,7 +114,8 @@ class DocumentResourceTest {
                 .when().get("/api/operations/{operationId}/documents/{id}/download", operationId, documentId)
                 .then()
                 .statusCode(200)
-                .header("Content-Disposition", containsString("test-invoice.pdf"));
+                .header("Content-Disposition", containsString("test-invoice.pdf"))
+                .body(is("dummy pdf content"));
     }
 
     @Test
@@ -119,6 +129,114 @@ class DocumentResourceTest {
                 .body("percentage", notNullValue());
     }
 
+    @Test
+    @Order(16)
+    void testDownloadRange() {
+        given()
+                .auth().basic("admin", "admin123")
+                .header("Range", "bytes=0-4")
+                .when().get("/api/operations/{operationId}/documents/{id}/download", operationId, documentId)
+                .then()
+                .statusCode(206)
+                .header("Content-Range", is("bytes 0-4/17"))
+                .header("Accept-Ranges", is("bytes"))
+                .body(is("dummy"));
+
+        given()
+                .auth().basic("admin", "admin123")
+                .header("Range", "bytes=100-")
+                .when().get("/api/operations/{operationId}/documents/{id}/download", operationId, documentId)
+                .then()
+                .statusCode(416)
+                .header("Content-Range", is("bytes */17"));
+    }
+
+    @Test
+    @Order(17)
+    void testConditionalDownload() {
+        var etag = given()
+                .auth().basic("admin", "admin123")
+                .when().get("/api/operations/{operationId}/documents/{id}/versions/{v}/download",
+                        operationId, documentId, 1)
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .header("Last-Modified", notNullValue())
+                .extract().header("ETag");
+
+        given()
+                .auth().basic("admin", "admin123")
+                .header("If-None-Match", etag)
+                .when().get("/api/operations/{operationId}/documents/{id}/versions/{v}/download",
+                        operationId, documentId, 1)
+                .then()
+                .statusCode(304);
+    }
+
+    @Test
+    @Order(18)
+    void testDownloadDossier() throws IOException {
+        var zip = given()
+                .auth().basic("admin", "admin123")
+                .when().get("/api/operations/{operationId}/documents/dossier", operationId)
+                .then()
+                .statusCode(200)
+                .header("Content-Disposition", containsString("-dossier.zip"))
+                .extract().asByteArray();
+
+        try (var entries = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            var entry = entries.getNextEntry();
+            assertEquals("documents/BL/test-invoice.pdf", entry.getName());
+            assertEquals("dummy pdf content", new String(entries.readAllBytes()));
+        }
+    }
+
+    @Test
+    @Order(19)
+    void testReuploadAdvancesLatestVersion() {
+        for (var content : new String[]{"packing list v1", "packing list v2"}) {
+            given()
+                    .auth().preemptive().basic("admin", "admin123")
+                    .multiPart("file", "packing-list.pdf", content.getBytes(), "application/pdf")
+                    .multiPart("documentType", "PACKING_LIST")
+                    .when().post("/api/operations/{operationId}/documents", operationId)
+                    .then()
+                    .statusCode(201);
+        }
+
+        var packingList = given()
+                .auth().basic("admin", "admin123")
+                .when().get("/api/operations/{operationId}/documents", operationId)
+                .then()
+                .statusCode(200)
+                .extract().jsonPath();
+        assertEquals(15, packingList.getInt("find { it.documentType == 'PACKING_LIST' }.latestVersionSize"));
+        var packingListId = packingList.getLong("find { it.documentType == 'PACKING_LIST' }.id");
+
+        given()
+                .auth().basic("admin", "admin123")
+                .when().get("/api/operations/{operationId}/documents/{id}/versions", operationId, packingListId)
+                .then()
+                .statusCode(200)
+                .body("size()", is(2))
+                .body("[0].versionNumber", is(2));
+    }
+
+    @Test
+    @Order(23)
+    void testBulkCompleteness() {
+        given()
+                .auth().basic("admin", "admin123")
+                .queryParam("operationId", operationId, 999999)
+                .when().get("/api/operations/completeness")
+                .then()
+                .statusCode(200)
+                .body("size()", is(1))
+                .body("'" + operationId + "'.missingDocuments", hasItem("COMMERCIAL_INVOICE"))
+                .body("'" + operationId + "'.missingDocuments", not(hasItem("BL")))
+                .body("'" + operationId + "'.missingDocuments", not(hasItem("PACKING_LIST")));
+    }
+
     // ---- Auth tests ----
 
     @Test
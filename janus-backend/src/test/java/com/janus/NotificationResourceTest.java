@@ -0,0 +1,97 @@
+package com.janus;
+
+import com.janus.notification.application.NotificationDispatcher;
+import com.janus.notification.application.NotificationService;
+import com.janus.notification.domain.model.NotificationCategory;
+import com.janus.notification.domain.model.NotificationStatus;
+import com.janus.notification.domain.repository.NotificationRepository;
+import io.quarkus.mailer.MockMailbox;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class NotificationResourceTest {
+
+    @Inject
+    NotificationService notificationService;
+
+    @Inject
+    NotificationRepository notificationRepository;
+
+    @Inject
+    NotificationDispatcher notificationDispatcher;
+
+    @Inject
+    MockMailbox mailbox;
+
+    @Test
+    @Order(1)
+    void testQueuedNotificationIsDeliveredAfterCommit() throws InterruptedException {
+        QuarkusTransaction.requiringNew().run(() -> notificationService.send(
+                null, "outbox-test@janus.com", "Outbox test", "Delivered asynchronously"));
+
+        var status = NotificationStatus.PENDING;
+        for (int i = 0; i < 50 && status == NotificationStatus.PENDING; i++) {
+            Thread.sleep(100);
+            status = QuarkusTransaction.requiringNew().call(() -> notificationRepository
+                    .find("recipientEmail", "outbox-test@janus.com").firstResult().status);
+        }
+        assertEquals(NotificationStatus.SENT, status);
+    }
+
+    @Test
+    @Order(2)
+    void testCoalescedNotificationsAreSentAsOneDigest() throws InterruptedException {
+        var recipient = "digest-test@janus.com";
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int i = 1; i <= 3; i++) {
+                notificationService.sendCoalesced(NotificationCategory.INSPECTION_PHOTO, null, recipient,
+                        "Inspection Photo Uploaded - OP-" + i, "Photo " + i + " uploaded");
+            }
+        });
+
+        long pending = 3;
+        for (int i = 0; i < 50 && pending > 0; i++) {
+            Thread.sleep(100);
+            notificationDispatcher.wake();
+            pending = QuarkusTransaction.requiringNew().call(() -> notificationRepository
+                    .count("recipientEmail = ?1 AND status = ?2", recipient, NotificationStatus.PENDING));
+        }
+        assertEquals(0, pending);
+
+        var mails = mailbox.getMailsSentTo(recipient);
+        assertEquals(1, mails.size());
+        assertTrue(mails.get(0).getSubject().contains("3 updates"));
+    }
+
+    @Test
+    @Order(3)
+    void testGetMetrics() {
+        given()
+                .auth().basic("admin", "admin123")
+                .when().get("/api/notifications/metrics")
+                .then().statusCode(200)
+                .body("pending", notNullValue())
+                .body("deliveredSinceStart", notNullValue());
+    }
+
+    @Test
+    @Order(4)
+    void testGetMetrics_ForbiddenForAgent() {
+        given()
+                .auth().basic("agent", "agent123")
+                .when().get("/api/notifications/metrics")
+                .then().statusCode(403);
+    }
+}
@@ -0,0 +1,105 @@
+package com.janus;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Listing operations must not issue extra statements per row for account, agent,
+ * ports, warehouse or partner (requires hibernate-orm statistics in the test profile).
+ */
+@QuarkusTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class OperationListQueryCountTest {
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    private static long agentId() {
+        return given()
+                .auth().basic("agent", "agent123")
+                .when().get("/api/users/me")
+                .then().statusCode(200)
+                .extract().jsonPath().getLong("id");
+    }
+
+    private static long warehouseId() {
+        return given()
+                .auth().basic("admin", "admin123")
+                .when().get("/api/warehouses/bonded")
+                .then().statusCode(200)
+                .extract().jsonPath().getLong("[0].id");
+    }
+
+    private long statementsFor(Runnable request) {
+        var statistics = sessionFactory.getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        request.run();
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    @Test
+    @Order(1)
+    void testSeedOperationsWithAssociations() {
+        var agentId = agentId();
+        var warehouseId = warehouseId();
+        for (int i = 0; i < 12; i++) {
+            given()
+                    .auth().basic("admin", "admin123")
+                    .contentType(ContentType.JSON)
+                    .body("""
+                            {"accountId": %d, "operationType": "IMPORT", "transportMode": "AIR", "operationCategory": "CATEGORY_1", "blNumber": "BL-QC-%d", "estimatedArrival": "2025-12-01T10:00:00", "blAvailability": "ORIGINAL", "arrivalPortId": 1, "originPortId": 2, "warehouseId": %d, "assignedAgentId": %d}
+                            """.formatted(i % 2 + 1, i, warehouseId, agentId))
+                    .when().post("/api/operations")
+                    .then().statusCode(201);
+        }
+    }
+
+    @Test
+    @Order(2)
+    void testPageStatementCountDoesNotGrowWithPageSize() {
+        long single = statementsFor(() -> given()
+                .auth().basic("admin", "admin123")
+                .queryParam("size", 1)
+                .when().get("/api/operations")
+                .then().statusCode(200)
+                .body("content.size()", greaterThanOrEqualTo(1)));
+
+        long full = statementsFor(() -> given()
+                .auth().basic("admin", "admin123")
+                .queryParam("size", 12)
+                .when().get("/api/operations")
+                .then().statusCode(200)
+                .body("content.size()", greaterThanOrEqualTo(12)));
+
+        assertEquals(single, full, "Listing 12 operations should cost the same statements as listing 1");
+    }
+
+    @Test
+    @Order(3)
+    void testCursorPageStatementCountDoesNotGrowWithPageSize() {
+        long single = statementsFor(() -> given()
+                .auth().basic("admin", "admin123")
+                .queryParam("size", 1)
+                .when().get("/api/operations/cursor")
+                .then().statusCode(200));
+
+        long full = statementsFor(() -> given()
+                .auth().basic("admin", "admin123")
+                .queryParam("size", 12)
+                .when().get("/api/operations/cursor")
+                .then().statusCode(200)
+                .body("content.size()", greaterThanOrEqualTo(12)));
+
+        assertEquals(single, full, "Cursor pages of 12 operations should cost the same statements as pages of 1");
+    }
+}
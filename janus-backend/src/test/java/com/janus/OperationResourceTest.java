@@ -10,12 +10,23 @@ import org.junit.jupiter.api.TestMethodOrder;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -808,4 +819,298 @@ class OperationResourceTest {
                 .statusCode(200)
                 .body("enabled", is(true));
     }
+
+    @Test
+    @Order(63)
+    void testCursorPaginationWalksAllOperationsWithoutOverlap() {
+        var total = given()
+                .auth().basic("admin", "admin123")
+                .when().get("/api/operations")
+                .then().statusCode(200)
+                .extract().jsonPath().getLong("totalElements");
+
+        var seen = new HashSet<Long>();
+        String cursor = null;
+        do {
+            var request = given()
+                    .auth().basic("admin", "admin123")
+                    .queryParam("size", 2);
+            if (cursor != null) {
+                request.queryParam("cursor", cursor);
+            }
+            var page = request.when().get("/api/operations/cursor")
+                    .then().statusCode(200)
+                    .extract().jsonPath();
+            for (var id : page.getList("content.id", Long.class)) {
+                assertTrue(seen.add(id), "Operation returned twice: " + id);
+            }
+            cursor = page.getString("nextCursor");
+        } while (cursor != null);
+
+        assertEquals(total, seen.size());
+    }
+
+    @Test
+    @Order(64)
+    void testCursorPaginationOmitsTotalUnlessRequested() {
+        given()
+                .auth().basic("admin", "admin123")
+                .queryParam("size", 1)
+                .when().get("/api/operations/cursor")
+                .then()
+                .statusCode(200)
+                .body("totalElements", nullValue())
+                .body("hasNext", is(true));
+
+        given()
+                .auth().basic("admin", "admin123")
+                .queryParam("size", 1)
+                .queryParam("includeTotal", true)
+                .when().get("/api/operations/cursor")
+                .then()
+                .statusCode(200)
+                .body("totalElements", greaterThanOrEqualTo(1));
+    }
+
+    @Test
+    @Order(65)
+    void testCursorPaginationRejectsMalformedCursor() {
+        given()
+                .auth().basic("admin", "admin123")
+                .queryParam("cursor", "not-a-cursor")
+                .when().get("/api/operations/cursor")
+                .then()
+                .statusCode(400)
+                .body("errorCode", is("INVALID_CURSOR"));
+    }
+
+    @Test
+    @Order(66)
+    void testSearchReflectsUpdatedBlNumber() {
+        var opId = given()
+                .auth().basic("admin", "admin123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"accountId": 1, "operationType": "IMPORT", "transportMode": "AIR", "operationCategory": "CATEGORY_1", "blNumber": "BL-SEARCH-OLD-66", "estimatedArrival": "2025-12-01T10:00:00", "blAvailability": "ORIGINAL", "arrivalPortId": 1}
+                        """)
+                .when().post("/api/operations")
+                .then().statusCode(201)
+                .extract().jsonPath().getLong("id");
+
+        given()
+                .auth().basic("admin", "admin123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"accountId": 1, "operationType": "IMPORT", "transportMode": "AIR", "operationCategory": "CATEGORY_1", "blNumber": "BL-SEARCH-NEW-66", "estimatedArrival": "2025-12-01T10:00:00", "blAvailability": "ORIGINAL", "arrivalPortId": 1}
+                        """)
+                .when().put("/api/operations/{id}", opId)
+                .then().statusCode(200);
+
+        given()
+                .auth().basic("admin", "admin123")
+                .queryParam("search", "bl-search-new-66")
+                .when().get("/api/operations")
+                .then()
+                .statusCode(200)
+                .body("content.size()", is(1))
+                .body("content[0].id", is((int) opId));
+
+        given()
+                .auth().basic("admin", "admin123")
+                .queryParam("search", "BL-SEARCH-OLD-66")
+                .when().get("/api/operations")
+                .then()
+                .statusCode(200)
+                .body("content.size()", is(0))
+                .body("totalElements", is(0));
+    }
+
+    @Test
+    @Order(67)
+    void testConcurrentCreatesGetDistinctReferenceNumbers() throws Exception {
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var futures = new ArrayList<Future<String>>();
+            for (int i = 0; i < 24; i++) {
+                futures.add(executor.submit(() -> given()
+                        .auth().basic("admin", "admin123")
+                        .contentType(ContentType.JSON)
+                        .body("""
+                                {"accountId": 1, "operationType": "IMPORT", "transportMode": "AIR", "operationCategory": "CATEGORY_1", "blNumber": "BL-CONCURRENT", "estimatedArrival": "2025-12-01T10:00:00", "blAvailability": "ORIGINAL", "arrivalPortId": 1}
+                                """)
+                        .when().post("/api/operations")
+                        .then().statusCode(201)
+                        .extract().jsonPath().getString("referenceNumber")));
+            }
+            var references = new HashSet<String>();
+            for (var future : futures) {
+                var reference = future.get(30, TimeUnit.SECONDS);
+                assertTrue(reference.matches("OP-[A-Z0-9]+-\\d{6}-\\d{5,}"), "Unexpected format: " + reference);
+                assertTrue(references.add(reference), "Duplicate reference number: " + reference);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long createDraftOperation(String blNumber) {
+        return given()
+                .auth().basic("admin", "admin123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"accountId": 1, "operationType": "IMPORT", "transportMode": "AIR", "operationCategory": "CATEGORY_1", "blNumber": "%s", "estimatedArrival": "2025-12-01T10:00:00", "blAvailability": "ORIGINAL", "arrivalPortId": 1}
+                        """.formatted(blNumber))
+                .when().post("/api/operations")
+                .then().statusCode(201)
+                .extract().jsonPath().getLong("id");
+    }
+
+    @Test
+    @Order(68)
+    void testBulkChangeStatusReportsPerOperationOutcome() {
+        var first = createDraftOperation("BL-BULK-1");
+        var second = createDraftOperation("BL-BULK-2");
+
+        given()
+                .auth().basic("admin", "admin123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"operationIds": [%d, %d, 999999], "newStatus": "CANCELLED", "comment": "Bulk cancel"}
+                        """.formatted(first, second))
+                .when().post("/api/operations/bulk/change-status")
+                .then()
+                .statusCode(200)
+                .body("succeeded", is(2))
+                .body("failed", is(1))
+                .body("results.find { it.operationId == 999999 }.errorCode", is("NOT_FOUND"));
+
+        given()
+                .auth().basic("admin", "admin123")
+                .when().get("/api/operations/{id}", first)
+                .then()
+                .statusCode(200)
+                .body("status", is("CANCELLED"));
+
+        given()
+                .auth().basic("admin", "admin123")
+                .when().get("/api/operations/{id}/history", second)
+                .then()
+                .statusCode(200)
+                .body("[0].newStatus", is("CANCELLED"));
+    }
+
+    @Test
+    @Order(69)
+    void testBulkChangeStatusAppliesComplianceRulesPerOperation() {
+        var withDocs = createDraftOperation("BL-BULK-DOCS");
+        uploadAllMandatoryDocs(withDocs);
+        var withoutDocs = createDraftOperation("BL-BULK-NODOCS");
+
+        given()
+                .auth().basic("admin", "admin123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"operationIds": [%d, %d], "newStatus": "DOCUMENTATION_COMPLETE"}
+                        """.formatted(withDocs, withoutDocs))
+                .when().post("/api/operations/bulk/change-status")
+                .then()
+                .statusCode(200)
+                .body("succeeded", is(1))
+                .body("results.find { it.operationId == %d }.success".formatted(withDocs), is(true))
+                .body("results.find { it.operationId == %d }.errorCode".formatted(withoutDocs),
+                        is("COMPLIANCE_VALIDATION_FAILED"));
+    }
+
+    @Test
+    @Order(70)
+    void testCustomerCannotBulkChangeStatus() {
+        given()
+                .auth().basic("client", "client123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"operationIds": [1], "newStatus": "CANCELLED"}
+                        """)
+                .when().post("/api/operations/bulk/change-status")
+                .then()
+                .statusCode(403);
+    }
+
+    @Test
+    @Order(71)
+    void testStatusChangeClosesPreviousStage() {
+        var id = createDraftOperation("BL-STAGE-1");
+
+        given()
+                .auth().basic("admin", "admin123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"newStatus": "CANCELLED"}
+                        """)
+                .when().post("/api/operations/{id}/change-status", id)
+                .then()
+                .statusCode(200);
+
+        given()
+                .auth().basic("admin", "admin123")
+                .when().get("/api/operations/{id}/history", id)
+                .then()
+                .statusCode(200)
+                .body("[0].newStatus", is("CANCELLED"))
+                .body("[0].exitedAt", nullValue())
+                .body("[1].newStatus", is("DRAFT"))
+                .body("[1].exitedAt", notNullValue())
+                .body("[1].durationMinutes", is(0));
+    }
+
+    @Test
+    @Order(72)
+    void testReadinessBoardReflectsDocumentUploads() {
+        var id = createDraftOperation("BL-READY-1");
+        var transition = "find { it.operationId == %d }.transitions.find { it.targetStatus == 'DOCUMENTATION_COMPLETE' }"
+                .formatted(id);
+
+        given()
+                .auth().basic("admin", "admin123")
+                .queryParam("status", "DRAFT")
+                .when().get("/api/operations/readiness")
+                .then()
+                .statusCode(200)
+                .body(transition + ".ready", is(false))
+                .body(transition + ".blockers.ruleCode", hasItem("MISSING_DOC_BL"))
+                .body("find { it.operationId == %d }.transitions.targetStatus".formatted(id),
+                        not(hasItem("CANCELLED")));
+
+        uploadAllMandatoryDocs(id);
+
+        given()
+                .auth().basic("admin", "admin123")
+                .queryParam("status", "DRAFT")
+                .when().get("/api/operations/readiness")
+                .then()
+                .statusCode(200)
+                .body(transition + ".ready", is(true))
+                .body(transition + ".blockers", empty());
+    }
+
+    @Test
+    @Order(73)
+    void testCustomerCannotViewReadinessBoard() {
+        given()
+                .auth().basic("client", "client123")
+                .when().get("/api/operations/readiness")
+                .then()
+                .statusCode(403);
+    }
+
+    @Test
+    @Order(74)
+    void testCursorPaginationClampsPageSize() {
+        given()
+                .auth().basic("admin", "admin123")
+                .queryParam("size", 100000)
+                .when().get("/api/operations/cursor")
+                .then()
+                .statusCode(200)
+                .body("size", is(200));
+    }
 }
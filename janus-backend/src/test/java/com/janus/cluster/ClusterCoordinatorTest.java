@@ -0,0 +1,76 @@
+package com.janus.cluster;
+
+import com.janus.cluster.application.ClusterCoordinator;
+import com.janus.cluster.application.LeaseLostException;
+import com.janus.cluster.domain.repository.SchedulerLeaseRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class ClusterCoordinatorTest {
+
+    @Inject
+    ClusterCoordinator cluster;
+
+    @Inject
+    SchedulerLeaseRepository leaseRepository;
+
+    @Test
+    void acquire_RenewsOwnLeaseWithSameToken() {
+        var first = cluster.acquire("test-renew");
+        var second = cluster.acquire("test-renew");
+
+        assertTrue(first.isPresent());
+        assertEquals(first.getAsLong(), second.getAsLong());
+    }
+
+    @Test
+    void acquire_RespectsUnexpiredLeaseOfAnotherNode() {
+        cluster.acquire("test-foreign");
+        handOver("test-foreign", "other-node", LocalDateTime.now().plusMinutes(5));
+
+        assertTrue(cluster.acquire("test-foreign").isEmpty());
+    }
+
+    @Test
+    void acquire_TakesOverExpiredLeaseAndFencesOldToken() {
+        var original = cluster.acquire("test-takeover").getAsLong();
+        handOver("test-takeover", "other-node", LocalDateTime.now().minusSeconds(1));
+
+        var takenOver = cluster.acquire("test-takeover");
+
+        assertTrue(takenOver.isPresent());
+        assertEquals(original + 1, takenOver.getAsLong());
+        assertThrows(LeaseLostException.class, () -> QuarkusTransaction.requiringNew()
+                .run(() -> cluster.checkFencing("test-takeover", original)));
+        QuarkusTransaction.requiringNew().run(() -> cluster.checkFencing("test-takeover", takenOver.getAsLong()));
+    }
+
+    @Test
+    void recordRun_MarksRunKeyOnce() {
+        var token = cluster.acquire("test-run").getAsLong();
+        assertFalse(cluster.hasRun("test-run", "2026-01-01"));
+
+        cluster.recordRun("test-run", token, "2026-01-01");
+
+        assertTrue(cluster.hasRun("test-run", "2026-01-01"));
+        assertFalse(cluster.hasRun("test-run", "2026-01-02"));
+        assertThrows(LeaseLostException.class, () -> cluster.recordRun("test-run", token + 1, "2026-01-02"));
+    }
+
+    private void handOver(String leaseName, String ownerId, LocalDateTime expiresAt) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            var lease = leaseRepository.findById(leaseName);
+            lease.ownerId = ownerId;
+            lease.expiresAt = expiresAt;
+        });
+    }
+}
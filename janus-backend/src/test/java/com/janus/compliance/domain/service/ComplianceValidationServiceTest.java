@@ -1,14 +1,16 @@
 package com.janus.compliance.domain.service;
 
+import com.janus.compliance.application.ComplianceRuleConfigService;
 import com.janus.compliance.domain.model.ComplianceRuleConfig;
+import com.janus.compliance.domain.repository.ComplianceConfigVersionRepository;
 import com.janus.compliance.domain.repository.ComplianceRuleConfigRepository;
 import com.janus.operation.domain.model.OperationCategory;
 import com.janus.operation.domain.model.Operation;
 import com.janus.operation.domain.model.OperationStatus;
 import com.janus.operation.domain.model.TransportMode;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -30,9 +32,18 @@ class ComplianceValidationServiceTest {
     @Inject
     ComplianceValidationService validationService;
 
+    @Inject
+    ComplianceRuleConfigService configService;
+
     @Inject
     ComplianceRuleConfigRepository configRepository;
 
+    @Inject
+    ComplianceConfigVersionRepository versionRepository;
+
+    @Inject
+    ComplianceConfigCache configCache;
+
     /**
      * Creates a transient Operation (not persisted) for validation testing.
      */
@@ -44,6 +55,19 @@ class ComplianceValidationServiceTest {
         return op;
     }
 
+    /**
+     * Turns a rule on or off through the config service, which replaces the configuration
+     * snapshot once its transaction commits.
+     */
+    private void setRuleEnabled(String ruleCode, boolean enabled) {
+        var config = QuarkusTransaction.requiringNew().call(() ->
+                configRepository.findByRuleCodeAndKey(ruleCode, "enabled").orElseThrow());
+        var update = new ComplianceRuleConfig();
+        update.paramValue = config.paramValue;
+        update.enabled = enabled;
+        configService.update(config.id, update, "test");
+    }
+
     // ---- Enabled rules that fail block the transition ----
 
     @Test
@@ -83,58 +107,49 @@ class ComplianceValidationServiceTest {
 
     @Test
     @Order(10)
-    @Transactional
     void testDisabledRuleIsSkipped() {
         // Disable the COMPLETENESS_REQUIRED rule
-        var enabledConfig = configRepository.findByRuleCodeAndKey("COMPLETENESS_REQUIRED", "enabled")
-                .orElseThrow();
-        var originalEnabled = enabledConfig.enabled;
-        enabledConfig.enabled = false;
-
-        var operation = createTestOperation(TransportMode.AIR, OperationCategory.CATEGORY_1, OperationStatus.DRAFT);
-        operation.id = -999L;
-
-        var result = validationService.validate(operation, OperationStatus.DOCUMENTATION_COMPLETE);
-
-        // COMPLETENESS_REQUIRED should NOT appear in errors since it's disabled
-        var completenessErrors = result.errors().stream()
-                .filter(e -> "COMPLETENESS_REQUIRED".equals(e.ruleCode()))
-                .toList();
-        assertTrue(completenessErrors.isEmpty(),
-                "Disabled rule should not produce errors, but got: " + completenessErrors);
-
-        // Restore original value
-        enabledConfig.enabled = originalEnabled;
+        var originalEnabled = configCache.current().isRuleEnabled("COMPLETENESS_REQUIRED");
+        setRuleEnabled("COMPLETENESS_REQUIRED", false);
+        try {
+            var operation = createTestOperation(TransportMode.AIR, OperationCategory.CATEGORY_1, OperationStatus.DRAFT);
+            operation.id = -999L;
+
+            var result = validationService.validate(operation, OperationStatus.DOCUMENTATION_COMPLETE);
+
+            // COMPLETENESS_REQUIRED should NOT appear in errors since it's disabled
+            var completenessErrors = result.errors().stream()
+                    .filter(e -> "COMPLETENESS_REQUIRED".equals(e.ruleCode()))
+                    .toList();
+            assertTrue(completenessErrors.isEmpty(),
+                    "Disabled rule should not produce errors, but got: " + completenessErrors);
+        } finally {
+            // Restore original value
+            setRuleEnabled("COMPLETENESS_REQUIRED", originalEnabled);
+        }
     }
 
     @Test
     @Order(11)
-    @Transactional
     void testAllRulesDisabledAllowsTransition() {
         // Disable ALL rules by setting their enabled field to false
-        var allConfigs = configRepository.list("paramKey", "enabled");
-        var originalValues = allConfigs.stream()
-                .map(c -> new Object[]{c.ruleCode, c.enabled})
-                .toList();
-
-        for (var config : allConfigs) {
-            config.enabled = false;
-        }
+        var allConfigs = QuarkusTransaction.requiringNew().call(() -> configRepository.list("paramKey", "enabled"));
 
-        var operation = createTestOperation(TransportMode.AIR, OperationCategory.CATEGORY_1, OperationStatus.DRAFT);
-        operation.id = -999L;
+        try {
+            for (var config : allConfigs) {
+                setRuleEnabled(config.ruleCode, false);
+            }
 
-        var result = validationService.validate(operation, OperationStatus.DOCUMENTATION_COMPLETE);
+            var operation = createTestOperation(TransportMode.AIR, OperationCategory.CATEGORY_1, OperationStatus.DRAFT);
+            operation.id = -999L;
 
-        assertTrue(result.passed(), "Validation should pass when all rules are disabled, errors: " + result.errors());
+            var result = validationService.validate(operation, OperationStatus.DOCUMENTATION_COMPLETE);
 
-        // Restore original values
-        for (var config : allConfigs) {
-            for (var original : originalValues) {
-                if (original[0].equals(config.ruleCode)) {
-                    config.enabled = (boolean) original[1];
-                    break;
-                }
+            assertTrue(result.passed(), "Validation should pass when all rules are disabled, errors: " + result.errors());
+        } finally {
+            // Restore original values
+            for (var config : allConfigs) {
+                setRuleEnabled(config.ruleCode, config.enabled);
             }
         }
     }
@@ -214,59 +229,52 @@ class ComplianceValidationServiceTest {
         assertTrue(rule.appliesTo(OperationStatus.IN_TRANSIT, OperationStatus.CLOSED, TransportMode.AIR, OperationCategory.CATEGORY_1));
 
         // Rule should pass when RECEPTION_RECEIPT is present
-        var result = rule.validate(operation, List.of(receipt));
+        var result = rule.validate(validationService.contextFor(operation, List.of(receipt)));
         assertTrue(result.passed(), "Rule should pass when RECEPTION_RECEIPT document exists");
 
         // Rule should fail with empty documents
-        var failResult = rule.validate(operation, Collections.emptyList());
+        var failResult = rule.validate(validationService.contextFor(operation, Collections.emptyList()));
         assertFalse(failResult.passed(), "Rule should fail when no documents exist");
 
         // Rule should fail when RECEPTION_RECEIPT is inactive (soft-deleted)
         var inactiveReceipt = new Document();
         inactiveReceipt.documentType = DocumentType.RECEPTION_RECEIPT;
         inactiveReceipt.active = false;
-        var inactiveResult = rule.validate(operation, List.of(inactiveReceipt));
+        var inactiveResult = rule.validate(validationService.contextFor(operation, List.of(inactiveReceipt)));
         assertFalse(inactiveResult.passed(), "Rule should fail when RECEPTION_RECEIPT is inactive");
     }
 
     @Test
     @Order(37)
-    @Transactional
     void testReceptionReceiptRuleSkippedWhenDisabled() {
         // Disable the RECEPTION_RECEIPT_REQUIRED rule
-        var enabledConfig = configRepository.findByRuleCodeAndKey("RECEPTION_RECEIPT_REQUIRED", "enabled")
-                .orElseThrow();
-        var originalEnabled = enabledConfig.enabled;
-        enabledConfig.enabled = false;
-
-        var operation = createTestOperation(TransportMode.AIR, OperationCategory.CATEGORY_1, OperationStatus.IN_TRANSIT);
-        operation.id = -999L;
-
-        var result = validationService.validate(operation, OperationStatus.CLOSED);
-
-        // RECEPTION_RECEIPT_REQUIRED should NOT appear in errors since it's disabled
-        var receptionErrors = result.errors().stream()
-                .filter(e -> "RECEPTION_RECEIPT_REQUIRED".equals(e.ruleCode()))
-                .toList();
-        assertTrue(receptionErrors.isEmpty(),
-                "Disabled RECEPTION_RECEIPT_REQUIRED rule should not produce errors, but got: " + receptionErrors);
-
-        // Restore original value
-        enabledConfig.enabled = originalEnabled;
+        var originalEnabled = configCache.current().isRuleEnabled("RECEPTION_RECEIPT_REQUIRED");
+        setRuleEnabled("RECEPTION_RECEIPT_REQUIRED", false);
+        try {
+            var operation = createTestOperation(TransportMode.AIR, OperationCategory.CATEGORY_1, OperationStatus.IN_TRANSIT);
+            operation.id = -999L;
+
+            var result = validationService.validate(operation, OperationStatus.CLOSED);
+
+            // RECEPTION_RECEIPT_REQUIRED should NOT appear in errors since it's disabled
+            var receptionErrors = result.errors().stream()
+                    .filter(e -> "RECEPTION_RECEIPT_REQUIRED".equals(e.ruleCode()))
+                    .toList();
+            assertTrue(receptionErrors.isEmpty(),
+                    "Disabled RECEPTION_RECEIPT_REQUIRED rule should not produce errors, but got: " + receptionErrors);
+        } finally {
+            // Restore original value
+            setRuleEnabled("RECEPTION_RECEIPT_REQUIRED", originalEnabled);
+        }
     }
 
     // ---- Rule re-enable takes effect ----
 
     @Test
     @Order(40)
-    @Transactional
     void testReEnablingRuleTakesEffect() {
         // Disable, validate (should skip), re-enable, validate (should apply)
-        var enabledConfig = configRepository.findByRuleCodeAndKey("COMPLETENESS_REQUIRED", "enabled")
-                .orElseThrow();
-
-        // Disable
-        enabledConfig.enabled = false;
+        setRuleEnabled("COMPLETENESS_REQUIRED", false);
 
         var operation = createTestOperation(TransportMode.AIR, OperationCategory.CATEGORY_1, OperationStatus.DRAFT);
         operation.id = -999L;
@@ -277,7 +285,7 @@ class ComplianceValidationServiceTest {
                 .count();
 
         // Re-enable
-        enabledConfig.enabled = true;
+        setRuleEnabled("COMPLETENESS_REQUIRED", true);
 
         var enabledResult = validationService.validate(operation, OperationStatus.DOCUMENTATION_COMPLETE);
         var enabledMissingDocErrors = enabledResult.errors().stream()
@@ -288,4 +296,41 @@ class ComplianceValidationServiceTest {
                 "Re-enabled rule should produce MISSING_DOC_ errors. Disabled=" + disabledMissingDocErrors
                         + " Enabled=" + enabledMissingDocErrors);
     }
+
+    // ---- Config version and refresh ----
+
+    @Test
+    @Order(50)
+    void testConfigChangeBumpsVersionAndRefreshPicksUpOtherNodesChanges() {
+        var before = configCache.current();
+        setRuleEnabled("COMPLETENESS_REQUIRED", false);
+        try {
+            var edited = configCache.current();
+            assertTrue(edited.version() > before.version(),
+                    "A config change should bump the version. Before=" + before.version() + " After=" + edited.version());
+            assertFalse(edited.isRuleEnabled("COMPLETENESS_REQUIRED"),
+                    "The snapshot should reflect the change once it commits");
+
+            // Another node's edit: the row and version change without this node's event firing
+            QuarkusTransaction.requiringNew().run(() -> {
+                configRepository.findByRuleCodeAndKey("COMPLETENESS_REQUIRED", "enabled").orElseThrow().enabled = true;
+                versionRepository.increment();
+            });
+            configCache.refresh();
+
+            var refreshed = configCache.current();
+            assertTrue(refreshed.version() > edited.version(),
+                    "Refresh should load the newer version. Edited=" + edited.version() + " Refreshed=" + refreshed.version());
+            assertTrue(refreshed.isRuleEnabled("COMPLETENESS_REQUIRED"),
+                    "Refresh should load the other node's change");
+
+            var operation = createTestOperation(TransportMode.AIR, OperationCategory.CATEGORY_1, OperationStatus.DRAFT);
+            operation.id = -999L;
+            var result = validationService.validate(operation, OperationStatus.DOCUMENTATION_COMPLETE);
+            assertTrue(result.errors().stream().anyMatch(e -> e.ruleCode().startsWith("MISSING_DOC_")),
+                    "Validation should apply the refreshed configuration, got: " + result.errors());
+        } finally {
+            setRuleEnabled("COMPLETENESS_REQUIRED", true);
+        }
+    }
 }
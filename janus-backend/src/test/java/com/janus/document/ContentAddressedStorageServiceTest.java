@@ -0,0 +1,92 @@
+package com.janus.document;
+
+import com.janus.document.domain.repository.DocumentVersionRepository;
+import com.janus.document.infrastructure.storage.ContentAddressedStorageService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class ContentAddressedStorageServiceTest {
+
+    @Inject
+    ContentAddressedStorageService storageService;
+
+    @Inject
+    DocumentVersionRepository documentVersionRepository;
+
+    @Test
+    void store_SameContentSharesOneFileUntilLastReferenceIsCollected() throws Exception {
+        var content = "packing list " + System.nanoTime();
+        var upload = Files.createTempFile("upload", ".pdf");
+        Files.writeString(upload, content);
+
+        var first = QuarkusTransaction.requiringNew()
+                .call(() -> storageService.store(upload, "packing-list.pdf", "OP-A"));
+        var second = QuarkusTransaction.requiringNew().call(() -> storageService.store(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), "copy.pdf", "OP-B"));
+
+        assertEquals(first.filePath(), second);
+        assertFalse(Files.exists(upload));
+        assertEquals(2, storageService.referenceCount(first.sha256()));
+
+        QuarkusTransaction.requiringNew().run(() -> storageService.delete(second));
+        storageService.collectGarbage();
+        assertEquals(1, storageService.referenceCount(first.sha256()));
+        assertTrue(Files.exists(Path.of(first.filePath())));
+
+        QuarkusTransaction.requiringNew().run(() -> storageService.delete(first.filePath()));
+        Thread.sleep(10);
+        storageService.collectGarbage();
+        assertEquals(0, storageService.referenceCount(first.sha256()));
+        assertFalse(Files.exists(Path.of(first.filePath())));
+    }
+
+    @Test
+    void deleteOperation_ReleasesItsDocumentFiles() throws Exception {
+        var operationId = given()
+                .auth().basic("admin", "admin123")
+                .contentType(ContentType.JSON)
+                .body("""
+                        {"accountId": 1, "operationType": "IMPORT", "transportMode": "AIR", "operationCategory": "CATEGORY_1", "blNumber": "BL-STORAGE-DELETE", "estimatedArrival": "2025-12-01T10:00:00", "blAvailability": "ORIGINAL", "arrivalPortId": 1}
+                        """)
+                .when().post("/api/operations")
+                .then().statusCode(201)
+                .extract().jsonPath().getLong("id");
+
+        var upload = Files.createTempFile("upload", ".pdf");
+        Files.writeString(upload, "%PDF-1.4 deleted operation " + System.nanoTime());
+        given()
+                .auth().basic("admin", "admin123")
+                .multiPart("file", upload.toFile(), "application/pdf")
+                .multiPart("documentType", "BL")
+                .when().post("/api/operations/{opId}/documents", operationId)
+                .then().statusCode(201);
+
+        var filePath = QuarkusTransaction.requiringNew().call(() ->
+                documentVersionRepository.findFilePathsByOperationId(operationId).getFirst());
+        var sha256 = Path.of(filePath).getFileName().toString();
+        assertEquals(1, storageService.referenceCount(sha256));
+
+        given()
+                .auth().basic("admin", "admin123")
+                .when().delete("/api/operations/{id}", operationId)
+                .then().statusCode(204);
+
+        assertEquals(0, storageService.referenceCount(sha256));
+        Thread.sleep(10);
+        storageService.collectGarbage();
+        assertFalse(Files.exists(Path.of(filePath)));
+    }
+}
@@ -0,0 +1,124 @@
+package com.janus.shared.infrastructure.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuantileSketchTest {
+
+    private static final double[] QUANTILES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 1};
+
+    /** Stage-like durations in minutes, spread over several orders of magnitude. */
+    private static double[] sampleValues(long seed, int count) {
+        var random = new Random(seed);
+        var values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.floor(Math.exp(random.nextDouble() * Math.log(200_000)));
+        }
+        return values;
+    }
+
+    private static QuantileSketch sketchOf(double[] values) {
+        var sketch = new QuantileSketch();
+        for (var value : values) {
+            sketch.add(value);
+        }
+        return sketch;
+    }
+
+    @Test
+    void testQuantilesAreWithinOnePercentOfTheValueAtTheirRank() {
+        var values = sampleValues(42, 10_000);
+        var sketch = sketchOf(values);
+        var sorted = values.clone();
+        Arrays.sort(sorted);
+
+        assertEquals(values.length, sketch.count());
+        for (var q : QUANTILES) {
+            var exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            var estimate = sketch.quantile(q);
+            assertTrue(Math.abs(estimate - exact) <= exact * 0.01 + 1e-9,
+                    "q=" + q + " exact=" + exact + " estimate=" + estimate);
+        }
+    }
+
+    @Test
+    void testValuesBelowOneAreCountedAsZero() {
+        var sketch = new QuantileSketch().add(0).add(0.5).add(0.9).add(100);
+
+        assertEquals(4, sketch.count());
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(100, sketch.quantile(1), 1);
+    }
+
+    @Test
+    void testEmptySketchReturnsZero() {
+        var sketch = new QuantileSketch();
+
+        assertEquals(0, sketch.count());
+        assertEquals(0, sketch.quantile(0.99));
+    }
+
+    @Test
+    void testMergeEqualsSketchOfAllValues() {
+        var first = sampleValues(1, 3_000);
+        var second = sampleValues(2, 5_000);
+        var all = new double[first.length + second.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+
+        var merged = sketchOf(first).merge(sketchOf(second));
+        var whole = sketchOf(all);
+
+        assertEquals(whole.count(), merged.count());
+        assertArrayEquals(whole.toBytes(), merged.toBytes());
+        for (var q : QUANTILES) {
+            assertEquals(whole.quantile(q), merged.quantile(q));
+        }
+    }
+
+    @Test
+    void testSerializationRoundTripPreservesTheSketch() {
+        var sketch = sketchOf(sampleValues(7, 2_000)).add(0);
+
+        var restored = QuantileSketch.fromBytes(sketch.toBytes());
+
+        assertEquals(sketch.count(), restored.count());
+        assertArrayEquals(sketch.toBytes(), restored.toBytes());
+        for (var q : QUANTILES) {
+            assertEquals(sketch.quantile(q), restored.quantile(q));
+        }
+    }
+
+    @Test
+    void testMergeOfRestoredSketchesMatchesMergeOfOriginals() {
+        var first = sketchOf(sampleValues(3, 1_000));
+        var second = sketchOf(sampleValues(4, 1_000));
+
+        var restored = QuantileSketch.fromBytes(first.toBytes()).merge(QuantileSketch.fromBytes(second.toBytes()));
+
+        assertArrayEquals(first.merge(second).toBytes(), restored.toBytes());
+    }
+
+    @Test
+    void testNullOrEmptyBytesYieldEmptySketch() {
+        assertEquals(0, QuantileSketch.fromBytes(null).count());
+        assertEquals(0, QuantileSketch.fromBytes(new byte[0]).count());
+    }
+
+    @Test
+    void testInvalidInputIsRejected() {
+        var sketch = new QuantileSketch();
+
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(-1));
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromBytes(new byte[]{2}));
+    }
+}